@@ -5,9 +5,19 @@
 #define FUMOCEMENT_LIB
 
 #include "jni.h"
+#include <algorithm>
+#include <atomic>
+#include <cstdint>
+#include <cstddef>
+#include <cstring>
+#include <initializer_list>
+#include <new>
 #include <iostream>
 #include <optional>
+#include <stdexcept>
 #include <string>
+#include <thread>
+#include <type_traits>
 #include <vector>
 
 namespace FumoCement
@@ -77,20 +87,21 @@ namespace FumoCement
             return std::nullopt;
         }
 
+        // Copy the array straight into the string, instead of pinning or copying it with GetByteArrayElements.
         const jsize byteArraySize = env->GetArrayLength(javaStringBytes);
-        jbyte* bytePointer = env->GetByteArrayElements(javaStringBytes, JNI_FALSE);
-
-        std::string result(byteArraySize, '.');
-        for (int i = 0; i < byteArraySize; ++i)
-        {
-            result[i] = static_cast<char>(*(bytePointer + i));
-        }
-
-        env->ReleaseByteArrayElements(javaStringBytes, bytePointer, 0);
+        std::string result(byteArraySize, '\0');
+        env->GetByteArrayRegion(javaStringBytes, 0, byteArraySize, reinterpret_cast<jbyte*>(result.data()));
 
         return {result}; // New std::optional
     }
 
+    // Strings pushed by NativeStrings.push are passed as a jlong pointing to a null-terminated string,
+    // which can be used as-is until the Java side releases it.
+    inline const char* toCppString(jlong nativeString) noexcept
+    {
+        return reinterpret_cast<const char*>(nativeString);
+    }
+
     inline jbyteArray toJavaStringBytes(JNIEnv* env, const char* cString, bool deleteString) noexcept
     {
         if (cString == nullptr)
@@ -98,16 +109,14 @@ namespace FumoCement
             return nullptr;
         }
 
-        const auto stringLength = strlen(cString);
-        std::vector<jbyte> byteBuffer(stringLength);
-        for (int i = 0; cString[i] != '\0'; i++)
+        // Copy the string straight into the Java array, which is all SetByteArrayRegion does.
+        const auto stringLength = static_cast<jsize>(strlen(cString));
+        const jbyteArray charactersArray = env->NewByteArray(stringLength);
+        if (charactersArray != nullptr)
         {
-            byteBuffer[i] = (static_cast<jbyte>(cString[i]));
+            env->SetByteArrayRegion(charactersArray, 0, stringLength, reinterpret_cast<const jbyte*>(cString));
         }
 
-        const jbyteArray charactersArray = env->NewByteArray(stringLength);
-        env->SetByteArrayRegion(charactersArray, 0, stringLength, byteBuffer.data());
-
         if (deleteString)
         {
             delete[] cString;
@@ -140,6 +149,62 @@ namespace FumoCement
         return static_cast<char>(java);
     }
 
+    /**
+     * Array conversions
+     */
+
+    // Maps a native element type to its Java array counterpart, along with the JNIEnv
+    // functions used to copy a region of it. Both types must have the same size, so the native
+    // memory can be handed directly to the JVM without any intermediate buffer.
+    template<typename T> struct JavaArrayTraits;
+
+#define FUMOCEMENT_JAVA_ARRAY_TRAITS(NativeType, JavaType, JavaArrayType, RegionName) \
+    template<> struct JavaArrayTraits<NativeType> \
+    { \
+        using ElementType = JavaType; \
+        using ArrayType = JavaArrayType; \
+        static_assert(sizeof(NativeType) == sizeof(JavaType), "Mismatched array element sizes."); \
+        static constexpr auto getRegion = &JNIEnv::Get##RegionName##ArrayRegion; \
+        static constexpr auto setRegion = &JNIEnv::Set##RegionName##ArrayRegion; \
+    };
+
+    FUMOCEMENT_JAVA_ARRAY_TRAITS(std::int8_t, jbyte, jbyteArray, Byte)
+    FUMOCEMENT_JAVA_ARRAY_TRAITS(std::uint8_t, jbyte, jbyteArray, Byte)
+    FUMOCEMENT_JAVA_ARRAY_TRAITS(std::int16_t, jshort, jshortArray, Short)
+    FUMOCEMENT_JAVA_ARRAY_TRAITS(std::uint16_t, jchar, jcharArray, Char)
+    FUMOCEMENT_JAVA_ARRAY_TRAITS(std::int32_t, jint, jintArray, Int)
+    FUMOCEMENT_JAVA_ARRAY_TRAITS(std::uint32_t, jint, jintArray, Int)
+    FUMOCEMENT_JAVA_ARRAY_TRAITS(std::int64_t, jlong, jlongArray, Long)
+    FUMOCEMENT_JAVA_ARRAY_TRAITS(std::uint64_t, jlong, jlongArray, Long)
+    FUMOCEMENT_JAVA_ARRAY_TRAITS(float, jfloat, jfloatArray, Float)
+    FUMOCEMENT_JAVA_ARRAY_TRAITS(double, jdouble, jdoubleArray, Double)
+
+#undef FUMOCEMENT_JAVA_ARRAY_TRAITS
+
+    template<typename T>
+    void copyFromJavaArray(JNIEnv* env,
+                           T* destination,
+                           typename JavaArrayTraits<T>::ArrayType source,
+                           jint offset,
+                           jint length) noexcept
+    {
+        using Traits = JavaArrayTraits<T>;
+        (env->*Traits::getRegion)(
+            source, offset, length, reinterpret_cast<typename Traits::ElementType*>(destination));
+    }
+
+    template<typename T>
+    void copyToJavaArray(JNIEnv* env,
+                         const T* source,
+                         typename JavaArrayTraits<T>::ArrayType destination,
+                         jint offset,
+                         jint length) noexcept
+    {
+        using Traits = JavaArrayTraits<T>;
+        (env->*Traits::setRegion)(
+            destination, offset, length, reinterpret_cast<const typename Traits::ElementType*>(source));
+    }
+
     /**
      * Pointer conversions
      */
@@ -156,6 +221,74 @@ namespace FumoCement
         return reinterpret_cast<T*>(javaPointer);
     }
 
+    /**
+     * Memory blocks
+     */
+
+    // Allocates a zero-filled block suitably aligned for any fundamental type, used by
+    // allocators managing their memory on the Java side. Returns nullptr on failure.
+    inline void* allocateBlock(jlong size) noexcept
+    {
+        const auto elementCount =
+            (static_cast<std::size_t>(size) + sizeof(std::max_align_t) - 1) / sizeof(std::max_align_t);
+        return new (std::nothrow) std::max_align_t[elementCount]();
+    }
+
+    // Destroys all the blocks in the given array, which have been allocated using allocateBlock.
+    inline void destroyBlocks(JNIEnv* env, jlongArray blocks, jint count) noexcept
+    {
+        std::vector<jlong> handles(count);
+        env->GetLongArrayRegion(blocks, 0, count, handles.data());
+        for (const jlong handle : handles)
+        {
+            delete[] toNativePointer<std::max_align_t>(handle);
+        }
+    }
+
+    /**
+     * Builtin pointers
+     */
+
+    // The amount of bytes currently allocated by builtin pointers, reported by NativeMetrics.
+    // Pointers are not tracked individually, so deleting an owned pointer which has been allocated elsewhere still
+    // subtracts its size: the amount is only exact when every owned builtin pointer comes from newBuiltin.
+    inline std::atomic<std::int64_t> builtinNativeBytes{0};
+
+    // Allocates a builtin value, accounting for its size.
+    template<typename T> T* newBuiltin()
+    {
+        T* pointer = new T;
+        builtinNativeBytes.fetch_add(static_cast<std::int64_t>(sizeof(T)), std::memory_order_relaxed);
+        return pointer;
+    }
+
+    // Deletes a builtin value allocated using newBuiltin.
+    template<typename T> void deleteBuiltin(T* pointer) noexcept
+    {
+        if (pointer != nullptr)
+        {
+            delete pointer;
+            builtinNativeBytes.fetch_sub(static_cast<std::int64_t>(sizeof(T)), std::memory_order_relaxed);
+        }
+    }
+
+    // Deletes the first count pointers of the given array, which have been allocated using newBuiltin.
+    // The array is accessed directly, as deleting pointers does not call back into the JVM.
+    template<typename T> void destroyPointers(JNIEnv* env, jlongArray handles, jint count) noexcept
+    {
+        auto* elements = static_cast<jlong*>(env->GetPrimitiveArrayCritical(handles, nullptr));
+        if (elements == nullptr)
+        {
+            return;
+        }
+
+        for (jint i = 0; i < count; i++)
+        {
+            deleteBuiltin(toNativePointer<T>(elements[i]));
+        }
+        env->ReleasePrimitiveArrayCritical(handles, elements, JNI_ABORT);
+    }
+
     /**
      * C++ to C
      */
@@ -185,6 +318,56 @@ namespace FumoCement
         throw new std::runtime_error("Failed to get the JavaVM.");
     }
 
+    // Detaches the current thread from the JVM when it exits, if it has been attached by getCurrentThreadEnv.
+    struct ThreadDetacher
+    {
+        JavaVM* javaVm = nullptr;
+
+        ~ThreadDetacher();
+    };
+
+    // The JNIEnv of the current thread, only while it is attached by getCurrentThreadEnv. As it is trivially
+    // constructible, reading it does not go through the guard of thread-local objects with constructors or destructors.
+    inline thread_local JNIEnv* currentThreadEnv = nullptr;
+    inline thread_local ThreadDetacher currentThreadDetacher;
+
+    inline ThreadDetacher::~ThreadDetacher()
+    {
+        if (javaVm != nullptr)
+        {
+            currentThreadEnv = nullptr;
+            javaVm->DetachCurrentThread();
+        }
+    }
+
+    // Gets the JNIEnv of the current thread, attaching it as a daemon thread if needed. The JNIEnv is only cached
+    // when this function attached the thread, which then stays attached until it exits. Threads attached by others
+    // might be detached and attached again in the meantime, so their JNIEnv is queried on each call.
+    inline JNIEnv* getCurrentThreadEnv(JavaVM* javaVm)
+    {
+        if (currentThreadEnv != nullptr)
+        {
+            return currentThreadEnv;
+        }
+
+        JNIEnv* env = nullptr;
+        const auto result = javaVm->GetEnv(reinterpret_cast<void**>(&env), JNI_VERSION_1_2);
+        if (result == JNI_EDETACHED)
+        {
+            if (javaVm->AttachCurrentThreadAsDaemon(reinterpret_cast<void**>(&env), nullptr) != JNI_OK)
+            {
+                throw std::runtime_error("JNI: Failed to attach to current thread.");
+            }
+            currentThreadDetacher.javaVm = javaVm;
+            currentThreadEnv = env;
+        }
+        else if (result != JNI_OK)
+        {
+            throw std::runtime_error("JNI: Failed to get an instance of JNIEnv");
+        }
+        return env;
+    }
+
     struct FunctionPointerContext
     {
         JavaVM* javaVm;
@@ -192,27 +375,130 @@ namespace FumoCement
 
         [[nodiscard]] JNIEnv* getEnv() const
         {
-            JNIEnv* env = nullptr; // TODO: cache this?
-            const auto result = javaVm->GetEnv(reinterpret_cast<void**>(&env), JNI_VERSION_1_2);
-            if (result == JNI_OK)
-            {
-                return env;
-            }
-            if (result == JNI_EDETACHED)
+            return getCurrentThreadEnv(javaVm);
+        }
+    };
+    /**
+     * Event channels
+     */
+
+    // A bounded multi-producer, single-consumer ring buffer of fixed-size records, drained by NativeEventChannel.
+    // Native code writes records using write or eventCallback, while Java reads them directly from native memory,
+    // so that no upcall happens per event. Each slot starts with a sequence number telling whether it is free
+    // (sequence == position) or holds a record (sequence == position + 1), as in Dmitry Vyukov's bounded queue.
+    //
+    // The layout is read by NativeEventChannel, and must stay in sync with its offsets.
+    struct alignas(64) EventChannel
+    {
+        alignas(64) std::atomic<std::uint64_t> writePosition;
+        alignas(64) std::atomic<std::uint64_t> droppedCount;
+        std::atomic<std::uint64_t> waitCount;
+        std::uint32_t recordSize;
+        std::uint32_t slotSize;
+        std::uint32_t capacity;
+        std::uint32_t waitWhenFull;
+
+        std::byte* getSlot(std::uint64_t position) noexcept
+        {
+            return reinterpret_cast<std::byte*>(this + 1) + (position & (capacity - 1)) * slotSize;
+        }
+
+        static std::atomic<std::uint64_t>& getSequence(std::byte* slot) noexcept
+        {
+            return *reinterpret_cast<std::atomic<std::uint64_t>*>(slot);
+        }
+
+        // Writes a record if the channel is not full, without waiting.
+        bool tryWrite(const void* record, std::size_t size) noexcept
+        {
+            std::uint64_t position = writePosition.load(std::memory_order_relaxed);
+            std::byte* slot;
+            while (true)
             {
-                // TODO: Detach... but when?
-                if (const auto attachResult =
-                        javaVm->AttachCurrentThreadAsDaemon(reinterpret_cast<void**>(&env), nullptr);
-                    attachResult == JNI_OK)
+                slot = getSlot(position);
+                const std::uint64_t sequence = getSequence(slot).load(std::memory_order_acquire);
+                const auto difference = static_cast<std::int64_t>(sequence - position);
+                if (difference == 0)
+                {
+                    if (writePosition.compare_exchange_weak(position, position + 1, std::memory_order_relaxed))
+                    {
+                        break;
+                    }
+                }
+                else if (difference < 0)
+                {
+                    return false;
+                }
+                else
                 {
-                    return env;
+                    position = writePosition.load(std::memory_order_relaxed);
                 }
+            }
 
-                throw std::runtime_error("JNI: Failed to attach to current thread.");
+            std::memcpy(slot + sizeof(std::uint64_t), record, size);
+            getSequence(slot).store(position + 1, std::memory_order_release);
+            return true;
+        }
+
+        // Writes a record, either dropping it or waiting for Java to make room when the channel is full,
+        // depending on the overflow policy of the channel. Returns whether the record has been written.
+        bool write(const void* record, std::size_t size) noexcept
+        {
+            if (size > recordSize)
+            {
+                droppedCount.fetch_add(1, std::memory_order_relaxed);
+                return false;
             }
-            throw std::runtime_error("JNI: Failed to get an instance of JNIEnv");
+            if (tryWrite(record, size))
+            {
+                return true;
+            }
+            if (waitWhenFull == 0)
+            {
+                droppedCount.fetch_add(1, std::memory_order_relaxed);
+                return false;
+            }
+
+            waitCount.fetch_add(1, std::memory_order_relaxed);
+            while (!tryWrite(record, size))
+            {
+                std::this_thread::yield();
+            }
+            return true;
         }
     };
+
+    static_assert(std::atomic<std::uint64_t>::is_always_lock_free &&
+                      sizeof(std::atomic<std::uint64_t>) == sizeof(std::uint64_t),
+                  "Java accesses the atomics of event channels as plain 64-bit integers.");
+    static_assert(offsetof(EventChannel, droppedCount) == 64 && offsetof(EventChannel, waitCount) == 72 &&
+                      offsetof(EventChannel, recordSize) == 80 && sizeof(EventChannel) == 128,
+                  "The layout of EventChannel must match NativeEventChannel.");
+
+    // The size of a record holding the given arguments, laid out like the members of a C struct.
+    template<typename... Args> constexpr std::size_t getEventRecordSize() noexcept
+    {
+        std::size_t size = 0;
+        ((size = (size + alignof(Args) - 1) / alignof(Args) * alignof(Args) + sizeof(Args)), ...);
+        return size;
+    }
+
+    // A callback writing its arguments as a record into the EventChannel given as its context, which can be passed
+    // where a function pointer calling back a FunctionPointer is expected, as in:
+    //     setContactCallback(&FumoCement::eventCallback<std::int32_t, std::int32_t, float>, channel);
+    // The record is laid out like a C struct made of the arguments, which must be trivially copyable.
+    template<typename... Args> void eventCallback(Args... args, void* context) noexcept
+    {
+        static_assert((std::is_trivially_copyable_v<Args> && ...), "Event arguments must be trivially copyable.");
+        std::byte record[getEventRecordSize<Args...>() + 1]{};
+        std::size_t offset = 0;
+        ((offset = (offset + alignof(Args) - 1) / alignof(Args) * alignof(Args),
+          std::memcpy(record + offset, &args, sizeof(Args)),
+          offset += sizeof(Args)),
+         ...);
+        static_cast<EventChannel*>(context)->write(record, getEventRecordSize<Args...>());
+    }
+
 } // namespace FumoCement
 
 extern "C"
@@ -225,7 +511,7 @@ extern "C"
      */
     JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_builtin_CharPointer_allocatePointer(JNIEnv*, jclass)
     {
-        return FumoCement::toJavaPointer(new char);
+        return FumoCement::toJavaPointer(FumoCement::newBuiltin<char>());
     }
 
     /*
@@ -237,7 +523,20 @@ extern "C"
                                                                                                  jclass,
                                                                                                  jlong handle)
     {
-        delete FumoCement::toNativePointer<char>(handle);
+        FumoCement::deleteBuiltin(FumoCement::toNativePointer<char>(handle));
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_CharPointer
+     * Method:    destroyPointers
+     * Signature: ([JI)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_CharPointer_destroyPointers(JNIEnv* env,
+                                                                                                  jclass,
+                                                                                                  jlongArray handles,
+                                                                                                  jint count)
+    {
+        FumoCement::destroyPointers<char>(env, handles, count);
     }
 
     /*
@@ -265,20 +564,6 @@ extern "C"
         *FumoCement::toNativePointer<char>(handle) = static_cast<char>(value);
     }
 
-    /*
-     * Class:     com_github_novelrt_fumocement_builtin_CharPointer
-     * Method:    readAsNullTerminatedString
-     * Signature: (JZ)[B
-     */
-    JNIEXPORT jbyteArray JNICALL
-    Java_com_github_novelrt_fumocement_builtin_CharPointer_readAsNullTerminatedString(JNIEnv* env,
-                                                                                      jclass,
-                                                                                      jlong handle,
-                                                                                      jboolean deleteString)
-    {
-        return FumoCement::toJavaStringBytes(env, reinterpret_cast<const char*>(handle), deleteString);
-    }
-
 #pragma endregion
 
 #pragma region DoublePointer
@@ -290,7 +575,7 @@ extern "C"
      */
     JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_builtin_DoublePointer_allocatePointer(JNIEnv*, jclass)
     {
-        return FumoCement::toJavaPointer(new double);
+        return FumoCement::toJavaPointer(FumoCement::newBuiltin<double>());
     }
 
     /*
@@ -302,7 +587,20 @@ extern "C"
                                                                                                    jclass,
                                                                                                    jlong handle)
     {
-        delete FumoCement::toNativePointer<double>(handle);
+        FumoCement::deleteBuiltin(FumoCement::toNativePointer<double>(handle));
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_DoublePointer
+     * Method:    destroyPointers
+     * Signature: ([JI)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_DoublePointer_destroyPointers(JNIEnv* env,
+                                                                                                    jclass,
+                                                                                                    jlongArray handles,
+                                                                                                    jint count)
+    {
+        FumoCement::destroyPointers<double>(env, handles, count);
     }
 
     /*
@@ -340,7 +638,7 @@ extern "C"
      */
     JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_builtin_FloatPointer_allocatePointer(JNIEnv*, jclass)
     {
-        return FumoCement::toJavaPointer(new float);
+        return FumoCement::toJavaPointer(FumoCement::newBuiltin<float>());
     }
 
     /*
@@ -352,7 +650,20 @@ extern "C"
                                                                                                   jclass,
                                                                                                   jlong handle)
     {
-        delete FumoCement::toNativePointer<float>(handle);
+        FumoCement::deleteBuiltin(FumoCement::toNativePointer<float>(handle));
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_FloatPointer
+     * Method:    destroyPointers
+     * Signature: ([JI)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_FloatPointer_destroyPointers(JNIEnv* env,
+                                                                                                   jclass,
+                                                                                                   jlongArray handles,
+                                                                                                   jint count)
+    {
+        FumoCement::destroyPointers<float>(env, handles, count);
     }
 
     /*
@@ -384,7 +695,7 @@ extern "C"
      */
     JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_builtin_Int8Pointer_allocatePointer(JNIEnv*, jclass)
     {
-        return FumoCement::toJavaPointer(new std::int8_t);
+        return FumoCement::toJavaPointer(FumoCement::newBuiltin<std::int8_t>());
     }
 
     /*
@@ -396,7 +707,20 @@ extern "C"
                                                                                                  jclass,
                                                                                                  jlong handle)
     {
-        delete FumoCement::toNativePointer<std::int8_t>(handle);
+        FumoCement::deleteBuiltin(FumoCement::toNativePointer<std::int8_t>(handle));
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_Int8Pointer
+     * Method:    destroyPointers
+     * Signature: ([JI)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_Int8Pointer_destroyPointers(JNIEnv* env,
+                                                                                                  jclass,
+                                                                                                  jlongArray handles,
+                                                                                                  jint count)
+    {
+        FumoCement::destroyPointers<std::int8_t>(env, handles, count);
     }
 
     /*
@@ -433,7 +757,7 @@ extern "C"
      */
     JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_builtin_Int16Pointer_allocatePointer(JNIEnv*, jclass)
     {
-        return FumoCement::toJavaPointer(new std::int16_t);
+        return FumoCement::toJavaPointer(FumoCement::newBuiltin<std::int16_t>());
     }
 
     /*
@@ -445,7 +769,20 @@ extern "C"
                                                                                                   jclass,
                                                                                                   jlong handle)
     {
-        delete FumoCement::toNativePointer<std::int16_t>(handle);
+        FumoCement::deleteBuiltin(FumoCement::toNativePointer<std::int16_t>(handle));
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_Int16Pointer
+     * Method:    destroyPointers
+     * Signature: ([JI)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_Int16Pointer_destroyPointers(JNIEnv* env,
+                                                                                                   jclass,
+                                                                                                   jlongArray handles,
+                                                                                                   jint count)
+    {
+        FumoCement::destroyPointers<std::int16_t>(env, handles, count);
     }
 
     /*
@@ -482,7 +819,7 @@ extern "C"
      */
     JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_builtin_Int32Pointer_allocatePointer(JNIEnv*, jclass)
     {
-        return FumoCement::toJavaPointer(new std::int32_t);
+        return FumoCement::toJavaPointer(FumoCement::newBuiltin<std::int32_t>());
     }
 
     /*
@@ -494,7 +831,20 @@ extern "C"
                                                                                                   jclass,
                                                                                                   jlong handle)
     {
-        delete FumoCement::toNativePointer<std::int32_t>(handle);
+        FumoCement::deleteBuiltin(FumoCement::toNativePointer<std::int32_t>(handle));
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_Int32Pointer
+     * Method:    destroyPointers
+     * Signature: ([JI)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_Int32Pointer_destroyPointers(JNIEnv* env,
+                                                                                                   jclass,
+                                                                                                   jlongArray handles,
+                                                                                                   jint count)
+    {
+        FumoCement::destroyPointers<std::int32_t>(env, handles, count);
     }
 
     /*
@@ -531,7 +881,7 @@ extern "C"
      */
     JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_builtin_Int64Pointer_allocatePointer(JNIEnv*, jclass)
     {
-        return FumoCement::toJavaPointer(new std::int64_t);
+        return FumoCement::toJavaPointer(FumoCement::newBuiltin<std::int64_t>());
     }
 
     /*
@@ -543,7 +893,20 @@ extern "C"
                                                                                                   jclass,
                                                                                                   jlong handle)
     {
-        delete FumoCement::toNativePointer<std::int64_t>(handle);
+        FumoCement::deleteBuiltin(FumoCement::toNativePointer<std::int64_t>(handle));
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_Int64Pointer
+     * Method:    destroyPointers
+     * Signature: ([JI)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_Int64Pointer_destroyPointers(JNIEnv* env,
+                                                                                                   jclass,
+                                                                                                   jlongArray handles,
+                                                                                                   jint count)
+    {
+        FumoCement::destroyPointers<std::int64_t>(env, handles, count);
     }
 
     /*
@@ -580,7 +943,7 @@ extern "C"
      */
     JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_builtin_UInt8Pointer_allocatePointer(JNIEnv*, jclass)
     {
-        return FumoCement::toJavaPointer(new std::uint8_t);
+        return FumoCement::toJavaPointer(FumoCement::newBuiltin<std::uint8_t>());
     }
 
     /*
@@ -592,7 +955,20 @@ extern "C"
                                                                                                   jclass,
                                                                                                   jlong handle)
     {
-        delete FumoCement::toNativePointer<std::uint8_t>(handle);
+        FumoCement::deleteBuiltin(FumoCement::toNativePointer<std::uint8_t>(handle));
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UInt8Pointer
+     * Method:    destroyPointers
+     * Signature: ([JI)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_UInt8Pointer_destroyPointers(JNIEnv* env,
+                                                                                                   jclass,
+                                                                                                   jlongArray handles,
+                                                                                                   jint count)
+    {
+        FumoCement::destroyPointers<std::uint8_t>(env, handles, count);
     }
 
     /*
@@ -629,7 +1005,7 @@ extern "C"
      */
     JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_builtin_UInt16Pointer_allocatePointer(JNIEnv*, jclass)
     {
-        return FumoCement::toJavaPointer(new std::uint16_t);
+        return FumoCement::toJavaPointer(FumoCement::newBuiltin<std::uint16_t>());
     }
 
     /*
@@ -641,7 +1017,20 @@ extern "C"
                                                                                                    jclass,
                                                                                                    jlong handle)
     {
-        delete FumoCement::toNativePointer<std::uint16_t>(handle);
+        FumoCement::deleteBuiltin(FumoCement::toNativePointer<std::uint16_t>(handle));
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UInt16Pointer
+     * Method:    destroyPointers
+     * Signature: ([JI)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_UInt16Pointer_destroyPointers(JNIEnv* env,
+                                                                                                    jclass,
+                                                                                                    jlongArray handles,
+                                                                                                    jint count)
+    {
+        FumoCement::destroyPointers<std::uint16_t>(env, handles, count);
     }
 
     /*
@@ -678,7 +1067,7 @@ extern "C"
      */
     JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_builtin_UInt32Pointer_allocatePointer(JNIEnv*, jclass)
     {
-        return FumoCement::toJavaPointer(new std::uint32_t);
+        return FumoCement::toJavaPointer(FumoCement::newBuiltin<std::uint32_t>());
     }
 
     /*
@@ -690,7 +1079,20 @@ extern "C"
                                                                                                    jclass,
                                                                                                    jlong handle)
     {
-        delete FumoCement::toNativePointer<std::uint32_t>(handle);
+        FumoCement::deleteBuiltin(FumoCement::toNativePointer<std::uint32_t>(handle));
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UInt32Pointer
+     * Method:    destroyPointers
+     * Signature: ([JI)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_UInt32Pointer_destroyPointers(JNIEnv* env,
+                                                                                                    jclass,
+                                                                                                    jlongArray handles,
+                                                                                                    jint count)
+    {
+        FumoCement::destroyPointers<std::uint32_t>(env, handles, count);
     }
 
     /*
@@ -727,7 +1129,7 @@ extern "C"
      */
     JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_builtin_UInt64Pointer_allocatePointer(JNIEnv*, jclass)
     {
-        return FumoCement::toJavaPointer(new std::uint64_t);
+        return FumoCement::toJavaPointer(FumoCement::newBuiltin<std::uint64_t>());
     }
 
     /*
@@ -739,7 +1141,20 @@ extern "C"
                                                                                                    jclass,
                                                                                                    jlong handle)
     {
-        delete FumoCement::toNativePointer<std::uint64_t>(handle);
+        FumoCement::deleteBuiltin(FumoCement::toNativePointer<std::uint64_t>(handle));
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UInt64Pointer
+     * Method:    destroyPointers
+     * Signature: ([JI)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_UInt64Pointer_destroyPointers(JNIEnv* env,
+                                                                                                    jclass,
+                                                                                                    jlongArray handles,
+                                                                                                    jint count)
+    {
+        FumoCement::destroyPointers<std::uint64_t>(env, handles, count);
     }
 
     /*
@@ -776,7 +1191,7 @@ extern "C"
      */
     JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_builtin_UIntPtrPointer_allocatePointer(JNIEnv*, jclass)
     {
-        return FumoCement::toJavaPointer(new std::uintptr_t);
+        return FumoCement::toJavaPointer(FumoCement::newBuiltin<std::uintptr_t>());
     }
 
     /*
@@ -788,7 +1203,20 @@ extern "C"
                                                                                                     jclass,
                                                                                                     jlong handle)
     {
-        delete FumoCement::toNativePointer<std::uintptr_t>(handle);
+        FumoCement::deleteBuiltin(FumoCement::toNativePointer<std::uintptr_t>(handle));
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UIntPtrPointer
+     * Method:    destroyPointers
+     * Signature: ([JI)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_UIntPtrPointer_destroyPointers(JNIEnv* env,
+                                                                                                     jclass,
+                                                                                                     jlongArray handles,
+                                                                                                     jint count)
+    {
+        FumoCement::destroyPointers<std::uintptr_t>(env, handles, count);
     }
 
     /*
@@ -817,71 +1245,1165 @@ extern "C"
     }
 #pragma endregion
 
-#pragma region IndirectedPointer
+#pragma region Int8Array
     /*
-     * Class:     com_github_novelrt_fumocement_IndirectedPointer
-     * Method:    getNativeUnderlyingHandle
-     * Signature: (J)J
+     * Class:     com_github_novelrt_fumocement_builtin_Int8Array
+     * Method:    allocateArray
+     * Signature: (I)J
      */
-    JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_IndirectedPointer_getNativeUnderlyingHandle(JNIEnv*,
-                                                                                                           jclass,
-                                                                                                           jlong handle)
+    JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_builtin_Int8Array_allocateArray(JNIEnv*,
+                                                                                               jclass,
+                                                                                               jint length)
     {
-        return FumoCement::toJavaPointer(*FumoCement::toNativePointer<void*>(handle));
+        return FumoCement::toJavaPointer(new std::int8_t[length]());
     }
 
     /*
-     * Class:     com_github_novelrt_fumocement_IndirectedPointer
-     * Method:    setNativeUnderlyingHandle
-     * Signature: (JJ)V
+     * Class:     com_github_novelrt_fumocement_builtin_Int8Array
+     * Method:    destroyArray
+     * Signature: (J)V
      */
-    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_IndirectedPointer_setNativeUnderlyingHandle(JNIEnv*,
-                                                                                                          jclass,
-                                                                                                          jlong handle,
-                                                                                                          jlong value)
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_Int8Array_destroyArray(JNIEnv*,
+                                                                                             jclass,
+                                                                                             jlong handle)
     {
-        *FumoCement::toNativePointer<void*>(handle) = FumoCement::toNativePointer<void>(value);
+        delete[] FumoCement::toNativePointer<std::int8_t>(handle);
     }
 
     /*
-     * Class:     com_github_novelrt_fumocement_IndirectedPointer
-     * Method:    createPointer
-     * Signature: ()J
+     * Class:     com_github_novelrt_fumocement_builtin_Int8Array
+     * Method:    getValue
+     * Signature: (JI)B
      */
-    JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_IndirectedPointer_createPointer(JNIEnv*, jclass)
+    JNIEXPORT jbyte JNICALL Java_com_github_novelrt_fumocement_builtin_Int8Array_getValue(JNIEnv*,
+                                                                                          jclass,
+                                                                                          jlong handle,
+                                                                                          jint index)
     {
-        return FumoCement::toJavaPointer(new void*);
+        return static_cast<jbyte>(FumoCement::toNativePointer<std::int8_t>(handle)[index]);
     }
 
     /*
-     * Class:     com_github_novelrt_fumocement_IndirectedPointer
-     * Method:    destroyPointer
-     * Signature: (J)V
+     * Class:     com_github_novelrt_fumocement_builtin_Int8Array
+     * Method:    setValue
+     * Signature: (JIB)V
      */
-    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_IndirectedPointer_destroyPointer(JNIEnv*,
-                                                                                               jclass,
-                                                                                               jlong handle)
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_Int8Array_setValue(JNIEnv*,
+                                                                                         jclass,
+                                                                                         jlong handle,
+                                                                                         jint index,
+                                                                                         jbyte value)
     {
-        delete FumoCement::toNativePointer<void*>(handle);
+        FumoCement::toNativePointer<std::int8_t>(handle)[index] = static_cast<std::int8_t>(value);
     }
-#pragma endregion
 
-#pragma region FunctionPointer
     /*
-     * Class:     com_github_novelrt_fumocement_FunctionPointer
-     * Method:    createPointerContext
-     * Signature: (Ljava/lang/Object;)J
+     * Class:     com_github_novelrt_fumocement_builtin_Int8Array
+     * Method:    copyFrom
+     * Signature: (JI[BII)V
      */
-    JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_FunctionPointer_createPointerContext(JNIEnv* env,
-                                                                                                    jclass,
-                                                                                                    jobject obj)
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_Int8Array_copyFrom(JNIEnv* env,
+                                                                                         jclass,
+                                                                                         jlong handle,
+                                                                                         jint index,
+                                                                                         jbyteArray source,
+                                                                                         jint offset,
+                                                                                         jint length)
     {
-        return toJavaPointer(
-            new FumoCement::FunctionPointerContext{FumoCement::getJavaVM(env), env->NewGlobalRef(obj)});
+        auto* first = FumoCement::toNativePointer<std::int8_t>(handle) + index;
+        FumoCement::copyFromJavaArray(env, first, source, offset, length);
     }
 
     /*
-     * Class:     com_github_novelrt_fumocement_FunctionPointer
+     * Class:     com_github_novelrt_fumocement_builtin_Int8Array
+     * Method:    copyTo
+     * Signature: (JI[BII)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_Int8Array_copyTo(JNIEnv* env,
+                                                                                       jclass,
+                                                                                       jlong handle,
+                                                                                       jint index,
+                                                                                       jbyteArray destination,
+                                                                                       jint offset,
+                                                                                       jint length)
+    {
+        const auto* first = FumoCement::toNativePointer<std::int8_t>(handle) + index;
+        FumoCement::copyToJavaArray(env, first, destination, offset, length);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_Int8Array
+     * Method:    fill
+     * Signature: (JIIB)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_Int8Array_fill(JNIEnv*,
+                                                                                     jclass,
+                                                                                     jlong handle,
+                                                                                     jint index,
+                                                                                     jint length,
+                                                                                     jbyte value)
+    {
+        auto* first = FumoCement::toNativePointer<std::int8_t>(handle) + index;
+        std::fill(first, first + length, static_cast<std::int8_t>(value));
+    }
+#pragma endregion
+
+#pragma region Int16Array
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_Int16Array
+     * Method:    allocateArray
+     * Signature: (I)J
+     */
+    JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_builtin_Int16Array_allocateArray(JNIEnv*,
+                                                                                                jclass,
+                                                                                                jint length)
+    {
+        return FumoCement::toJavaPointer(new std::int16_t[length]());
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_Int16Array
+     * Method:    destroyArray
+     * Signature: (J)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_Int16Array_destroyArray(JNIEnv*,
+                                                                                              jclass,
+                                                                                              jlong handle)
+    {
+        delete[] FumoCement::toNativePointer<std::int16_t>(handle);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_Int16Array
+     * Method:    getValue
+     * Signature: (JI)S
+     */
+    JNIEXPORT jshort JNICALL Java_com_github_novelrt_fumocement_builtin_Int16Array_getValue(JNIEnv*,
+                                                                                            jclass,
+                                                                                            jlong handle,
+                                                                                            jint index)
+    {
+        return static_cast<jshort>(FumoCement::toNativePointer<std::int16_t>(handle)[index]);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_Int16Array
+     * Method:    setValue
+     * Signature: (JIS)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_Int16Array_setValue(JNIEnv*,
+                                                                                          jclass,
+                                                                                          jlong handle,
+                                                                                          jint index,
+                                                                                          jshort value)
+    {
+        FumoCement::toNativePointer<std::int16_t>(handle)[index] = static_cast<std::int16_t>(value);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_Int16Array
+     * Method:    copyFrom
+     * Signature: (JI[SII)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_Int16Array_copyFrom(JNIEnv* env,
+                                                                                          jclass,
+                                                                                          jlong handle,
+                                                                                          jint index,
+                                                                                          jshortArray source,
+                                                                                          jint offset,
+                                                                                          jint length)
+    {
+        auto* first = FumoCement::toNativePointer<std::int16_t>(handle) + index;
+        FumoCement::copyFromJavaArray(env, first, source, offset, length);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_Int16Array
+     * Method:    copyTo
+     * Signature: (JI[SII)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_Int16Array_copyTo(JNIEnv* env,
+                                                                                        jclass,
+                                                                                        jlong handle,
+                                                                                        jint index,
+                                                                                        jshortArray destination,
+                                                                                        jint offset,
+                                                                                        jint length)
+    {
+        const auto* first = FumoCement::toNativePointer<std::int16_t>(handle) + index;
+        FumoCement::copyToJavaArray(env, first, destination, offset, length);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_Int16Array
+     * Method:    fill
+     * Signature: (JIIS)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_Int16Array_fill(JNIEnv*,
+                                                                                      jclass,
+                                                                                      jlong handle,
+                                                                                      jint index,
+                                                                                      jint length,
+                                                                                      jshort value)
+    {
+        auto* first = FumoCement::toNativePointer<std::int16_t>(handle) + index;
+        std::fill(first, first + length, static_cast<std::int16_t>(value));
+    }
+#pragma endregion
+
+#pragma region Int32Array
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_Int32Array
+     * Method:    allocateArray
+     * Signature: (I)J
+     */
+    JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_builtin_Int32Array_allocateArray(JNIEnv*,
+                                                                                                jclass,
+                                                                                                jint length)
+    {
+        return FumoCement::toJavaPointer(new std::int32_t[length]());
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_Int32Array
+     * Method:    destroyArray
+     * Signature: (J)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_Int32Array_destroyArray(JNIEnv*,
+                                                                                              jclass,
+                                                                                              jlong handle)
+    {
+        delete[] FumoCement::toNativePointer<std::int32_t>(handle);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_Int32Array
+     * Method:    getValue
+     * Signature: (JI)I
+     */
+    JNIEXPORT jint JNICALL Java_com_github_novelrt_fumocement_builtin_Int32Array_getValue(JNIEnv*,
+                                                                                          jclass,
+                                                                                          jlong handle,
+                                                                                          jint index)
+    {
+        return static_cast<jint>(FumoCement::toNativePointer<std::int32_t>(handle)[index]);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_Int32Array
+     * Method:    setValue
+     * Signature: (JII)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_Int32Array_setValue(JNIEnv*,
+                                                                                          jclass,
+                                                                                          jlong handle,
+                                                                                          jint index,
+                                                                                          jint value)
+    {
+        FumoCement::toNativePointer<std::int32_t>(handle)[index] = static_cast<std::int32_t>(value);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_Int32Array
+     * Method:    copyFrom
+     * Signature: (JI[III)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_Int32Array_copyFrom(JNIEnv* env,
+                                                                                          jclass,
+                                                                                          jlong handle,
+                                                                                          jint index,
+                                                                                          jintArray source,
+                                                                                          jint offset,
+                                                                                          jint length)
+    {
+        auto* first = FumoCement::toNativePointer<std::int32_t>(handle) + index;
+        FumoCement::copyFromJavaArray(env, first, source, offset, length);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_Int32Array
+     * Method:    copyTo
+     * Signature: (JI[III)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_Int32Array_copyTo(JNIEnv* env,
+                                                                                        jclass,
+                                                                                        jlong handle,
+                                                                                        jint index,
+                                                                                        jintArray destination,
+                                                                                        jint offset,
+                                                                                        jint length)
+    {
+        const auto* first = FumoCement::toNativePointer<std::int32_t>(handle) + index;
+        FumoCement::copyToJavaArray(env, first, destination, offset, length);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_Int32Array
+     * Method:    fill
+     * Signature: (JIII)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_Int32Array_fill(JNIEnv*,
+                                                                                      jclass,
+                                                                                      jlong handle,
+                                                                                      jint index,
+                                                                                      jint length,
+                                                                                      jint value)
+    {
+        auto* first = FumoCement::toNativePointer<std::int32_t>(handle) + index;
+        std::fill(first, first + length, static_cast<std::int32_t>(value));
+    }
+#pragma endregion
+
+#pragma region Int64Array
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_Int64Array
+     * Method:    allocateArray
+     * Signature: (I)J
+     */
+    JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_builtin_Int64Array_allocateArray(JNIEnv*,
+                                                                                                jclass,
+                                                                                                jint length)
+    {
+        return FumoCement::toJavaPointer(new std::int64_t[length]());
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_Int64Array
+     * Method:    destroyArray
+     * Signature: (J)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_Int64Array_destroyArray(JNIEnv*,
+                                                                                              jclass,
+                                                                                              jlong handle)
+    {
+        delete[] FumoCement::toNativePointer<std::int64_t>(handle);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_Int64Array
+     * Method:    getValue
+     * Signature: (JI)J
+     */
+    JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_builtin_Int64Array_getValue(JNIEnv*,
+                                                                                           jclass,
+                                                                                           jlong handle,
+                                                                                           jint index)
+    {
+        return static_cast<jlong>(FumoCement::toNativePointer<std::int64_t>(handle)[index]);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_Int64Array
+     * Method:    setValue
+     * Signature: (JIJ)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_Int64Array_setValue(JNIEnv*,
+                                                                                          jclass,
+                                                                                          jlong handle,
+                                                                                          jint index,
+                                                                                          jlong value)
+    {
+        FumoCement::toNativePointer<std::int64_t>(handle)[index] = static_cast<std::int64_t>(value);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_Int64Array
+     * Method:    copyFrom
+     * Signature: (JI[JII)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_Int64Array_copyFrom(JNIEnv* env,
+                                                                                          jclass,
+                                                                                          jlong handle,
+                                                                                          jint index,
+                                                                                          jlongArray source,
+                                                                                          jint offset,
+                                                                                          jint length)
+    {
+        auto* first = FumoCement::toNativePointer<std::int64_t>(handle) + index;
+        FumoCement::copyFromJavaArray(env, first, source, offset, length);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_Int64Array
+     * Method:    copyTo
+     * Signature: (JI[JII)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_Int64Array_copyTo(JNIEnv* env,
+                                                                                        jclass,
+                                                                                        jlong handle,
+                                                                                        jint index,
+                                                                                        jlongArray destination,
+                                                                                        jint offset,
+                                                                                        jint length)
+    {
+        const auto* first = FumoCement::toNativePointer<std::int64_t>(handle) + index;
+        FumoCement::copyToJavaArray(env, first, destination, offset, length);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_Int64Array
+     * Method:    fill
+     * Signature: (JIIJ)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_Int64Array_fill(JNIEnv*,
+                                                                                      jclass,
+                                                                                      jlong handle,
+                                                                                      jint index,
+                                                                                      jint length,
+                                                                                      jlong value)
+    {
+        auto* first = FumoCement::toNativePointer<std::int64_t>(handle) + index;
+        std::fill(first, first + length, static_cast<std::int64_t>(value));
+    }
+#pragma endregion
+
+#pragma region UInt8Array
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UInt8Array
+     * Method:    allocateArray
+     * Signature: (I)J
+     */
+    JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_builtin_UInt8Array_allocateArray(JNIEnv*,
+                                                                                                jclass,
+                                                                                                jint length)
+    {
+        return FumoCement::toJavaPointer(new std::uint8_t[length]());
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UInt8Array
+     * Method:    destroyArray
+     * Signature: (J)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_UInt8Array_destroyArray(JNIEnv*,
+                                                                                              jclass,
+                                                                                              jlong handle)
+    {
+        delete[] FumoCement::toNativePointer<std::uint8_t>(handle);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UInt8Array
+     * Method:    getUnsignedValue
+     * Signature: (JI)B
+     */
+    JNIEXPORT jbyte JNICALL Java_com_github_novelrt_fumocement_builtin_UInt8Array_getUnsignedValue(JNIEnv*,
+                                                                                                   jclass,
+                                                                                                   jlong handle,
+                                                                                                   jint index)
+    {
+        return static_cast<jbyte>(FumoCement::toNativePointer<std::uint8_t>(handle)[index]);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UInt8Array
+     * Method:    setUnsignedValue
+     * Signature: (JIB)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_UInt8Array_setUnsignedValue(JNIEnv*,
+                                                                                                  jclass,
+                                                                                                  jlong handle,
+                                                                                                  jint index,
+                                                                                                  jbyte value)
+    {
+        FumoCement::toNativePointer<std::uint8_t>(handle)[index] = static_cast<std::uint8_t>(value);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UInt8Array
+     * Method:    copyFrom
+     * Signature: (JI[BII)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_UInt8Array_copyFrom(JNIEnv* env,
+                                                                                          jclass,
+                                                                                          jlong handle,
+                                                                                          jint index,
+                                                                                          jbyteArray source,
+                                                                                          jint offset,
+                                                                                          jint length)
+    {
+        auto* first = FumoCement::toNativePointer<std::uint8_t>(handle) + index;
+        FumoCement::copyFromJavaArray(env, first, source, offset, length);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UInt8Array
+     * Method:    copyTo
+     * Signature: (JI[BII)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_UInt8Array_copyTo(JNIEnv* env,
+                                                                                        jclass,
+                                                                                        jlong handle,
+                                                                                        jint index,
+                                                                                        jbyteArray destination,
+                                                                                        jint offset,
+                                                                                        jint length)
+    {
+        const auto* first = FumoCement::toNativePointer<std::uint8_t>(handle) + index;
+        FumoCement::copyToJavaArray(env, first, destination, offset, length);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UInt8Array
+     * Method:    fill
+     * Signature: (JIIB)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_UInt8Array_fill(JNIEnv*,
+                                                                                      jclass,
+                                                                                      jlong handle,
+                                                                                      jint index,
+                                                                                      jint length,
+                                                                                      jbyte value)
+    {
+        auto* first = FumoCement::toNativePointer<std::uint8_t>(handle) + index;
+        std::fill(first, first + length, static_cast<std::uint8_t>(value));
+    }
+#pragma endregion
+
+#pragma region UInt16Array
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UInt16Array
+     * Method:    allocateArray
+     * Signature: (I)J
+     */
+    JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_builtin_UInt16Array_allocateArray(JNIEnv*,
+                                                                                                 jclass,
+                                                                                                 jint length)
+    {
+        return FumoCement::toJavaPointer(new std::uint16_t[length]());
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UInt16Array
+     * Method:    destroyArray
+     * Signature: (J)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_UInt16Array_destroyArray(JNIEnv*,
+                                                                                               jclass,
+                                                                                               jlong handle)
+    {
+        delete[] FumoCement::toNativePointer<std::uint16_t>(handle);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UInt16Array
+     * Method:    getUnsignedValue
+     * Signature: (JI)C
+     */
+    JNIEXPORT jchar JNICALL Java_com_github_novelrt_fumocement_builtin_UInt16Array_getUnsignedValue(JNIEnv*,
+                                                                                                    jclass,
+                                                                                                    jlong handle,
+                                                                                                    jint index)
+    {
+        return static_cast<jchar>(FumoCement::toNativePointer<std::uint16_t>(handle)[index]);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UInt16Array
+     * Method:    setUnsignedValue
+     * Signature: (JIC)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_UInt16Array_setUnsignedValue(JNIEnv*,
+                                                                                                   jclass,
+                                                                                                   jlong handle,
+                                                                                                   jint index,
+                                                                                                   jchar value)
+    {
+        FumoCement::toNativePointer<std::uint16_t>(handle)[index] = static_cast<std::uint16_t>(value);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UInt16Array
+     * Method:    copyFrom
+     * Signature: (JI[CII)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_UInt16Array_copyFrom(JNIEnv* env,
+                                                                                           jclass,
+                                                                                           jlong handle,
+                                                                                           jint index,
+                                                                                           jcharArray source,
+                                                                                           jint offset,
+                                                                                           jint length)
+    {
+        auto* first = FumoCement::toNativePointer<std::uint16_t>(handle) + index;
+        FumoCement::copyFromJavaArray(env, first, source, offset, length);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UInt16Array
+     * Method:    copyTo
+     * Signature: (JI[CII)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_UInt16Array_copyTo(JNIEnv* env,
+                                                                                         jclass,
+                                                                                         jlong handle,
+                                                                                         jint index,
+                                                                                         jcharArray destination,
+                                                                                         jint offset,
+                                                                                         jint length)
+    {
+        const auto* first = FumoCement::toNativePointer<std::uint16_t>(handle) + index;
+        FumoCement::copyToJavaArray(env, first, destination, offset, length);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UInt16Array
+     * Method:    fill
+     * Signature: (JIIC)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_UInt16Array_fill(JNIEnv*,
+                                                                                       jclass,
+                                                                                       jlong handle,
+                                                                                       jint index,
+                                                                                       jint length,
+                                                                                       jchar value)
+    {
+        auto* first = FumoCement::toNativePointer<std::uint16_t>(handle) + index;
+        std::fill(first, first + length, static_cast<std::uint16_t>(value));
+    }
+#pragma endregion
+
+#pragma region UInt32Array
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UInt32Array
+     * Method:    allocateArray
+     * Signature: (I)J
+     */
+    JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_builtin_UInt32Array_allocateArray(JNIEnv*,
+                                                                                                 jclass,
+                                                                                                 jint length)
+    {
+        return FumoCement::toJavaPointer(new std::uint32_t[length]());
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UInt32Array
+     * Method:    destroyArray
+     * Signature: (J)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_UInt32Array_destroyArray(JNIEnv*,
+                                                                                               jclass,
+                                                                                               jlong handle)
+    {
+        delete[] FumoCement::toNativePointer<std::uint32_t>(handle);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UInt32Array
+     * Method:    getUnsignedValue
+     * Signature: (JI)I
+     */
+    JNIEXPORT jint JNICALL Java_com_github_novelrt_fumocement_builtin_UInt32Array_getUnsignedValue(JNIEnv*,
+                                                                                                   jclass,
+                                                                                                   jlong handle,
+                                                                                                   jint index)
+    {
+        return static_cast<jint>(FumoCement::toNativePointer<std::uint32_t>(handle)[index]);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UInt32Array
+     * Method:    setUnsignedValue
+     * Signature: (JII)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_UInt32Array_setUnsignedValue(JNIEnv*,
+                                                                                                   jclass,
+                                                                                                   jlong handle,
+                                                                                                   jint index,
+                                                                                                   jint value)
+    {
+        FumoCement::toNativePointer<std::uint32_t>(handle)[index] = static_cast<std::uint32_t>(value);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UInt32Array
+     * Method:    copyFrom
+     * Signature: (JI[III)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_UInt32Array_copyFrom(JNIEnv* env,
+                                                                                           jclass,
+                                                                                           jlong handle,
+                                                                                           jint index,
+                                                                                           jintArray source,
+                                                                                           jint offset,
+                                                                                           jint length)
+    {
+        auto* first = FumoCement::toNativePointer<std::uint32_t>(handle) + index;
+        FumoCement::copyFromJavaArray(env, first, source, offset, length);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UInt32Array
+     * Method:    copyTo
+     * Signature: (JI[III)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_UInt32Array_copyTo(JNIEnv* env,
+                                                                                         jclass,
+                                                                                         jlong handle,
+                                                                                         jint index,
+                                                                                         jintArray destination,
+                                                                                         jint offset,
+                                                                                         jint length)
+    {
+        const auto* first = FumoCement::toNativePointer<std::uint32_t>(handle) + index;
+        FumoCement::copyToJavaArray(env, first, destination, offset, length);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UInt32Array
+     * Method:    fill
+     * Signature: (JIII)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_UInt32Array_fill(JNIEnv*,
+                                                                                       jclass,
+                                                                                       jlong handle,
+                                                                                       jint index,
+                                                                                       jint length,
+                                                                                       jint value)
+    {
+        auto* first = FumoCement::toNativePointer<std::uint32_t>(handle) + index;
+        std::fill(first, first + length, static_cast<std::uint32_t>(value));
+    }
+#pragma endregion
+
+#pragma region UInt64Array
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UInt64Array
+     * Method:    allocateArray
+     * Signature: (I)J
+     */
+    JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_builtin_UInt64Array_allocateArray(JNIEnv*,
+                                                                                                 jclass,
+                                                                                                 jint length)
+    {
+        return FumoCement::toJavaPointer(new std::uint64_t[length]());
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UInt64Array
+     * Method:    destroyArray
+     * Signature: (J)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_UInt64Array_destroyArray(JNIEnv*,
+                                                                                               jclass,
+                                                                                               jlong handle)
+    {
+        delete[] FumoCement::toNativePointer<std::uint64_t>(handle);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UInt64Array
+     * Method:    getUnsignedValue
+     * Signature: (JI)J
+     */
+    JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_builtin_UInt64Array_getUnsignedValue(JNIEnv*,
+                                                                                                    jclass,
+                                                                                                    jlong handle,
+                                                                                                    jint index)
+    {
+        return static_cast<jlong>(FumoCement::toNativePointer<std::uint64_t>(handle)[index]);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UInt64Array
+     * Method:    setUnsignedValue
+     * Signature: (JIJ)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_UInt64Array_setUnsignedValue(JNIEnv*,
+                                                                                                   jclass,
+                                                                                                   jlong handle,
+                                                                                                   jint index,
+                                                                                                   jlong value)
+    {
+        FumoCement::toNativePointer<std::uint64_t>(handle)[index] = static_cast<std::uint64_t>(value);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UInt64Array
+     * Method:    copyFrom
+     * Signature: (JI[JII)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_UInt64Array_copyFrom(JNIEnv* env,
+                                                                                           jclass,
+                                                                                           jlong handle,
+                                                                                           jint index,
+                                                                                           jlongArray source,
+                                                                                           jint offset,
+                                                                                           jint length)
+    {
+        auto* first = FumoCement::toNativePointer<std::uint64_t>(handle) + index;
+        FumoCement::copyFromJavaArray(env, first, source, offset, length);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UInt64Array
+     * Method:    copyTo
+     * Signature: (JI[JII)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_UInt64Array_copyTo(JNIEnv* env,
+                                                                                         jclass,
+                                                                                         jlong handle,
+                                                                                         jint index,
+                                                                                         jlongArray destination,
+                                                                                         jint offset,
+                                                                                         jint length)
+    {
+        const auto* first = FumoCement::toNativePointer<std::uint64_t>(handle) + index;
+        FumoCement::copyToJavaArray(env, first, destination, offset, length);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_UInt64Array
+     * Method:    fill
+     * Signature: (JIIJ)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_UInt64Array_fill(JNIEnv*,
+                                                                                       jclass,
+                                                                                       jlong handle,
+                                                                                       jint index,
+                                                                                       jint length,
+                                                                                       jlong value)
+    {
+        auto* first = FumoCement::toNativePointer<std::uint64_t>(handle) + index;
+        std::fill(first, first + length, static_cast<std::uint64_t>(value));
+    }
+#pragma endregion
+
+#pragma region FloatArray
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_FloatArray
+     * Method:    allocateArray
+     * Signature: (I)J
+     */
+    JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_builtin_FloatArray_allocateArray(JNIEnv*,
+                                                                                                jclass,
+                                                                                                jint length)
+    {
+        return FumoCement::toJavaPointer(new float[length]());
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_FloatArray
+     * Method:    destroyArray
+     * Signature: (J)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_FloatArray_destroyArray(JNIEnv*,
+                                                                                              jclass,
+                                                                                              jlong handle)
+    {
+        delete[] FumoCement::toNativePointer<float>(handle);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_FloatArray
+     * Method:    getValue
+     * Signature: (JI)F
+     */
+    JNIEXPORT jfloat JNICALL Java_com_github_novelrt_fumocement_builtin_FloatArray_getValue(JNIEnv*,
+                                                                                            jclass,
+                                                                                            jlong handle,
+                                                                                            jint index)
+    {
+        return static_cast<jfloat>(FumoCement::toNativePointer<float>(handle)[index]);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_FloatArray
+     * Method:    setValue
+     * Signature: (JIF)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_FloatArray_setValue(JNIEnv*,
+                                                                                          jclass,
+                                                                                          jlong handle,
+                                                                                          jint index,
+                                                                                          jfloat value)
+    {
+        FumoCement::toNativePointer<float>(handle)[index] = static_cast<float>(value);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_FloatArray
+     * Method:    copyFrom
+     * Signature: (JI[FII)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_FloatArray_copyFrom(JNIEnv* env,
+                                                                                          jclass,
+                                                                                          jlong handle,
+                                                                                          jint index,
+                                                                                          jfloatArray source,
+                                                                                          jint offset,
+                                                                                          jint length)
+    {
+        auto* first = FumoCement::toNativePointer<float>(handle) + index;
+        FumoCement::copyFromJavaArray(env, first, source, offset, length);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_FloatArray
+     * Method:    copyTo
+     * Signature: (JI[FII)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_FloatArray_copyTo(JNIEnv* env,
+                                                                                        jclass,
+                                                                                        jlong handle,
+                                                                                        jint index,
+                                                                                        jfloatArray destination,
+                                                                                        jint offset,
+                                                                                        jint length)
+    {
+        const auto* first = FumoCement::toNativePointer<float>(handle) + index;
+        FumoCement::copyToJavaArray(env, first, destination, offset, length);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_FloatArray
+     * Method:    fill
+     * Signature: (JIIF)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_FloatArray_fill(JNIEnv*,
+                                                                                      jclass,
+                                                                                      jlong handle,
+                                                                                      jint index,
+                                                                                      jint length,
+                                                                                      jfloat value)
+    {
+        auto* first = FumoCement::toNativePointer<float>(handle) + index;
+        std::fill(first, first + length, static_cast<float>(value));
+    }
+#pragma endregion
+
+#pragma region DoubleArray
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_DoubleArray
+     * Method:    allocateArray
+     * Signature: (I)J
+     */
+    JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_builtin_DoubleArray_allocateArray(JNIEnv*,
+                                                                                                 jclass,
+                                                                                                 jint length)
+    {
+        return FumoCement::toJavaPointer(new double[length]());
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_DoubleArray
+     * Method:    destroyArray
+     * Signature: (J)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_DoubleArray_destroyArray(JNIEnv*,
+                                                                                               jclass,
+                                                                                               jlong handle)
+    {
+        delete[] FumoCement::toNativePointer<double>(handle);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_DoubleArray
+     * Method:    getValue
+     * Signature: (JI)D
+     */
+    JNIEXPORT jdouble JNICALL Java_com_github_novelrt_fumocement_builtin_DoubleArray_getValue(JNIEnv*,
+                                                                                              jclass,
+                                                                                              jlong handle,
+                                                                                              jint index)
+    {
+        return static_cast<jdouble>(FumoCement::toNativePointer<double>(handle)[index]);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_DoubleArray
+     * Method:    setValue
+     * Signature: (JID)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_DoubleArray_setValue(JNIEnv*,
+                                                                                           jclass,
+                                                                                           jlong handle,
+                                                                                           jint index,
+                                                                                           jdouble value)
+    {
+        FumoCement::toNativePointer<double>(handle)[index] = static_cast<double>(value);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_DoubleArray
+     * Method:    copyFrom
+     * Signature: (JI[DII)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_DoubleArray_copyFrom(JNIEnv* env,
+                                                                                           jclass,
+                                                                                           jlong handle,
+                                                                                           jint index,
+                                                                                           jdoubleArray source,
+                                                                                           jint offset,
+                                                                                           jint length)
+    {
+        auto* first = FumoCement::toNativePointer<double>(handle) + index;
+        FumoCement::copyFromJavaArray(env, first, source, offset, length);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_DoubleArray
+     * Method:    copyTo
+     * Signature: (JI[DII)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_DoubleArray_copyTo(JNIEnv* env,
+                                                                                         jclass,
+                                                                                         jlong handle,
+                                                                                         jint index,
+                                                                                         jdoubleArray destination,
+                                                                                         jint offset,
+                                                                                         jint length)
+    {
+        const auto* first = FumoCement::toNativePointer<double>(handle) + index;
+        FumoCement::copyToJavaArray(env, first, destination, offset, length);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_DoubleArray
+     * Method:    fill
+     * Signature: (JIID)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_DoubleArray_fill(JNIEnv*,
+                                                                                       jclass,
+                                                                                       jlong handle,
+                                                                                       jint index,
+                                                                                       jint length,
+                                                                                       jdouble value)
+    {
+        auto* first = FumoCement::toNativePointer<double>(handle) + index;
+        std::fill(first, first + length, static_cast<double>(value));
+    }
+#pragma endregion
+
+#pragma region SlabAllocator
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_SlabAllocator
+     * Method:    allocateSlab
+     * Signature: (J)J
+     */
+    JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_builtin_SlabAllocator_allocateSlab(JNIEnv*,
+                                                                                                  jclass,
+                                                                                                  jlong size)
+    {
+        return FumoCement::toJavaPointer(FumoCement::allocateBlock(size));
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_SlabAllocator
+     * Method:    destroySlabs
+     * Signature: ([JI)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_SlabAllocator_destroySlabs(JNIEnv* env,
+                                                                                                 jclass,
+                                                                                                 jlongArray slabs,
+                                                                                                 jint count)
+    {
+        FumoCement::destroyBlocks(env, slabs, count);
+    }
+#pragma endregion
+
+#pragma region NativeArena
+    /*
+     * Class:     com_github_novelrt_fumocement_NativeArena
+     * Method:    allocateChunk
+     * Signature: (J)J
+     */
+    JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_NativeArena_allocateChunk(JNIEnv*, jclass, jlong size)
+    {
+        return FumoCement::toJavaPointer(FumoCement::allocateBlock(size));
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_NativeArena
+     * Method:    destroyChunks
+     * Signature: ([JI)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_NativeArena_destroyChunks(JNIEnv* env,
+                                                                                        jclass,
+                                                                                        jlongArray chunks,
+                                                                                        jint count)
+    {
+        FumoCement::destroyBlocks(env, chunks, count);
+    }
+#pragma endregion
+
+#pragma region NativeMetrics
+    /*
+     * Class:     com_github_novelrt_fumocement_NativeMetrics
+     * Method:    getBuiltinNativeBytes
+     * Signature: ()J
+     */
+    JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_NativeMetrics_getBuiltinNativeBytes(JNIEnv*, jclass)
+    {
+        return FumoCement::builtinNativeBytes.load(std::memory_order_relaxed);
+    }
+#pragma endregion
+
+#pragma region IndirectedPointer
+    /*
+     * Class:     com_github_novelrt_fumocement_IndirectedPointer
+     * Method:    getNativeUnderlyingHandle
+     * Signature: (J)J
+     */
+    JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_IndirectedPointer_getNativeUnderlyingHandle(JNIEnv*,
+                                                                                                           jclass,
+                                                                                                           jlong handle)
+    {
+        return FumoCement::toJavaPointer(*FumoCement::toNativePointer<void*>(handle));
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_IndirectedPointer
+     * Method:    setNativeUnderlyingHandle
+     * Signature: (JJ)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_IndirectedPointer_setNativeUnderlyingHandle(JNIEnv*,
+                                                                                                          jclass,
+                                                                                                          jlong handle,
+                                                                                                          jlong value)
+    {
+        *FumoCement::toNativePointer<void*>(handle) = FumoCement::toNativePointer<void>(value);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_IndirectedPointer
+     * Method:    createPointer
+     * Signature: ()J
+     */
+    JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_IndirectedPointer_createPointer(JNIEnv*, jclass)
+    {
+        return FumoCement::toJavaPointer(new void*);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_IndirectedPointer
+     * Method:    destroyPointer
+     * Signature: (J)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_IndirectedPointer_destroyPointer(JNIEnv*,
+                                                                                               jclass,
+                                                                                               jlong handle)
+    {
+        delete FumoCement::toNativePointer<void*>(handle);
+    }
+#pragma endregion
+
+#pragma region FunctionPointer
+    /*
+     * Class:     com_github_novelrt_fumocement_FunctionPointer
+     * Method:    createPointerContext
+     * Signature: (Ljava/lang/Object;)J
+     */
+    JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_FunctionPointer_createPointerContext(JNIEnv* env,
+                                                                                                    jclass,
+                                                                                                    jobject obj)
+    {
+        return toJavaPointer(
+            new FumoCement::FunctionPointerContext{FumoCement::getJavaVM(env), env->NewGlobalRef(obj)});
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_FunctionPointer
      * Method:    destroyPointerContext
      * Signature: (J)V
      */
@@ -895,6 +2417,54 @@ extern "C"
     }
 #pragma endregion
 
+#pragma region NativeEventChannel
+    /*
+     * Class:     com_github_novelrt_fumocement_NativeEventChannel
+     * Method:    createChannel
+     * Signature: (IIZ)J
+     */
+    JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_NativeEventChannel_createChannel(JNIEnv*,
+                                                                                               jclass,
+                                                                                               jint recordSize,
+                                                                                               jint capacity,
+                                                                                               jboolean waitWhenFull)
+    {
+        // Slots hold their sequence number, followed by the record padded to keep the next sequence aligned.
+        const std::size_t slotSize = sizeof(std::uint64_t) + (static_cast<std::size_t>(recordSize) + 7) / 8 * 8;
+        void* memory = ::operator new(sizeof(FumoCement::EventChannel) + slotSize * capacity,
+                                      std::align_val_t{alignof(FumoCement::EventChannel)}, std::nothrow);
+        if (memory == nullptr)
+        {
+            return 0;
+        }
+
+        auto* channel = new (memory) FumoCement::EventChannel{};
+        channel->recordSize = static_cast<std::uint32_t>(recordSize);
+        channel->slotSize = static_cast<std::uint32_t>(slotSize);
+        channel->capacity = static_cast<std::uint32_t>(capacity);
+        channel->waitWhenFull = waitWhenFull ? 1 : 0;
+        for (jint i = 0; i < capacity; i++)
+        {
+            new (channel->getSlot(i)) std::atomic<std::uint64_t>(static_cast<std::uint64_t>(i));
+        }
+        return FumoCement::toJavaPointer(channel);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_NativeEventChannel
+     * Method:    destroyChannel
+     * Signature: (J)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_NativeEventChannel_destroyChannel(JNIEnv*,
+                                                                                                jclass,
+                                                                                                jlong handle)
+    {
+        auto* channel = FumoCement::toNativePointer<FumoCement::EventChannel>(handle);
+        channel->~EventChannel();
+        ::operator delete(channel, std::align_val_t{alignof(FumoCement::EventChannel)});
+    }
+#pragma endregion
+
 #pragma region Pointers
     /*
      * Class:     com_github_novelrt_fumocement_Pointers
@@ -909,14 +2479,419 @@ extern "C"
 
     /*
      * Class:     com_github_novelrt_fumocement_Pointers
-     * Method:    getByteBufferLocation
+     * Method:    getByteBufferLocationRaw
      * Signature: (Ljava/nio/ByteBuffer;)J
      */
-    JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_Pointers_getByteBufferLocation(JNIEnv* env, jclass, jobject buffer)
+    JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_Pointers_getByteBufferLocationRaw(JNIEnv* env,
+                                                                                               jclass,
+                                                                                               jobject buffer)
     {
         return FumoCement::toJavaPointer(env->GetDirectBufferAddress(buffer));
     }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_Pointers
+     * Method:    newDirectByteBuffer
+     * Signature: (JJ)Ljava/nio/ByteBuffer;
+     */
+    JNIEXPORT jobject JNICALL Java_com_github_novelrt_fumocement_Pointers_newDirectByteBuffer(JNIEnv* env,
+                                                                                            jclass,
+                                                                                            jlong pointer,
+                                                                                            jlong capacity)
+    {
+        return env->NewDirectByteBuffer(FumoCement::toNativePointer<void>(pointer), capacity);
+    }
+#pragma endregion
+
+#pragma region NativeStrings
+    /*
+     * Class:     com_github_novelrt_fumocement_NativeStrings
+     * Method:    deleteString
+     * Signature: (J)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_NativeStrings_deleteString(JNIEnv*, jclass, jlong string)
+    {
+        delete[] FumoCement::toNativePointer<char>(string);
+    }
+#pragma endregion
+
+#pragma region NativeStringArray
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_NativeStringArray
+     * Method:    allocateArray
+     * Signature: ([BI[II)J
+     */
+    JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_builtin_NativeStringArray_allocateArray(JNIEnv* env,
+                                                                                                     jclass,
+                                                                                                     jbyteArray data,
+                                                                                                     jint dataLength,
+                                                                                                     jintArray offsets,
+                                                                                                     jint count)
+    {
+        // The pointer table, ending with a null pointer, is followed by the strings in the same block.
+        const std::size_t tableLength = static_cast<std::size_t>(count) + 1;
+        const std::size_t dataSlots = (static_cast<std::size_t>(dataLength) + sizeof(const char*) - 1) /
+                                      sizeof(const char*);
+        auto** table = new (std::nothrow) const char*[tableLength + dataSlots];
+        if (table == nullptr)
+        {
+            return 0;
+        }
+
+        auto* strings = reinterpret_cast<char*>(table + tableLength);
+        env->GetByteArrayRegion(data, 0, dataLength, reinterpret_cast<jbyte*>(strings));
+        std::vector<jint> stringOffsets(count);
+        env->GetIntArrayRegion(offsets, 0, count, stringOffsets.data());
+        for (jint i = 0; i < count; i++)
+        {
+            table[i] = strings + stringOffsets[i];
+        }
+        table[count] = nullptr;
+        return FumoCement::toJavaPointer(table);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_builtin_NativeStringArray
+     * Method:    destroyArray
+     * Signature: (J)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_builtin_NativeStringArray_destroyArray(JNIEnv*,
+                                                                                                    jclass,
+                                                                                                    jlong handle)
+    {
+        delete[] FumoCement::toNativePointer<const char*>(handle);
+    }
+#pragma endregion
+
+#pragma region NativeStringTable
+    /*
+     * Class:     com_github_novelrt_fumocement_NativeStringTable
+     * Method:    newString
+     * Signature: ([B)J
+     */
+    JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_NativeStringTable_newString(JNIEnv* env,
+                                                                                        jclass,
+                                                                                        jbyteArray bytes)
+    {
+        const jsize length = env->GetArrayLength(bytes);
+        char* string = new (std::nothrow) char[static_cast<std::size_t>(length) + 1];
+        if (string != nullptr)
+        {
+            env->GetByteArrayRegion(bytes, 0, length, reinterpret_cast<jbyte*>(string));
+            string[length] = '\0';
+        }
+        return FumoCement::toJavaPointer(string);
+    }
+
+    /*
+     * Class:     com_github_novelrt_fumocement_NativeStringTable
+     * Method:    deleteStrings
+     * Signature: ([JI)V
+     */
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_NativeStringTable_deleteStrings(JNIEnv* env,
+                                                                                           jclass,
+                                                                                           jlongArray strings,
+                                                                                           jint count)
+    {
+        std::vector<jlong> handles(count);
+        env->GetLongArrayRegion(strings, 0, count, handles.data());
+        for (const jlong handle : handles)
+        {
+            delete[] FumoCement::toNativePointer<char>(handle);
+        }
+    }
+#pragma endregion
+
+#pragma region ForeignBackend
+    // Plain C functions called using downcalls by the foreign backend (see NativeBackend.FOREIGN).
+    // Memory allocated by FumoCement_allocate can be deleted using the delete expression of any builtin type,
+    // and FumoCement_free can delete any builtin type allocated using a new expression.
+
+    JNIEXPORT jlong FumoCement_allocate(jlong size) noexcept
+    {
+        return FumoCement::toJavaPointer(::operator new(static_cast<std::size_t>(size), std::nothrow));
+    }
+
+    JNIEXPORT void FumoCement_free(jlong handle) noexcept
+    {
+        ::operator delete(FumoCement::toNativePointer<void>(handle));
+    }
 #pragma endregion
 }
 
+namespace FumoCement
+{
+    /**
+     * Eager linking
+     */
+
+    // Finds the FumoCement classes using their class loader, without initializing them. JNI's FindClass initializes
+    // the classes it finds, which would run static initializers calling native methods that cannot be linked yet
+    // during JNI_OnLoad.
+    class ClassFinder
+    {
+    public:
+        explicit ClassFinder(JNIEnv* env) noexcept : env(env)
+        {
+            // NativeLibraryLoader has no native methods, so initializing it is harmless.
+            const jclass anchor = env->FindClass("com/github/novelrt/fumocement/NativeLibraryLoader");
+            const jclass classClass = env->FindClass("java/lang/Class");
+            const jclass classLoaderClass = env->FindClass("java/lang/ClassLoader");
+            if (anchor != nullptr && classClass != nullptr && classLoaderClass != nullptr)
+            {
+                const jmethodID getClassLoader =
+                    env->GetMethodID(classClass, "getClassLoader", "()Ljava/lang/ClassLoader;");
+                loadClass = env->GetMethodID(classLoaderClass, "loadClass", "(Ljava/lang/String;)Ljava/lang/Class;");
+                if (getClassLoader != nullptr && loadClass != nullptr)
+                {
+                    loader = env->CallObjectMethod(anchor, getClassLoader);
+                }
+            }
+            if (env->ExceptionCheck())
+            {
+                env->ExceptionClear();
+            }
+            for (const jclass type : {anchor, classClass, classLoaderClass})
+            {
+                if (type != nullptr)
+                {
+                    env->DeleteLocalRef(type);
+                }
+            }
+        }
+
+        ClassFinder(const ClassFinder&) = delete;
+        ClassFinder& operator=(const ClassFinder&) = delete;
+
+        ~ClassFinder()
+        {
+            if (loader != nullptr)
+            {
+                env->DeleteLocalRef(loader);
+            }
+        }
+
+        // Finds a class using its binary name, such as java.lang.Object, and returns a local reference to it,
+        // or nullptr when it cannot be found.
+        jclass find(const char* binaryName) noexcept
+        {
+            if (loader == nullptr)
+            {
+                return nullptr;
+            }
+
+            const jstring name = env->NewStringUTF(binaryName);
+            if (name == nullptr)
+            {
+                env->ExceptionClear();
+                return nullptr;
+            }
+            const auto type = static_cast<jclass>(env->CallObjectMethod(loader, loadClass, name));
+            env->DeleteLocalRef(name);
+            if (env->ExceptionCheck())
+            {
+                env->ExceptionClear();
+                return nullptr;
+            }
+            return type;
+        }
+
+    private:
+        JNIEnv* env;
+        jmethodID loadClass = nullptr;
+        jobject loader = nullptr;
+    };
+
+    // Registers the given native methods of a class, which are then linked without looking up their symbols.
+    // Returns false when the class or one of its methods cannot be found, in which case its native methods
+    // keep being linked lazily by the JVM.
+    template<std::size_t Count>
+    bool registerClassNatives(JNIEnv* env,
+                              ClassFinder& finder,
+                              const char* className,
+                              const JNINativeMethod (&methods)[Count]) noexcept
+    {
+        const jclass type = finder.find(className);
+        if (type == nullptr)
+        {
+            return false;
+        }
+
+        const bool registered = env->RegisterNatives(type, methods, static_cast<jint>(Count)) == JNI_OK;
+        if (!registered)
+        {
+            env->ExceptionClear();
+        }
+        env->DeleteLocalRef(type);
+        return registered;
+    }
+
+#define FUMOCEMENT_NATIVE(Class, Name, Signature) \
+    JNINativeMethod \
+    { \
+        const_cast<char*>(#Name), const_cast<char*>(Signature), \
+            reinterpret_cast<void*>(&Java_com_github_novelrt_fumocement_##Class##_##Name) \
+    }
+
+#define FUMOCEMENT_POINTER_NATIVES(Class, Getter, Setter, Type) \
+    FUMOCEMENT_NATIVE(Class, allocatePointer, "()J"), FUMOCEMENT_NATIVE(Class, destroyPointer, "(J)V"), \
+        FUMOCEMENT_NATIVE(Class, destroyPointers, "([JI)V"), FUMOCEMENT_NATIVE(Class, Getter, "(J)" Type), \
+        FUMOCEMENT_NATIVE(Class, Setter, "(J" Type ")V")
+
+#define FUMOCEMENT_ARRAY_NATIVES(Class, Getter, Setter, Type) \
+    FUMOCEMENT_NATIVE(Class, allocateArray, "(I)J"), FUMOCEMENT_NATIVE(Class, destroyArray, "(J)V"), \
+        FUMOCEMENT_NATIVE(Class, Getter, "(JI)" Type), FUMOCEMENT_NATIVE(Class, Setter, "(JI" Type ")V"), \
+        FUMOCEMENT_NATIVE(Class, copyFrom, "(JI[" Type "II)V"), FUMOCEMENT_NATIVE(Class, copyTo, "(JI[" Type "II)V"), \
+        FUMOCEMENT_NATIVE(Class, fill, "(JII" Type ")V")
+
+#define FUMOCEMENT_REGISTER_NATIVES(ClassName, ...) \
+    { \
+        static const JNINativeMethod methods[] = {__VA_ARGS__}; \
+        failures += registerClassNatives(env, finder, ClassName, methods) ? 0 : 1; \
+    }
+
+    // Registers the native methods of all the FumoCement classes in one pass, usually in JNI_OnLoad, so that
+    // the JVM does not have to look up their symbols by name on their first call.
+    // Returns the amount of classes which could not be registered, and are linked lazily instead.
+    inline int registerNatives(JNIEnv* env) noexcept
+    {
+        ClassFinder finder(env);
+        int failures = 0;
+        FUMOCEMENT_REGISTER_NATIVES("com.github.novelrt.fumocement.builtin.CharPointer",
+                                    FUMOCEMENT_POINTER_NATIVES(builtin_CharPointer, getValue, setValue, "B"));
+        FUMOCEMENT_REGISTER_NATIVES("com.github.novelrt.fumocement.builtin.DoublePointer",
+                                    FUMOCEMENT_POINTER_NATIVES(builtin_DoublePointer, getValue, setValue, "D"));
+        FUMOCEMENT_REGISTER_NATIVES("com.github.novelrt.fumocement.builtin.FloatPointer",
+                                    FUMOCEMENT_POINTER_NATIVES(builtin_FloatPointer, getValue, setValue, "F"));
+        FUMOCEMENT_REGISTER_NATIVES("com.github.novelrt.fumocement.builtin.Int8Pointer",
+                                    FUMOCEMENT_POINTER_NATIVES(builtin_Int8Pointer, getValue, setValue, "B"));
+        FUMOCEMENT_REGISTER_NATIVES("com.github.novelrt.fumocement.builtin.Int16Pointer",
+                                    FUMOCEMENT_POINTER_NATIVES(builtin_Int16Pointer, getValue, setValue, "S"));
+        FUMOCEMENT_REGISTER_NATIVES("com.github.novelrt.fumocement.builtin.Int32Pointer",
+                                    FUMOCEMENT_POINTER_NATIVES(builtin_Int32Pointer, getValue, setValue, "I"));
+        FUMOCEMENT_REGISTER_NATIVES("com.github.novelrt.fumocement.builtin.Int64Pointer",
+                                    FUMOCEMENT_POINTER_NATIVES(builtin_Int64Pointer, getValue, setValue, "J"));
+        FUMOCEMENT_REGISTER_NATIVES("com.github.novelrt.fumocement.builtin.UInt8Pointer",
+                                    FUMOCEMENT_POINTER_NATIVES(builtin_UInt8Pointer,
+                                                             getUnsignedValue, setUnsignedValue, "B"));
+        FUMOCEMENT_REGISTER_NATIVES("com.github.novelrt.fumocement.builtin.UInt16Pointer",
+                                    FUMOCEMENT_POINTER_NATIVES(builtin_UInt16Pointer,
+                                                             getUnsignedValue, setUnsignedValue, "C"));
+        FUMOCEMENT_REGISTER_NATIVES("com.github.novelrt.fumocement.builtin.UInt32Pointer",
+                                    FUMOCEMENT_POINTER_NATIVES(builtin_UInt32Pointer,
+                                                             getUnsignedValue, setUnsignedValue, "I"));
+        FUMOCEMENT_REGISTER_NATIVES("com.github.novelrt.fumocement.builtin.UInt64Pointer",
+                                    FUMOCEMENT_POINTER_NATIVES(builtin_UInt64Pointer,
+                                                             getUnsignedValue, setUnsignedValue, "J"));
+        FUMOCEMENT_REGISTER_NATIVES("com.github.novelrt.fumocement.builtin.UIntPtrPointer",
+                                    FUMOCEMENT_POINTER_NATIVES(builtin_UIntPtrPointer, getValue, setValue, "J"));
+        FUMOCEMENT_REGISTER_NATIVES("com.github.novelrt.fumocement.builtin.Int8Array",
+                                    FUMOCEMENT_ARRAY_NATIVES(builtin_Int8Array, getValue, setValue, "B"));
+        FUMOCEMENT_REGISTER_NATIVES("com.github.novelrt.fumocement.builtin.Int16Array",
+                                    FUMOCEMENT_ARRAY_NATIVES(builtin_Int16Array, getValue, setValue, "S"));
+        FUMOCEMENT_REGISTER_NATIVES("com.github.novelrt.fumocement.builtin.Int32Array",
+                                    FUMOCEMENT_ARRAY_NATIVES(builtin_Int32Array, getValue, setValue, "I"));
+        FUMOCEMENT_REGISTER_NATIVES("com.github.novelrt.fumocement.builtin.Int64Array",
+                                    FUMOCEMENT_ARRAY_NATIVES(builtin_Int64Array, getValue, setValue, "J"));
+        FUMOCEMENT_REGISTER_NATIVES("com.github.novelrt.fumocement.builtin.UInt8Array",
+                                    FUMOCEMENT_ARRAY_NATIVES(builtin_UInt8Array,
+                                                             getUnsignedValue, setUnsignedValue, "B"));
+        FUMOCEMENT_REGISTER_NATIVES("com.github.novelrt.fumocement.builtin.UInt16Array",
+                                    FUMOCEMENT_ARRAY_NATIVES(builtin_UInt16Array,
+                                                             getUnsignedValue, setUnsignedValue, "C"));
+        FUMOCEMENT_REGISTER_NATIVES("com.github.novelrt.fumocement.builtin.UInt32Array",
+                                    FUMOCEMENT_ARRAY_NATIVES(builtin_UInt32Array,
+                                                             getUnsignedValue, setUnsignedValue, "I"));
+        FUMOCEMENT_REGISTER_NATIVES("com.github.novelrt.fumocement.builtin.UInt64Array",
+                                    FUMOCEMENT_ARRAY_NATIVES(builtin_UInt64Array,
+                                                             getUnsignedValue, setUnsignedValue, "J"));
+        FUMOCEMENT_REGISTER_NATIVES("com.github.novelrt.fumocement.builtin.FloatArray",
+                                    FUMOCEMENT_ARRAY_NATIVES(builtin_FloatArray, getValue, setValue, "F"));
+        FUMOCEMENT_REGISTER_NATIVES("com.github.novelrt.fumocement.builtin.DoubleArray",
+                                    FUMOCEMENT_ARRAY_NATIVES(builtin_DoubleArray, getValue, setValue, "D"));
+        FUMOCEMENT_REGISTER_NATIVES("com.github.novelrt.fumocement.builtin.SlabAllocator",
+                                    FUMOCEMENT_NATIVE(builtin_SlabAllocator, allocateSlab, "(J)J"),
+                                    FUMOCEMENT_NATIVE(builtin_SlabAllocator, destroySlabs, "([JI)V"));
+        FUMOCEMENT_REGISTER_NATIVES("com.github.novelrt.fumocement.NativeArena",
+                                    FUMOCEMENT_NATIVE(NativeArena, allocateChunk, "(J)J"),
+                                    FUMOCEMENT_NATIVE(NativeArena, destroyChunks, "([JI)V"));
+        FUMOCEMENT_REGISTER_NATIVES("com.github.novelrt.fumocement.NativeMetrics",
+                                    FUMOCEMENT_NATIVE(NativeMetrics, getBuiltinNativeBytes, "()J"));
+        FUMOCEMENT_REGISTER_NATIVES("com.github.novelrt.fumocement.IndirectedPointer",
+                                    FUMOCEMENT_NATIVE(IndirectedPointer, getNativeUnderlyingHandle, "(J)J"),
+                                    FUMOCEMENT_NATIVE(IndirectedPointer, setNativeUnderlyingHandle, "(JJ)V"),
+                                    FUMOCEMENT_NATIVE(IndirectedPointer, createPointer, "()J"),
+                                    FUMOCEMENT_NATIVE(IndirectedPointer, destroyPointer, "(J)V"));
+        FUMOCEMENT_REGISTER_NATIVES("com.github.novelrt.fumocement.FunctionPointer",
+                                    FUMOCEMENT_NATIVE(FunctionPointer, createPointerContext, "(Ljava/lang/Object;)J"),
+                                    FUMOCEMENT_NATIVE(FunctionPointer, destroyPointerContext, "(J)V"));
+        FUMOCEMENT_REGISTER_NATIVES("com.github.novelrt.fumocement.Pointers",
+                                    FUMOCEMENT_NATIVE(Pointers, getNativeLongSize, "()I"),
+                                    FUMOCEMENT_NATIVE(Pointers, getByteBufferLocationRaw, "(Ljava/nio/ByteBuffer;)J"),
+                                    FUMOCEMENT_NATIVE(Pointers, newDirectByteBuffer, "(JJ)Ljava/nio/ByteBuffer;"));
+        FUMOCEMENT_REGISTER_NATIVES("com.github.novelrt.fumocement.NativeStrings",
+                                    FUMOCEMENT_NATIVE(NativeStrings, deleteString, "(J)V"));
+        FUMOCEMENT_REGISTER_NATIVES("com.github.novelrt.fumocement.builtin.NativeStringArray",
+                                    FUMOCEMENT_NATIVE(builtin_NativeStringArray, allocateArray, "([BI[II)J"),
+                                    FUMOCEMENT_NATIVE(builtin_NativeStringArray, destroyArray, "(J)V"));
+        FUMOCEMENT_REGISTER_NATIVES("com.github.novelrt.fumocement.NativeEventChannel",
+                                    FUMOCEMENT_NATIVE(NativeEventChannel, createChannel, "(IIZ)J"),
+                                    FUMOCEMENT_NATIVE(NativeEventChannel, destroyChannel, "(J)V"));
+        FUMOCEMENT_REGISTER_NATIVES("com.github.novelrt.fumocement.NativeStringTable",
+                                    FUMOCEMENT_NATIVE(NativeStringTable, newString, "([B)J"),
+                                    FUMOCEMENT_NATIVE(NativeStringTable, deleteStrings, "([JI)V"));
+        return failures;
+    }
+
+#undef FUMOCEMENT_REGISTER_NATIVES
+#undef FUMOCEMENT_ARRAY_NATIVES
+#undef FUMOCEMENT_POINTER_NATIVES
+#undef FUMOCEMENT_NATIVE
+
+    /**
+     * Cache prewarming
+     */
+
+    // Entries of prewarm, filling the cache of the corresponding getCached* function.
+    template<typename Class> struct CachedClass
+    {
+        static void prewarm(JNIEnv* env) noexcept
+        {
+            getCachedClass<Class>(env);
+        }
+    };
+
+    template<typename Class, typename FieldName, typename Signature> struct CachedField
+    {
+        static void prewarm(JNIEnv* env) noexcept
+        {
+            getCachedField<Class, FieldName, Signature>(env);
+        }
+    };
+
+    template<typename Class, typename MethodName, typename Signature> struct CachedMethod
+    {
+        static void prewarm(JNIEnv* env) noexcept
+        {
+            getCachedMethod<Class, MethodName, Signature>(env);
+        }
+    };
+
+    template<typename Class, typename MethodName, typename Signature> struct CachedStaticMethod
+    {
+        static void prewarm(JNIEnv* env) noexcept
+        {
+            getCachedStaticMethod<Class, MethodName, Signature>(env);
+        }
+    };
+
+    // Fills the given caches ahead of time, usually in JNI_OnLoad, so that the first calls using them
+    // do not have to look up their classes, fields and methods.
+    // For instance: prewarm<CachedClass<SomeClass>, CachedMethod<SomeClass, SomeName, SomeSignature>>(env);
+    template<typename... Entries> void prewarm(JNIEnv* env) noexcept
+    {
+        (Entries::prewarm(env), ...);
+    }
+} // namespace FumoCement
+
 #endif
@@ -0,0 +1,173 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+// The native side of the benchmarks calling back into Java. FumoCement.h defines JNI functions, so it must only be
+// included by a single source file of the library.
+#include "FumoCement.h"
+
+#include <condition_variable>
+#include <functional>
+#include <mutex>
+#include <thread>
+
+namespace
+{
+    // Gets the JNIEnv like FunctionPointerContext used to, using GetEnv on every call, for CallbackBenchmark.
+    JNIEnv* getEnvUncached(JavaVM* javaVm)
+    {
+        JNIEnv* env = nullptr;
+        const auto result = javaVm->GetEnv(reinterpret_cast<void**>(&env), JNI_VERSION_1_2);
+        if (result == JNI_EDETACHED)
+        {
+            javaVm->AttachCurrentThreadAsDaemon(reinterpret_cast<void**>(&env), nullptr);
+        }
+        return env;
+    }
+
+    // Calls the run method of the Runnable of the given context, as generated bindings would.
+    void invokeCallbacks(const FumoCement::FunctionPointerContext* context, jint count, bool cached)
+    {
+        JNIEnv* env = cached ? context->getEnv() : getEnvUncached(context->javaVm);
+        const jclass runnable = env->GetObjectClass(context->globalObjectRef);
+        const jmethodID run = env->GetMethodID(runnable, "run", "()V");
+        env->DeleteLocalRef(runnable);
+        for (jint i = 0; i < count; i++)
+        {
+            env = cached ? context->getEnv() : getEnvUncached(context->javaVm);
+            env->CallVoidMethod(context->globalObjectRef, run);
+            if (env->ExceptionCheck())
+            {
+                return;
+            }
+        }
+    }
+
+    // A native thread running tasks one at a time, like the worker threads of audio or physics engines.
+    class Worker
+    {
+    public:
+        Worker() : _thread([this] { loop(); })
+        {
+        }
+
+        Worker(const Worker&) = delete;
+        Worker& operator=(const Worker&) = delete;
+
+        ~Worker()
+        {
+            {
+                std::lock_guard<std::mutex> lock(_mutex);
+                _stopping = true;
+            }
+            _condition.notify_all();
+            _thread.join();
+        }
+
+        // Runs the task on the worker thread, and waits for it to complete.
+        void run(std::function<void()> task)
+        {
+            std::unique_lock<std::mutex> lock(_mutex);
+            _task = std::move(task);
+            _done = false;
+            _condition.notify_all();
+            _condition.wait(lock, [this] { return _done; });
+        }
+
+    private:
+        std::mutex _mutex;
+        std::condition_variable _condition;
+        std::function<void()> _task;
+        bool _done = false;
+        bool _stopping = false;
+        std::thread _thread; // Last, so that it starts once everything else is initialized.
+
+        void loop()
+        {
+            std::unique_lock<std::mutex> lock(_mutex);
+            while (true)
+            {
+                _condition.wait(lock, [this] { return _stopping || _task; });
+                if (_stopping)
+                {
+                    return;
+                }
+
+                auto task = std::move(_task);
+                _task = nullptr;
+                lock.unlock();
+                task();
+                lock.lock();
+                _done = true;
+                _condition.notify_all();
+            }
+        }
+    };
+} // namespace
+
+extern "C"
+{
+#pragma region CallbackBenchmark
+    // Calls FunctionPointer callbacks either from the calling Java thread or from a native worker thread.
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_benchmarks_CallbackBenchmark_invoke(JNIEnv*,
+                                                                                                 jclass,
+                                                                                                 jlong context,
+                                                                                                 jint count,
+                                                                                                 jboolean cached)
+    {
+        invokeCallbacks(FumoCement::toNativePointer<FumoCement::FunctionPointerContext>(context), count, cached);
+    }
+
+    JNIEXPORT jlong JNICALL Java_com_github_novelrt_fumocement_benchmarks_CallbackBenchmark_startWorker(JNIEnv* env,
+                                                                                                       jclass)
+    {
+        // Attach the worker using FumoCement first, so that it gets detached when it exits, even if it only
+        // runs uncached callbacks afterwards.
+        auto* worker = new Worker();
+        JavaVM* javaVm = FumoCement::getJavaVM(env);
+        worker->run([javaVm] { FumoCement::getCurrentThreadEnv(javaVm); });
+        return FumoCement::toJavaPointer(worker);
+    }
+
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_benchmarks_CallbackBenchmark_invokeOnWorker(
+        JNIEnv*, jclass, jlong worker, jlong context, jint count, jboolean cached)
+    {
+        const auto* functionPointerContext = FumoCement::toNativePointer<FumoCement::FunctionPointerContext>(context);
+        FumoCement::toNativePointer<Worker>(worker)->run(
+            [=]
+            {
+                invokeCallbacks(functionPointerContext, count, cached);
+                // Nothing can catch exceptions thrown on the worker thread.
+                JNIEnv* env = FumoCement::getCurrentThreadEnv(functionPointerContext->javaVm);
+                if (env->ExceptionCheck())
+                {
+                    env->ExceptionDescribe();
+                    env->ExceptionClear();
+                }
+            });
+    }
+
+    // Stopping the worker makes its thread exit, which detaches it when it has been attached by FumoCement.
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_benchmarks_CallbackBenchmark_stopWorker(JNIEnv*,
+                                                                                                      jclass,
+                                                                                                      jlong worker)
+    {
+        delete FumoCement::toNativePointer<Worker>(worker);
+    }
+#pragma endregion
+
+#pragma region EventChannelBenchmark
+    // Writes records into a NativeEventChannel, through the same callback a native library would be given.
+    JNIEXPORT void JNICALL Java_com_github_novelrt_fumocement_benchmarks_EventChannelBenchmark_write(JNIEnv*,
+                                                                                                    jclass,
+                                                                                                    jlong channel,
+                                                                                                    jint count)
+    {
+        void* context = FumoCement::toNativePointer<FumoCement::EventChannel>(channel);
+        void (*callback)(std::int32_t, std::int32_t, float, void*) =
+            &FumoCement::eventCallback<std::int32_t, std::int32_t, float>;
+        for (jint i = 0; i < count; i++)
+        {
+            callback(i, i + 1, 0.5f, context);
+        }
+    }
+#pragma endregion
+}
@@ -0,0 +1,64 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+// Compiles the glue functions of FumoCement.h into the FumoCement native library, bundled in the jar.
+// Libraries generating their own bindings include FumoCement.h themselves instead, and may call
+// FumoCement::registerNatives from their own JNI_OnLoad.
+#include "FumoCement.h"
+
+namespace
+{
+    // Reads the fumocement.registerNatives system property, through JNI as the library is being loaded.
+    bool shouldRegisterNatives(JNIEnv* env) noexcept
+    {
+        const jclass system = env->FindClass("java/lang/System");
+        if (system == nullptr)
+        {
+            env->ExceptionClear();
+            return false;
+        }
+
+        bool result = false;
+        const jmethodID getProperty =
+            env->GetStaticMethodID(system, "getProperty", "(Ljava/lang/String;)Ljava/lang/String;");
+        const jstring name = env->NewStringUTF("fumocement.registerNatives");
+        if (getProperty != nullptr && name != nullptr)
+        {
+            const auto value = static_cast<jstring>(env->CallStaticObjectMethod(system, getProperty, name));
+            if (!env->ExceptionCheck() && value != nullptr)
+            {
+                const char* chars = env->GetStringUTFChars(value, nullptr);
+                if (chars != nullptr)
+                {
+                    result = std::strcmp(chars, "true") == 0;
+                    env->ReleaseStringUTFChars(value, chars);
+                }
+                env->DeleteLocalRef(value);
+            }
+        }
+        env->ExceptionClear();
+        if (name != nullptr)
+        {
+            env->DeleteLocalRef(name);
+        }
+        env->DeleteLocalRef(system);
+        return result;
+    }
+} // namespace
+
+extern "C" JNIEXPORT jint JNICALL JNI_OnLoad(JavaVM* vm, void*)
+{
+    JNIEnv* env = nullptr;
+    if (vm->GetEnv(reinterpret_cast<void**>(&env), JNI_VERSION_1_8) != JNI_OK)
+    {
+        return JNI_ERR;
+    }
+
+    // Registering the natives loads every FumoCement class, which costs more than linking the natives of the few
+    // classes small applications use, so it is only done on request. Natives which cannot be registered are linked
+    // lazily, so failures do not prevent loading the library.
+    if (shouldRegisterNatives(env))
+    {
+        FumoCement::registerNatives(env);
+    }
+    return JNI_VERSION_1_8;
+}
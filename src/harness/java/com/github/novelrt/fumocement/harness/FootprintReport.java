@@ -0,0 +1,110 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement.harness;
+
+import com.github.novelrt.fumocement.DisposalMethod;
+import com.github.novelrt.fumocement.HandleDeleter;
+import com.github.novelrt.fumocement.NativeObject;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Reports the amount of heap bytes used by each {@link NativeObject} wrapper, for unowned objects, owned objects
+ * disposed manually, and owned objects disposed once garbage collected.
+ * <p>
+ * Each mode creates a given amount of wrappers, kept reachable, and reports two figures per wrapper: the bytes
+ * allocated by the creating thread, and the growth of the used heap once garbage collected, which only counts
+ * what the wrappers retain. Wrappers use fake handles and a deleter doing nothing, so no native memory is used.
+ * <p>
+ * <b>Arguments:</b>
+ * <ul>
+ *   <li>{@code --count 1000000}: the amount of wrappers created by each mode</li>
+ * </ul>
+ */
+public final class FootprintReport {
+    private static final HandleDeleter DELETER = handle -> {
+    };
+
+    private FootprintReport() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int count = 1_000_000;
+        for (int i = 0; i < args.length; i += 2) {
+            if (!args[i].equals("--count") || i + 1 == args.length) {
+                throw new IllegalArgumentException("Unknown argument " + args[i] + ".");
+            }
+            count = Integer.parseInt(args[i + 1]);
+        }
+
+        NativeObject[] wrappers = new NativeObject[count];
+        System.out.printf(Locale.ROOT, "%-16s %18s %18s%n", "Mode", "Allocated B/obj", "Retained B/obj");
+        for (Mode mode : Mode.values()) {
+            // The first pass loads and compiles everything, so that only the second one is reported.
+            measure(mode, wrappers);
+            Measurement measurement = measure(mode, wrappers);
+            System.out.printf(Locale.ROOT, "%-16s %18.1f %18.1f%n",
+                    mode, measurement.allocatedBytes / (double) count, measurement.retainedBytes / (double) count);
+        }
+    }
+
+    private static Measurement measure(Mode mode, NativeObject[] wrappers) throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        Arrays.fill(wrappers, null);
+        long usedBefore = getUsedHeapAfterGc(memory);
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < wrappers.length; i++) {
+            // Handles are never dereferenced, but keep them non-null like real ones.
+            wrappers[i] = new Wrapper(i + 1L, mode);
+        }
+        long allocatedBytes = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        long retainedBytes = getUsedHeapAfterGc(memory) - usedBefore;
+
+        for (NativeObject wrapper : wrappers) {
+            wrapper.close();
+        }
+        Arrays.fill(wrappers, null);
+        return new Measurement(allocatedBytes, retainedBytes);
+    }
+
+    private static long getUsedHeapAfterGc(MemoryMXBean memory) throws InterruptedException {
+        // A single request might not collect everything, or might be ignored.
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+            used = Math.min(used, memory.getHeapMemoryUsage().getUsed());
+        }
+        return used;
+    }
+
+    private enum Mode {
+        UNOWNED,
+        OWNED_MANUAL,
+        OWNED_GC
+    }
+
+    private static final class Wrapper extends NativeObject {
+        private Wrapper(long handle, Mode mode) {
+            super(handle,
+                  mode != Mode.UNOWNED,
+                  mode == Mode.OWNED_GC ? DisposalMethod.GARBAGE_COLLECTED : DisposalMethod.MANUAL,
+                  DELETER);
+        }
+    }
+
+    private static final class Measurement {
+        final long allocatedBytes;
+        final long retainedBytes;
+
+        private Measurement(long allocatedBytes, long retainedBytes) {
+            this.allocatedBytes = allocatedBytes;
+            this.retainedBytes = retainedBytes;
+        }
+    }
+}
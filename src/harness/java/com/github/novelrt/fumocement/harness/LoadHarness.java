@@ -0,0 +1,264 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement.harness;
+
+import com.github.novelrt.fumocement.NativeLibraryLoader;
+import com.github.novelrt.fumocement.NativeMetrics;
+import com.github.novelrt.fumocement.NativeObjectTracker;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs each {@link Scenario} using an increasing amount of threads, measuring the throughput, the backlog
+ * of objects waiting to be deleted once garbage collected, the resident set size and the size of trackers
+ * over time.
+ * <p>
+ * Each run is preceded by a warmup using the same amount of threads. Once the load stops, the harness
+ * measures how long it takes for the backlog to go back to its initial size.
+ * <p>
+ * <b>Arguments:</b>
+ * <ul>
+ *   <li>{@code --scenarios BUILTIN,TRACKER}: the scenarios to run</li>
+ *   <li>{@code --threads 1,2,4}: the amounts of threads to use, defaulting to powers of two up to the
+ *   amount of available processors</li>
+ *   <li>{@code --duration-ms 10000}: the duration of each run</li>
+ *   <li>{@code --warmup-ms 2000}: the duration of the warmup preceding each run</li>
+ *   <li>{@code --sample-interval-ms 100}: the interval between samples</li>
+ *   <li>{@code --handles 1048576}: the amount of native handles looked up by the tracker scenario</li>
+ *   <li>{@code --tracker-cleanup ON_INSERTION}: the cleanup mode of the tracker scenario</li>
+ *   <li>{@code --output build/reports/harness}: the directory where results are written</li>
+ * </ul>
+ *
+ * @see ResultWriter
+ */
+public final class LoadHarness {
+    private static final int BATCH_SIZE = 1024;
+    private static final long DRAIN_TIMEOUT_MILLIS = 60_000;
+
+    private LoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        NativeLibraryLoader.load();
+
+        List<RunResult> results = new ArrayList<>();
+        for (Scenario scenario : options.scenarios) {
+            for (int threads : options.threads) {
+                RunResult result = run(scenario, threads, options);
+                results.add(result);
+                System.out.printf(Locale.ROOT, "%-8s %3d threads: %,14.0f ops/s, peak backlog %,10d, " +
+                                               "peak RSS %,10d KiB, peak tracker size %,9d, drained in %,6d ms%n",
+                        scenario, threads, result.getOperationsPerSecond(), result.getPeakPendingCleanupCount(),
+                        result.getPeakResidentSetSizeKiB(), result.getPeakTrackerSize(), result.drainMillis);
+            }
+        }
+
+        ResultWriter.write(options.output, results);
+        System.out.println("Results written to " + options.output.toAbsolutePath());
+    }
+
+    private static RunResult run(Scenario scenario, int threads, Options options) throws InterruptedException {
+        try (Scenario.Workload workload = scenario.createWorkload(options)) {
+            runWorkers(workload, threads, options.warmupMillis, new LongAdder());
+            int initialBacklog = awaitCleanup(Integer.MAX_VALUE);
+
+            long gcCount = getGcCount();
+            long gcMillis = getGcMillis();
+            LongAdder operations = new LongAdder();
+            Sampler sampler = new Sampler(workload, operations, options.sampleIntervalMillis);
+            long durationMillis = runWorkers(workload, threads, options.durationMillis, operations);
+
+            sampler.setPhase("drain");
+            long drainStart = System.nanoTime();
+            awaitCleanup(initialBacklog);
+            long drainMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - drainStart);
+            List<Sample> samples = sampler.stop();
+
+            return new RunResult(scenario,
+                    threads,
+                    durationMillis,
+                    operations.sum(),
+                    drainMillis,
+                    getGcCount() - gcCount,
+                    getGcMillis() - gcMillis,
+                    samples);
+        }
+    }
+
+    // Returns the actual duration of the run, in milliseconds.
+    private static long runWorkers(Scenario.Workload workload, int threads, long durationMillis, LongAdder operations)
+            throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Worker[] workers = new Worker[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker(workload, start, operations, i);
+            workers[i].start();
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        Thread.sleep(durationMillis);
+        for (Worker worker : workers) {
+            worker.running = false;
+        }
+        for (Worker worker : workers) {
+            worker.join();
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    // Waits for the backlog of objects pending cleanup to reach the given size, and returns the final size.
+    private static int awaitCleanup(int targetBacklog) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DRAIN_TIMEOUT_MILLIS);
+        int previousBacklog = Integer.MAX_VALUE;
+        while (true) {
+            System.gc();
+            Thread.sleep(50);
+            int backlog = NativeMetrics.snapshot().getPendingCleanupCount();
+            // Without a target, wait for the backlog to stop shrinking.
+            boolean done = targetBacklog == Integer.MAX_VALUE ? backlog >= previousBacklog : backlog <= targetBacklog;
+            if (done || System.nanoTime() > deadline) {
+                return backlog;
+            }
+            previousBacklog = backlog;
+        }
+    }
+
+    private static long getGcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(bean.getCollectionCount(), 0);
+        }
+        return count;
+    }
+
+    private static long getGcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(bean.getCollectionTime(), 0);
+        }
+        return millis;
+    }
+
+    private static final class Worker extends Thread {
+        private final Scenario.Workload workload;
+        private final CountDownLatch start;
+        private final LongAdder operations;
+
+        private volatile boolean running = true;
+        private long checksum;
+
+        private Worker(Scenario.Workload workload, CountDownLatch start, LongAdder operations, int index) {
+            super("Load Harness Worker " + index);
+            this.workload = workload;
+            this.start = start;
+            this.operations = operations;
+        }
+
+        @Override
+        public void run() {
+            try {
+                start.await();
+            } catch (InterruptedException e) {
+                return;
+            }
+            while (running) {
+                checksum += workload.runBatch(BATCH_SIZE);
+                operations.add(BATCH_SIZE);
+            }
+        }
+    }
+
+    static final class Options {
+        List<Scenario> scenarios = new ArrayList<>(List.of(Scenario.values()));
+        List<Integer> threads = defaultThreads();
+        long durationMillis = 10_000;
+        long warmupMillis = 2_000;
+        long sampleIntervalMillis = 100;
+        int handleCount = 1_048_576;
+        NativeObjectTracker.CleanupMode trackerCleanupMode = NativeObjectTracker.CleanupMode.ON_INSERTION;
+        Path output = Paths.get("build", "reports", "harness");
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i < args.length; i += 2) {
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException("Missing a value for " + args[i] + ".");
+                }
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--scenarios":
+                        options.scenarios = new ArrayList<>();
+                        for (String name : value.split(",")) {
+                            options.scenarios.add(Scenario.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+                        }
+                        break;
+                    case "--threads":
+                        options.threads = new ArrayList<>();
+                        for (String count : value.split(",")) {
+                            options.threads.add(parsePositive(args[i], count.trim()));
+                        }
+                        break;
+                    case "--duration-ms":
+                        options.durationMillis = parsePositive(args[i], value);
+                        break;
+                    case "--warmup-ms":
+                        options.warmupMillis = parseNonNegative(args[i], value);
+                        break;
+                    case "--sample-interval-ms":
+                        options.sampleIntervalMillis = parsePositive(args[i], value);
+                        break;
+                    case "--handles":
+                        options.handleCount = parsePositive(args[i], value);
+                        break;
+                    case "--tracker-cleanup":
+                        options.trackerCleanupMode =
+                                NativeObjectTracker.CleanupMode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+                        break;
+                    case "--output":
+                        options.output = Paths.get(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown argument: " + args[i] + ".");
+                }
+            }
+            return options;
+        }
+
+        private static int parsePositive(String name, String value) {
+            int result = Integer.parseInt(value);
+            if (result <= 0) {
+                throw new IllegalArgumentException("The value of " + name + " must be positive.");
+            }
+            return result;
+        }
+
+        private static long parseNonNegative(String name, String value) {
+            long result = Long.parseLong(value);
+            if (result < 0) {
+                throw new IllegalArgumentException("The value of " + name + " cannot be negative.");
+            }
+            return result;
+        }
+
+        private static List<Integer> defaultThreads() {
+            int processors = Runtime.getRuntime().availableProcessors();
+            List<Integer> threads = new ArrayList<>();
+            for (int count = 1; count < processors; count *= 2) {
+                threads.add(count);
+            }
+            threads.add(processors);
+            return threads;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement.harness;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Reads the resident set size of this process, which includes native memory.
+ */
+final class ProcessMemory {
+    private static final Path STATUS = Paths.get("/proc/self/status");
+
+    private ProcessMemory() {
+    }
+
+    /**
+     * Gets the current resident set size of this process. This is only supported on Linux.
+     *
+     * @return the resident set size in KiB, or -1 when it is not available
+     */
+    static long getResidentSetSizeKiB() {
+        try {
+            for (String line : Files.readAllLines(STATUS, StandardCharsets.US_ASCII)) {
+                if (line.startsWith("VmRSS:")) {
+                    // Formatted as "VmRSS:     123456 kB".
+                    return Long.parseLong(line.substring("VmRSS:".length(), line.length() - "kB".length()).trim());
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Not available on this platform.
+        }
+        return -1;
+    }
+}
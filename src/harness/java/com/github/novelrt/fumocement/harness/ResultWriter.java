@@ -0,0 +1,104 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement.harness;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes the results of the harness as CSV and JSON files:
+ * <ul>
+ *   <li>{@code summary.csv}: one line per run</li>
+ *   <li>{@code samples.csv}: one line per sample of each run</li>
+ *   <li>{@code results.json}: the environment, and every run with its samples</li>
+ * </ul>
+ */
+final class ResultWriter {
+    private static final String SUMMARY_HEADER = "scenario,threads,durationMillis,operations,operationsPerSecond," +
+                                                 "peakPendingCleanupCount,peakBuiltinNativeBytes," +
+                                                 "peakResidentSetSizeKiB,peakTrackerSize,drainMillis,gcCount,gcMillis";
+    private static final String SAMPLES_HEADER = "scenario,threads,phase,elapsedMillis,operations," +
+                                                 "pendingCleanupCount,builtinNativeBytes,residentSetSizeKiB," +
+                                                 "trackerSize,heapUsedBytes";
+
+    private ResultWriter() {
+    }
+
+    static void write(Path directory, List<RunResult> results) throws IOException {
+        Files.createDirectories(directory);
+
+        try (PrintWriter writer = newWriter(directory.resolve("summary.csv"))) {
+            writer.println(SUMMARY_HEADER);
+            for (RunResult result : results) {
+                writer.println(String.format(Locale.ROOT, "%s,%d,%d,%d,%.1f,%d,%d,%d,%d,%d,%d,%d",
+                        result.scenario, result.threads, result.durationMillis, result.operations,
+                        result.getOperationsPerSecond(), result.getPeakPendingCleanupCount(),
+                        result.getPeakBuiltinNativeBytes(), result.getPeakResidentSetSizeKiB(),
+                        result.getPeakTrackerSize(), result.drainMillis, result.gcCount, result.gcMillis));
+            }
+        }
+
+        try (PrintWriter writer = newWriter(directory.resolve("samples.csv"))) {
+            writer.println(SAMPLES_HEADER);
+            for (RunResult result : results) {
+                for (Sample sample : result.samples) {
+                    writer.println(String.format(Locale.ROOT, "%s,%d,%s,%d,%d,%d,%d,%d,%d,%d",
+                            result.scenario, result.threads, sample.phase, sample.elapsedMillis, sample.operations,
+                            sample.pendingCleanupCount, sample.builtinNativeBytes, sample.residentSetSizeKiB,
+                            sample.trackerSize, sample.heapUsedBytes));
+                }
+            }
+        }
+
+        try (PrintWriter writer = newWriter(directory.resolve("results.json"))) {
+            writeJson(writer, results);
+        }
+    }
+
+    private static PrintWriter newWriter(Path path) throws IOException {
+        return new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8));
+    }
+
+    private static void writeJson(PrintWriter writer, List<RunResult> results) {
+        Runtime runtime = Runtime.getRuntime();
+        writer.println("{");
+        writer.printf(Locale.ROOT, "  \"environment\": {\"javaVersion\": \"%s\", \"availableProcessors\": %d, " +
+                                   "\"maxHeapBytes\": %d},%n",
+                System.getProperty("java.version"), runtime.availableProcessors(), runtime.maxMemory());
+        writer.println("  \"runs\": [");
+        for (int i = 0; i < results.size(); i++) {
+            RunResult result = results.get(i);
+            writer.println("    {");
+            writer.printf(Locale.ROOT, "      \"scenario\": \"%s\", \"threads\": %d, \"durationMillis\": %d, " +
+                                       "\"operations\": %d, \"operationsPerSecond\": %.1f,%n",
+                    result.scenario, result.threads, result.durationMillis, result.operations,
+                    result.getOperationsPerSecond());
+            writer.printf(Locale.ROOT, "      \"peakPendingCleanupCount\": %d, \"peakBuiltinNativeBytes\": %d, " +
+                                       "\"peakResidentSetSizeKiB\": %d, \"peakTrackerSize\": %d,%n",
+                    result.getPeakPendingCleanupCount(), result.getPeakBuiltinNativeBytes(),
+                    result.getPeakResidentSetSizeKiB(), result.getPeakTrackerSize());
+            writer.printf(Locale.ROOT, "      \"drainMillis\": %d, \"gcCount\": %d, \"gcMillis\": %d,%n",
+                    result.drainMillis, result.gcCount, result.gcMillis);
+            writer.println("      \"samples\": [");
+            for (int j = 0; j < result.samples.size(); j++) {
+                Sample sample = result.samples.get(j);
+                writer.printf(Locale.ROOT, "        {\"phase\": \"%s\", \"elapsedMillis\": %d, \"operations\": %d, " +
+                                           "\"pendingCleanupCount\": %d, \"builtinNativeBytes\": %d, " +
+                                           "\"residentSetSizeKiB\": %d, \"trackerSize\": %d, " +
+                                           "\"heapUsedBytes\": %d}%s%n",
+                        sample.phase, sample.elapsedMillis, sample.operations, sample.pendingCleanupCount,
+                        sample.builtinNativeBytes, sample.residentSetSizeKiB, sample.trackerSize,
+                        sample.heapUsedBytes, j == result.samples.size() - 1 ? "" : ",");
+            }
+            writer.println("      ]");
+            writer.println(i == results.size() - 1 ? "    }" : "    },");
+        }
+        writer.println("  ]");
+        writer.println("}");
+    }
+}
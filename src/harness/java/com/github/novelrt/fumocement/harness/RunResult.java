@@ -0,0 +1,73 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement.harness;
+
+import java.util.List;
+
+/**
+ * The result of running a scenario using a given amount of threads.
+ */
+final class RunResult {
+    final Scenario scenario;
+    final int threads;
+    final long durationMillis;
+    final long operations;
+    final long drainMillis;
+    final long gcCount;
+    final long gcMillis;
+    final List<Sample> samples;
+
+    RunResult(Scenario scenario,
+              int threads,
+              long durationMillis,
+              long operations,
+              long drainMillis,
+              long gcCount,
+              long gcMillis,
+              List<Sample> samples) {
+        this.scenario = scenario;
+        this.threads = threads;
+        this.durationMillis = durationMillis;
+        this.operations = operations;
+        this.drainMillis = drainMillis;
+        this.gcCount = gcCount;
+        this.gcMillis = gcMillis;
+        this.samples = samples;
+    }
+
+    double getOperationsPerSecond() {
+        return durationMillis == 0 ? 0 : operations * 1000.0 / durationMillis;
+    }
+
+    int getPeakPendingCleanupCount() {
+        int peak = 0;
+        for (Sample sample : samples) {
+            peak = Math.max(peak, sample.pendingCleanupCount);
+        }
+        return peak;
+    }
+
+    long getPeakBuiltinNativeBytes() {
+        long peak = 0;
+        for (Sample sample : samples) {
+            peak = Math.max(peak, sample.builtinNativeBytes);
+        }
+        return peak;
+    }
+
+    long getPeakResidentSetSizeKiB() {
+        long peak = -1;
+        for (Sample sample : samples) {
+            peak = Math.max(peak, sample.residentSetSizeKiB);
+        }
+        return peak;
+    }
+
+    int getPeakTrackerSize() {
+        int peak = -1;
+        for (Sample sample : samples) {
+            peak = Math.max(peak, sample.trackerSize);
+        }
+        return peak;
+    }
+}
@@ -0,0 +1,35 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement.harness;
+
+/**
+ * The state of the process at a point in time during a run.
+ */
+final class Sample {
+    final String phase;
+    final long elapsedMillis;
+    final long operations;
+    final int pendingCleanupCount;
+    final long builtinNativeBytes;
+    final long residentSetSizeKiB;
+    final int trackerSize;
+    final long heapUsedBytes;
+
+    Sample(String phase,
+           long elapsedMillis,
+           long operations,
+           int pendingCleanupCount,
+           long builtinNativeBytes,
+           long residentSetSizeKiB,
+           int trackerSize,
+           long heapUsedBytes) {
+        this.phase = phase;
+        this.elapsedMillis = elapsedMillis;
+        this.operations = operations;
+        this.pendingCleanupCount = pendingCleanupCount;
+        this.builtinNativeBytes = builtinNativeBytes;
+        this.residentSetSizeKiB = residentSetSizeKiB;
+        this.trackerSize = trackerSize;
+        this.heapUsedBytes = heapUsedBytes;
+    }
+}
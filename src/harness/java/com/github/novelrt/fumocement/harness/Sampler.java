@@ -0,0 +1,92 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement.harness;
+
+import com.github.novelrt.fumocement.NativeMetrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Samples the state of the process periodically, using a dedicated thread.
+ */
+final class Sampler implements AutoCloseable {
+    private final Scenario.Workload workload;
+    private final LongAdder operations;
+    private final long intervalMillis;
+    private final long startNanos = System.nanoTime();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final List<Sample> samples = new ArrayList<>();
+    private final Thread thread;
+
+    private volatile String phase = "load";
+    private volatile boolean running = true;
+
+    Sampler(Scenario.Workload workload, LongAdder operations, long intervalMillis) {
+        this.workload = workload;
+        this.operations = operations;
+        this.intervalMillis = intervalMillis;
+        thread = new Thread(this::run, "Load Harness Sampler");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Sets the phase recorded in the next samples.
+     *
+     * @param phase the current phase
+     */
+    void setPhase(String phase) {
+        this.phase = phase;
+    }
+
+    /**
+     * Stops sampling, after taking a last sample.
+     *
+     * @return the samples, in chronological order
+     */
+    List<Sample> stop() {
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        samples.add(takeSample());
+        return samples;
+    }
+
+    @Override
+    public void close() {
+        if (running) {
+            stop();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            samples.add(takeSample());
+            try {
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private Sample takeSample() {
+        NativeMetrics.Snapshot snapshot = NativeMetrics.snapshot();
+        return new Sample(phase,
+                (System.nanoTime() - startNanos) / 1_000_000,
+                operations.sum(),
+                snapshot.getPendingCleanupCount(),
+                snapshot.getBuiltinNativeBytes(),
+                ProcessMemory.getResidentSetSizeKiB(),
+                workload.getTrackerSize(),
+                memory.getHeapMemoryUsage().getUsed());
+    }
+}
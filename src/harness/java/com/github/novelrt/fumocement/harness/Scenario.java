@@ -0,0 +1,111 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement.harness;
+
+import com.github.novelrt.fumocement.DisposalMethod;
+import com.github.novelrt.fumocement.NativeArena;
+import com.github.novelrt.fumocement.NativeObjectTracker;
+import com.github.novelrt.fumocement.builtin.Int32Pointer;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The workloads ran by the harness.
+ */
+enum Scenario {
+    /**
+     * Creates builtin pointers which are deleted once garbage collected, stressing the background thread
+     * deleting them.
+     */
+    BUILTIN {
+        @Override
+        Workload createWorkload(LoadHarness.Options options) {
+            return new Workload() {
+                @Override
+                long runBatch(int size) {
+                    long checksum = 0;
+                    for (int i = 0; i < size; i++) {
+                        Int32Pointer pointer = new Int32Pointer(DisposalMethod.GARBAGE_COLLECTED);
+                        pointer.setValue(i);
+                        checksum += pointer.getHandle();
+                    }
+                    return checksum;
+                }
+            };
+        }
+    },
+    /**
+     * Looks up wrappers of random native handles in a shared tracker, which get garbage collected
+     * and created again, stressing the tracker map and its cleanup.
+     */
+    TRACKER {
+        @Override
+        Workload createWorkload(LoadHarness.Options options) {
+            return new TrackerWorkload(options.handleCount, options.trackerCleanupMode);
+        }
+    };
+
+    abstract Workload createWorkload(LoadHarness.Options options);
+
+    /**
+     * The operations of a scenario, which are ran concurrently by the worker threads.
+     */
+    abstract static class Workload implements AutoCloseable {
+        /**
+         * Runs a batch of operations.
+         *
+         * @param size the amount of operations to run
+         * @return a value computed from the operations, so that they cannot be optimized away
+         */
+        abstract long runBatch(int size);
+
+        /**
+         * Gets the amount of entries in the tracker used by this workload.
+         *
+         * @return the amount of entries, or -1 when no tracker is used
+         */
+        int getTrackerSize() {
+            return -1;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class TrackerWorkload extends Workload {
+        private final NativeArena arena = new NativeArena();
+        private final long[] handles;
+        private final NativeObjectTracker<Int32Pointer> tracker;
+
+        private TrackerWorkload(int handleCount, NativeObjectTracker.CleanupMode cleanupMode) {
+            handles = new long[handleCount];
+            for (int i = 0; i < handleCount; i++) {
+                handles[i] = arena.allocate(Integer.BYTES, Integer.BYTES);
+            }
+            tracker = new NativeObjectTracker<>(Int32Pointer::new,
+                    NativeObjectTracker.Target.UNOWNED_OBJECTS,
+                    cleanupMode);
+        }
+
+        @Override
+        long runBatch(int size) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long checksum = 0;
+            for (int i = 0; i < size; i++) {
+                checksum += tracker.getOrCreate(handles[random.nextInt(handles.length)]).getHandle();
+            }
+            return checksum;
+        }
+
+        @Override
+        int getTrackerSize() {
+            return tracker.size();
+        }
+
+        @Override
+        public void close() {
+            arena.close();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement.harness;
+
+import com.github.novelrt.fumocement.HandleDeleter;
+import com.github.novelrt.fumocement.NativeObject;
+import com.github.novelrt.fumocement.NativeObjectTracker;
+
+import java.lang.ref.Reference;
+import java.util.Locale;
+
+/**
+ * Checks that a {@link NativeObjectTracker} does not stall once many of its objects have been garbage collected.
+ * <p>
+ * For each cleanup mode, a tracker gets a given amount of objects, of which only one in sixteen is kept reachable.
+ * Once the others have been collected, the first lookup is timed, as well as the mean of as many lookups as objects
+ * were tracked, each tracking a new object. Objects use fake handles and are unowned, so no native memory is used.
+ * <p>
+ * The process exits with status 1 when the first lookup takes longer than the given limit. The following ones are only
+ * reported, as the slowest of them mostly measure garbage collection pauses.
+ * <p>
+ * <b>Arguments:</b>
+ * <ul>
+ *   <li>{@code --count 200000}: the amount of objects tracked before the collection</li>
+ *   <li>{@code --max-ms 50}: the longest the first lookup may take, in milliseconds</li>
+ * </ul>
+ */
+public final class TrackerPauseCheck {
+    private static final int KEPT_INTERVAL = 16;
+    private static final HandleDeleter DELETER = handle -> {
+    };
+
+    private TrackerPauseCheck() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int count = 200_000;
+        long maxMillis = 50;
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 == args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i] + ".");
+            }
+            switch (args[i]) {
+                case "--count":
+                    count = Integer.parseInt(args[i + 1]);
+                    if (count < 1) {
+                        throw new IllegalArgumentException("The amount of objects must be positive.");
+                    }
+                    break;
+                case "--max-ms":
+                    maxMillis = Long.parseLong(args[i + 1]);
+                    if (maxMillis < 0) {
+                        throw new IllegalArgumentException("The maximum duration cannot be negative.");
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown argument " + args[i] + ".");
+            }
+        }
+
+        long maxNanos = maxMillis * 1_000_000L;
+        boolean passed = true;
+        System.out.printf(Locale.ROOT, "%-20s %16s %16s%n", "Mode", "First lookup ms", "Mean lookup ns");
+        for (NativeObjectTracker.CleanupMode mode : NativeObjectTracker.CleanupMode.values()) {
+            long[] durations = measure(mode, count);
+            System.out.printf(Locale.ROOT, "%-20s %16.3f %16.1f%n",
+                    mode, durations[0] / 1e6, durations[1] / (double) count);
+            passed &= durations[0] <= maxNanos;
+        }
+
+        if (!passed) {
+            System.out.println("A first lookup took longer than " + maxMillis + " ms.");
+            System.exit(1);
+        }
+    }
+
+    // Returns the duration of the first lookup after the collection, and the total duration of all of them.
+    private static long[] measure(NativeObjectTracker.CleanupMode mode, int count) throws InterruptedException {
+        NativeObjectTracker<Wrapper> tracker =
+                new NativeObjectTracker<>(Wrapper::new, NativeObjectTracker.Target.UNOWNED_OBJECTS, mode);
+
+        Wrapper[] kept = new Wrapper[count / KEPT_INTERVAL + 1];
+        for (int i = 0; i < count; i++) {
+            Wrapper wrapper = tracker.getOrCreate(toHandle(i));
+            if (i % KEPT_INTERVAL == 0) {
+                kept[i / KEPT_INTERVAL] = wrapper;
+            }
+        }
+
+        // Lets the collected objects' references be enqueued, and drained by the background thread if any.
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        if (mode == NativeObjectTracker.CleanupMode.EXTERNAL) {
+            NativeObjectTracker.drainSharedQueue(Integer.MAX_VALUE);
+        }
+
+        long start = System.nanoTime();
+        tracker.getOrCreate(toHandle(count));
+        long first = System.nanoTime() - start;
+        for (int i = count + 1; i < count * 2; i++) {
+            tracker.getOrCreate(toHandle(i));
+        }
+        long total = System.nanoTime() - start;
+
+        // Keeps the objects reachable until the end of the measurement.
+        Reference.reachabilityFence(kept);
+        return new long[]{first, total};
+    }
+
+    private static long toHandle(int index) {
+        // Handles are never dereferenced, but are aligned like real ones.
+        return (index + 1L) * 16;
+    }
+
+    private static final class Wrapper extends NativeObject {
+        private Wrapper(long handle, boolean owned) {
+            super(handle, owned, DELETER);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement.benchmarks;
+
+import com.github.novelrt.fumocement.DisposalMethod;
+import com.github.novelrt.fumocement.NativeLibraryLoader;
+import com.github.novelrt.fumocement.builtin.DoublePointer;
+import com.github.novelrt.fumocement.builtin.Int32Pointer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading and writing builtin pointers, which is a JNI call each, and getting their handle.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class BuiltinPointerBenchmark {
+    private Int32Pointer int32Pointer;
+    private DoublePointer doublePointer;
+    private int int32Value;
+    private double doubleValue;
+
+    @Setup
+    public void setUp() {
+        NativeLibraryLoader.load();
+        int32Pointer = new Int32Pointer(DisposalMethod.MANUAL);
+        doublePointer = new DoublePointer(DisposalMethod.MANUAL);
+    }
+
+    @TearDown
+    public void tearDown() {
+        int32Pointer.close();
+        doublePointer.close();
+    }
+
+    @Benchmark
+    public int int32GetValue() {
+        return int32Pointer.getValue();
+    }
+
+    @Benchmark
+    public void int32SetValue() {
+        int32Pointer.setValue(int32Value++);
+    }
+
+    @Benchmark
+    public int int32RoundTrip() {
+        int32Pointer.setValue(int32Value++);
+        return int32Pointer.getValue();
+    }
+
+    @Benchmark
+    public double doubleRoundTrip() {
+        doublePointer.setValue(doubleValue++);
+        return doublePointer.getValue();
+    }
+
+    @Benchmark
+    public long getHandle() {
+        return int32Pointer.getHandle();
+    }
+}
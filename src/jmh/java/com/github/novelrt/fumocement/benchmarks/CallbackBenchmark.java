@@ -0,0 +1,97 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement.benchmarks;
+
+import com.github.novelrt.fumocement.DisposalMethod;
+import com.github.novelrt.fumocement.FunctionPointer;
+import com.github.novelrt.fumocement.NativeLibraryLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of a single callback through a {@link FunctionPointer}, called from native code on the
+ * benchmark thread or on a native worker thread. The cached variants get the {@code JNIEnv} like
+ * {@code FunctionPointerContext} does, which only caches it on threads it attached itself, such as the worker thread.
+ * The uncached ones call {@code GetEnv} for each callback like it used to.
+ * <p>
+ * The native side is in the library built by the {@code native:benchmarks} project, found using the
+ * {@value #LIBRARY_PROPERTY} system property.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class CallbackBenchmark {
+    public static final String LIBRARY_PROPERTY = "fumocement.benchmarks.library";
+
+    private static final int CALLS = 1000;
+
+    private FunctionPointer<Runnable> functionPointer;
+    private long worker;
+    private int callCount;
+
+    @Setup
+    public void setUp() {
+        // Loaded first, as it includes FumoCement.h: the bundled library is then not loaded.
+        System.load(System.getProperty(LIBRARY_PROPERTY));
+        NativeLibraryLoader.load();
+        functionPointer = new FunctionPointer<>(() -> callCount++, DisposalMethod.MANUAL);
+        worker = startWorker();
+    }
+
+    @TearDown
+    public void tearDown() {
+        stopWorker(worker);
+        functionPointer.close();
+    }
+
+    private static native void invoke(long context, int count, boolean cached);
+
+    private static native long startWorker();
+
+    private static native void invokeOnWorker(long worker, long context, int count, boolean cached);
+
+    private static native void stopWorker(long worker);
+
+    @Benchmark
+    @OperationsPerInvocation(CALLS)
+    public int javaThreadCached() {
+        invoke(functionPointer.getHandle(), CALLS, true);
+        return callCount;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CALLS)
+    public int javaThreadUncached() {
+        invoke(functionPointer.getHandle(), CALLS, false);
+        return callCount;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CALLS)
+    public int nativeThreadCached() {
+        invokeOnWorker(worker, functionPointer.getHandle(), CALLS, true);
+        return callCount;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CALLS)
+    public int nativeThreadUncached() {
+        invokeOnWorker(worker, functionPointer.getHandle(), CALLS, false);
+        return callCount;
+    }
+}
@@ -0,0 +1,63 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement.benchmarks;
+
+import com.github.novelrt.fumocement.NativeEventChannel;
+import com.github.novelrt.fumocement.NativeLibraryLoader;
+import com.github.novelrt.fumocement.Pointers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of a single event written by native code into a {@link NativeEventChannel} and drained by Java,
+ * to be compared with the callbacks of {@link CallbackBenchmark}. Each event is made of two {@code int32_t} and
+ * a {@code float}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class EventChannelBenchmark {
+    private static final int EVENTS = 1000;
+
+    private NativeEventChannel channel;
+    private float sum;
+
+    @Setup
+    public void setUp() {
+        // Loaded first, as it includes FumoCement.h: the bundled library is then not loaded.
+        System.load(System.getProperty(CallbackBenchmark.LIBRARY_PROPERTY));
+        NativeLibraryLoader.load();
+        channel = new NativeEventChannel(12, 1024, NativeEventChannel.OverflowPolicy.DROP);
+    }
+
+    @TearDown
+    public void tearDown() {
+        channel.close();
+    }
+
+    private static native void write(long channel, int count);
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public float writeAndDrain() {
+        write(channel.getHandle(), EVENTS);
+        channel.drain(record -> sum += Pointers.getInt32(record, 0) + Pointers.getInt32(record, 4) +
+                                      Pointers.getFloat(record, 8), EVENTS);
+        return sum;
+    }
+}
@@ -0,0 +1,81 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement.benchmarks;
+
+import com.github.novelrt.fumocement.DisposalMethod;
+import com.github.novelrt.fumocement.IndirectedPointer;
+import com.github.novelrt.fumocement.NativeLibraryLoader;
+import com.github.novelrt.fumocement.builtin.Int32Pointer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link IndirectedPointer#get()}, which reuses the last object it provided
+ * as long as the target does not change.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class IndirectedPointerBenchmark {
+    private Int32Pointer first;
+    private Int32Pointer second;
+    private IndirectedPointer<Int32Pointer> pointer;
+    private boolean targetsFirst;
+
+    @Setup
+    public void setUp() {
+        NativeLibraryLoader.load();
+        first = new Int32Pointer(DisposalMethod.MANUAL);
+        second = new Int32Pointer(DisposalMethod.MANUAL);
+        pointer = new IndirectedPointer<>(handle -> new Int32Pointer(handle, false), DisposalMethod.MANUAL);
+        pointer.set(first);
+        targetsFirst = true;
+    }
+
+    @TearDown
+    public void tearDown() {
+        pointer.close();
+        first.close();
+        second.close();
+    }
+
+    @Benchmark
+    public Int32Pointer getUnchanged() {
+        return pointer.get();
+    }
+
+    /**
+     * Changes the target before getting it, so this includes the cost of {@link IndirectedPointer#set}.
+     *
+     * @return the new target
+     */
+    @Benchmark
+    public Int32Pointer getChanged() {
+        targetsFirst = !targetsFirst;
+        pointer.set(targetsFirst ? first : second);
+        return pointer.get();
+    }
+
+    /**
+     * The cost of {@link IndirectedPointer#set} alone, to be subtracted from {@link #getChanged()}.
+     */
+    @Benchmark
+    public void setOnly() {
+        targetsFirst = !targetsFirst;
+        pointer.set(targetsFirst ? first : second);
+    }
+}
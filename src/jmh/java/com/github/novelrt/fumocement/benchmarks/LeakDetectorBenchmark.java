@@ -0,0 +1,50 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement.benchmarks;
+
+import com.github.novelrt.fumocement.DisposalMethod;
+import com.github.novelrt.fumocement.LeakDetector;
+import com.github.novelrt.fumocement.NativeLibraryLoader;
+import com.github.novelrt.fumocement.builtin.Int32Pointer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of each {@link LeakDetector.Level} on manually disposed objects.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class LeakDetectorBenchmark {
+    @Param({"DISABLED", "SAMPLED", "PARANOID"})
+    public String level;
+
+    @Setup
+    public void setUp() {
+        // Each parameter runs in its own JVM, where the level is read once native objects get created.
+        System.setProperty(LeakDetector.PROPERTY, level);
+        NativeLibraryLoader.load();
+        if (LeakDetector.getLevel() != LeakDetector.Level.valueOf(level)) {
+            throw new IllegalStateException("The leak detection level has been read too early.");
+        }
+    }
+
+    @Benchmark
+    public void createAndClose() {
+        new Int32Pointer(DisposalMethod.MANUAL).close();
+    }
+}
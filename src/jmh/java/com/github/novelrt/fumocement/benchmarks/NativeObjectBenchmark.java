@@ -0,0 +1,60 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement.benchmarks;
+
+import com.github.novelrt.fumocement.DisposalMethod;
+import com.github.novelrt.fumocement.NativeLibraryLoader;
+import com.github.novelrt.fumocement.builtin.Int32Pointer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the lifecycle of owned native objects, using each disposal method.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class NativeObjectBenchmark {
+    @Setup
+    public void setUp() {
+        NativeLibraryLoader.load();
+    }
+
+    @Benchmark
+    public void createAndCloseManual() {
+        new Int32Pointer(DisposalMethod.MANUAL).close();
+    }
+
+    /**
+     * Creates an object and closes it right away, which includes registering it and unregistering it
+     * from the background thread deleting garbage collected objects.
+     */
+    @Benchmark
+    public void createAndCloseGarbageCollected() {
+        new Int32Pointer(DisposalMethod.GARBAGE_COLLECTED).close();
+    }
+
+    /**
+     * Creates an object which gets deleted once garbage collected, which includes the cost of the
+     * batched deletion by the background thread as long as it keeps up.
+     *
+     * @return the created object
+     */
+    @Benchmark
+    public Int32Pointer createGarbageCollected() {
+        return new Int32Pointer(DisposalMethod.GARBAGE_COLLECTED);
+    }
+}
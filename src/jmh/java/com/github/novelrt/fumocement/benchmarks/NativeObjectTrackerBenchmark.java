@@ -0,0 +1,149 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement.benchmarks;
+
+import com.github.novelrt.fumocement.NativeLibraryLoader;
+import com.github.novelrt.fumocement.NativeObjectTracker;
+import com.github.novelrt.fumocement.builtin.Int32Pointer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures looking up objects using {@link NativeObjectTracker#getOrCreate(long)}, when they are already
+ * tracked (hits) and when they have to be created (misses), from one thread and from all available threads.
+ * <p>
+ * Tracked objects are kept reachable, so that hits never turn into misses once garbage collected, while misses use
+ * a tracker recreated on each iteration, so that its size does not depend on how long the benchmark ran.
+ * <p>
+ * Running this class directly, as done by the {@code jmhTrackerScaling} task, measures hits and misses using
+ * 1, 2, 4... threads up to the amount of available processors, which gives the scaling curve of the tracker.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class NativeObjectTrackerBenchmark {
+    private static final int TRACKED_COUNT = 1024;
+
+    private final NativeObjectTracker<Int32Pointer> tracker =
+            new NativeObjectTracker<>(Int32Pointer::new, NativeObjectTracker.Target.UNOWNED_OBJECTS);
+    private NativeObjectTracker<Int32Pointer> missTracker;
+    private Int32Pointer[] tracked;
+    // The tracker only references its objects weakly.
+    private Int32Pointer[] wrappers;
+
+    @Setup
+    public void setUp() {
+        NativeLibraryLoader.load();
+        tracked = new Int32Pointer[TRACKED_COUNT];
+        wrappers = new Int32Pointer[TRACKED_COUNT];
+        for (int i = 0; i < TRACKED_COUNT; i++) {
+            tracked[i] = new Int32Pointer();
+            wrappers[i] = tracker.getOrCreate(tracked[i].getHandle());
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+        missTracker = new NativeObjectTracker<>(Int32Pointer::new, NativeObjectTracker.Target.UNOWNED_OBJECTS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (Int32Pointer pointer : tracked) {
+            pointer.close();
+        }
+    }
+
+    @Benchmark
+    public Int32Pointer hit(ThreadState state) {
+        return tracker.getOrCreate(tracked[state.nextIndex()].getHandle());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Int32Pointer hitContended(ThreadState state) {
+        return tracker.getOrCreate(tracked[state.nextIndex()].getHandle());
+    }
+
+    @Benchmark
+    public Int32Pointer miss(ThreadState state) {
+        return missTracker.getOrCreate(state.nextMissHandle());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Int32Pointer missContended(ThreadState state) {
+        return missTracker.getOrCreate(state.nextMissHandle());
+    }
+
+    /**
+     * Runs the hit and miss benchmarks once per amount of threads, writing the JSON results of each run
+     * to the given directory.
+     *
+     * @param args the directory where results are written, defaulting to {@code build/reports/jmh}
+     * @throws RunnerException when a run fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        Path output = args.length > 0 ? Paths.get(args[0]) : Paths.get("build", "reports", "jmh");
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; ; threads = Math.min(threads * 2, maxThreads)) {
+            Options options = new OptionsBuilder()
+                    .include(NativeObjectTrackerBenchmark.class.getName() + "\\.(hit|miss)$")
+                    .threads(threads)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(output.resolve("tracker-scaling-" + threads + "-threads.json").toString())
+                    .build();
+            new Runner(options).run();
+            if (threads == maxThreads) {
+                break;
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        // The handles of misses are never dereferenced, so they only need to be unique.
+        private static final AtomicLong MISS_HANDLE_RANGES = new AtomicLong(1L << 48);
+
+        private int index;
+        private long missHandle;
+
+        @Setup
+        public void setUp() {
+            missHandle = MISS_HANDLE_RANGES.getAndAdd(1L << 40);
+        }
+
+        int nextIndex() {
+            index = (index + 1) & (TRACKED_COUNT - 1);
+            return index;
+        }
+
+        long nextMissHandle() {
+            return missHandle++;
+        }
+    }
+}
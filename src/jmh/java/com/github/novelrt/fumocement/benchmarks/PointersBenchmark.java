@@ -0,0 +1,50 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement.benchmarks;
+
+import com.github.novelrt.fumocement.NativeLibraryLoader;
+import com.github.novelrt.fumocement.Pointers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the helpers of {@link Pointers}, which do not use JNI.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class PointersBenchmark {
+    private ByteBuffer buffer;
+    private long location;
+
+    @Setup
+    public void setUp() {
+        NativeLibraryLoader.load();
+        buffer = ByteBuffer.allocateDirect(64);
+        location = Pointers.getByteBufferLocation(buffer);
+    }
+
+    @Benchmark
+    public long getByteBufferLocation() {
+        return Pointers.getByteBufferLocation(buffer);
+    }
+
+    @Benchmark
+    public int getInt32() {
+        return Pointers.getInt32(location);
+    }
+}
@@ -0,0 +1,109 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement.benchmarks;
+
+import com.github.novelrt.fumocement.DisposalMethod;
+import com.github.novelrt.fumocement.NativeLibraryLoader;
+import com.github.novelrt.fumocement.builtin.Int32Pointer;
+import com.github.novelrt.fumocement.builtin.SlabAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares allocating and closing {@link Int32Pointer}s using a {@link SlabAllocator}, with allocating each of them
+ * separately using {@code new} and {@code delete}.
+ * <p>
+ * The batch variants keep many pointers alive at once before closing them, so that slots are taken from
+ * several slabs rather than from the head of the free list only.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class SlabAllocatorBenchmark {
+    private static final int BATCH_SIZE = 4096;
+
+    private final Int32Pointer[] pointers = new Int32Pointer[BATCH_SIZE];
+    private SlabAllocator allocator;
+
+    @Setup
+    public void setUp() {
+        NativeLibraryLoader.load();
+        allocator = new SlabAllocator();
+    }
+
+    @TearDown
+    public void tearDown() {
+        allocator.close();
+    }
+
+    @Benchmark
+    public void createAndClose() {
+        new Int32Pointer(DisposalMethod.MANUAL).close();
+    }
+
+    @Benchmark
+    public void createAndCloseSlab() {
+        new Int32Pointer(allocator, DisposalMethod.MANUAL).close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void createAndCloseBatch() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            pointers[i] = new Int32Pointer(DisposalMethod.MANUAL);
+        }
+        closeBatch();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void createAndCloseBatchSlab() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            pointers[i] = new Int32Pointer(allocator, DisposalMethod.MANUAL);
+        }
+        closeBatch();
+    }
+
+    /**
+     * Creates an object which gets deleted once garbage collected, which includes the cost of the
+     * batched deletion by the background thread as long as it keeps up.
+     *
+     * @return the created object
+     */
+    @Benchmark
+    public Int32Pointer createGarbageCollected() {
+        return new Int32Pointer(DisposalMethod.GARBAGE_COLLECTED);
+    }
+
+    /**
+     * Like {@link #createGarbageCollected()}, but slots are given back to the allocator by the background thread.
+     *
+     * @return the created object
+     */
+    @Benchmark
+    public Int32Pointer createGarbageCollectedSlab() {
+        return new Int32Pointer(allocator, DisposalMethod.GARBAGE_COLLECTED);
+    }
+
+    private void closeBatch() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            pointers[i].close();
+            pointers[i] = null;
+        }
+    }
+}
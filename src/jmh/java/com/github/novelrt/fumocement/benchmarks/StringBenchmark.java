@@ -0,0 +1,103 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement.benchmarks;
+
+import com.github.novelrt.fumocement.NativeLibraryLoader;
+import com.github.novelrt.fumocement.NativeStrings;
+import com.github.novelrt.fumocement.Pointers;
+import com.github.novelrt.fumocement.StringDeletionBehaviour;
+import com.github.novelrt.fumocement.builtin.CharPointer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading native null-terminated strings of various lengths, either as new Java strings or decoded into
+ * reusable buffers. Non-ASCII strings are made of two-byte UTF-8 characters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class StringBenchmark {
+    @Param({"8", "64", "1024", "16384"})
+    public int length;
+
+    @Param({"true", "false"})
+    public boolean ascii;
+
+    // Keeps the native string alive.
+    private ByteBuffer buffer;
+    private CharPointer string;
+    private StringBuilder builder;
+    private CharBuffer charBuffer;
+
+    @Setup
+    public void setUp() {
+        NativeLibraryLoader.load();
+        buffer = ByteBuffer.allocateDirect(length + 1);
+        for (int i = 0; i < length; i++) {
+            if (ascii || i + 1 == length) {
+                buffer.put((byte) ('a' + i % 26));
+            } else {
+                // U+00E0 to U+00F9, in UTF-8.
+                buffer.put((byte) 0xC3);
+                buffer.put((byte) (0xA0 + i / 2 % 26));
+                i++;
+            }
+        }
+        buffer.put((byte) 0);
+        string = new CharPointer(Pointers.getByteBufferLocation(buffer), false);
+        builder = new StringBuilder(length);
+        charBuffer = CharBuffer.allocate(length);
+    }
+
+    @Benchmark
+    public String readAsNullTerminatedString() {
+        return string.readAsNullTerminatedString(StringDeletionBehaviour.NO_DELETE);
+    }
+
+    @Benchmark
+    public String readAsNullTerminatedStringUtf8() {
+        return string.readAsNullTerminatedString(StringDeletionBehaviour.NO_DELETE, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public StringBuilder decodeIntoStringBuilder() {
+        builder.setLength(0);
+        string.readAsNullTerminatedString(StringDeletionBehaviour.NO_DELETE, StandardCharsets.UTF_8, builder);
+        return builder;
+    }
+
+    @Benchmark
+    public CharBuffer decodeIntoCharBuffer() {
+        charBuffer.clear();
+        string.readAsNullTerminatedString(StringDeletionBehaviour.NO_DELETE, StandardCharsets.UTF_8, charBuffer);
+        return charBuffer;
+    }
+
+    @Benchmark
+    public int getLength() {
+        return NativeStrings.getLength(string.getHandle());
+    }
+
+    @Benchmark
+    public ByteBuffer asNullTerminatedStringBuffer() {
+        return string.asNullTerminatedStringBuffer();
+    }
+}
@@ -0,0 +1,86 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement.benchmarks;
+
+import com.github.novelrt.fumocement.NativeLibraryLoader;
+import com.github.novelrt.fumocement.NativeStringTable;
+import com.github.novelrt.fumocement.NativeStrings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures passing Java strings of various lengths to native code, by encoding them into a new array as generated
+ * bindings used to, by encoding them onto the stack of {@link NativeStrings}, or by looking them up in a
+ * {@link NativeStringTable}. Non-ASCII strings are made of two-byte UTF-8 characters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class StringPassingBenchmark {
+    @Param({"8", "64", "1024", "16384"})
+    public int length;
+
+    @Param({"true", "false"})
+    public boolean ascii;
+
+    private String string;
+    private NativeStringTable table;
+
+    @Setup
+    public void setUp() {
+        NativeLibraryLoader.load();
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ((ascii ? 'a' : 'à') + i % 26));
+        }
+        string = builder.toString();
+        table = new NativeStringTable(StandardCharsets.UTF_8, 16, 1024 * 1024);
+    }
+
+    @TearDown
+    public void tearDown() {
+        table.close();
+    }
+
+    @Benchmark
+    public byte[] getBytesUtf8() {
+        return string.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public long pushUtf8() {
+        long mark = NativeStrings.mark();
+        long pointer = NativeStrings.push(string, StandardCharsets.UTF_8);
+        NativeStrings.release(mark);
+        return pointer;
+    }
+
+    @Benchmark
+    public long pushUtf16() {
+        long mark = NativeStrings.mark();
+        long pointer = NativeStrings.push(string, StandardCharsets.UTF_16LE);
+        NativeStrings.release(mark);
+        return pointer;
+    }
+
+    @Benchmark
+    public long getFromTable() {
+        return table.get(string);
+    }
+}
@@ -0,0 +1,53 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement;
+
+import java.util.function.ObjIntConsumer;
+
+/**
+ * A {@link HandleDeleter} which is also able to clean many handles at once, using a single native call.
+ * <p>
+ * Owned {@link NativeObject}s using a batch handle deleter and the {@link DisposalMethod#GARBAGE_COLLECTED}
+ * disposal method do not get deleted one by one once they are garbage collected. Instead, their handles
+ * are grouped by deleter, and deleted together using {@link #deleteHandles(long[], int)}.
+ * <p>
+ * <b>Example:</b>
+ * <pre>{@code private static final HandleDeleter DELETER =
+ *         BatchHandleDeleter.of(Example::destroyStruct, Example::destroyStructs);
+ *
+ * private static native void destroyStruct(long handle);
+ *
+ * private static native void destroyStructs(long[] handles, int count);
+ * }</pre>
+ */
+public interface BatchHandleDeleter extends HandleDeleter {
+    /**
+     * Creates a {@link BatchHandleDeleter} from two functions deleting respectively one handle, and
+     * multiple handles.
+     *
+     * @param handleDeleter  the function deleting one handle
+     * @param handlesDeleter the function deleting the first {@code count} handles of the given array
+     * @return a batch handle deleter using the given functions
+     */
+    static BatchHandleDeleter of(HandleDeleter handleDeleter, ObjIntConsumer<@Pointer long[]> handlesDeleter) {
+        return new BatchHandleDeleter() {
+            @Override
+            public void deleteHandle(@Pointer long handle) {
+                handleDeleter.deleteHandle(handle);
+            }
+
+            @Override
+            public void deleteHandles(@Pointer long[] handles, int count) {
+                handlesDeleter.accept(handles, count);
+            }
+        };
+    }
+
+    /**
+     * Cleans any native resources associated to the first {@code count} handles of the given array.
+     *
+     * @param handles the native handles
+     * @param count   the amount of handles to clean
+     */
+    void deleteHandles(@Pointer long[] handles, int count);
+}
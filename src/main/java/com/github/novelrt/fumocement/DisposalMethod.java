@@ -12,6 +12,15 @@ public enum DisposalMethod {
     GARBAGE_COLLECTED,
     /**
      * Native resources will be disposed manually, using {@link NativeObject#close()}.
+     *
+     * @see LeakDetector
      */
-    MANUAL
+    MANUAL,
+    /**
+     * Native resources will be disposed after the {@link NativeObject} has been garbage collected,
+     * on the thread which created it, once it drains its {@link DisposalQueue}.
+     *
+     * @see DisposalQueue#forCurrentThread()
+     */
+    DEFERRED
 }
@@ -0,0 +1,193 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.ref.WeakReference;
+
+/**
+ * A queue of native resources waiting to be disposed on a specific thread, which is useful for
+ * resources that must be released on the thread that created them, such as graphics resources.
+ * <p>
+ * Each thread has its own queue, where {@link NativeObject}s using the {@link DisposalMethod#DEFERRED}
+ * disposal method are sent once they are garbage collected. Adding resources to the queue is lock-free,
+ * and can be done from any thread. The native resources are only disposed once the owner thread calls
+ * {@link #drain(int)} or {@link #drain(int, long)}, for example at the end of each frame.
+ * <p>
+ * Each object allocates its queue node along with itself, so adding it to the queue does not allocate. Queues do not
+ * keep their owner thread reachable: when resources are added to the queue of a thread which has terminated, they can
+ * never be disposed, and a warning is printed once for that queue.
+ * <p>
+ * <b>Example:</b>
+ * <pre>{@code // On the render thread:
+ * Int32Pointer value = new Int32Pointer(DisposalMethod.DEFERRED);
+ * // ...
+ * DisposalQueue.forCurrentThread().drain(256, TimeUnit.MILLISECONDS.toNanos(1));
+ * }</pre>
+ */
+public final class DisposalQueue {
+    private static final ThreadLocal<DisposalQueue> QUEUES = ThreadLocal.withInitial(DisposalQueue::new);
+
+    private static final VarHandle TAIL;
+    private static final VarHandle PENDING_COUNT;
+    private static final VarHandle OWNER_TERMINATION_REPORTED;
+    private static final VarHandle NEXT;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            TAIL = lookup.findVarHandle(DisposalQueue.class, "tail", Node.class);
+            PENDING_COUNT = lookup.findVarHandle(DisposalQueue.class, "pendingCount", int.class);
+            OWNER_TERMINATION_REPORTED =
+                    lookup.findVarHandle(DisposalQueue.class, "ownerTerminationReported", boolean.class);
+            NEXT = lookup.findVarHandle(Node.class, "next", Node.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final WeakReference<Thread> owner;
+    private final String ownerName;
+
+    // Only accessed by the owner thread. This is the last node which has been taken from the queue.
+    private Node head;
+    @SuppressWarnings("unused") // Accessed using TAIL.
+    private volatile Node tail;
+    @SuppressWarnings("unused") // Accessed using PENDING_COUNT.
+    private volatile int pendingCount;
+    @SuppressWarnings("unused") // Accessed using OWNER_TERMINATION_REPORTED.
+    private volatile boolean ownerTerminationReported;
+
+    private DisposalQueue() {
+        Thread thread = Thread.currentThread();
+        owner = new WeakReference<>(thread);
+        ownerName = thread.getName();
+        head = new Sentinel();
+        tail = head;
+    }
+
+    /**
+     * Gets the queue owned by the current thread, creating it if necessary.
+     *
+     * @return the queue of the current thread
+     */
+    public static DisposalQueue forCurrentThread() {
+        return QUEUES.get();
+    }
+
+    /**
+     * Gets the thread owning this queue, which is the only one able to drain it.
+     *
+     * @return the owner thread, or {@code null} once it has terminated and been garbage collected
+     */
+    public @Nullable Thread getOwner() {
+        return owner.get();
+    }
+
+    /**
+     * Gets the amount of native resources waiting to be disposed.
+     * This is only an estimate when resources are being added concurrently.
+     *
+     * @return the amount of pending resources
+     */
+    public int getPendingCount() {
+        return pendingCount;
+    }
+
+    /**
+     * Disposes at most {@code maxItems} pending native resources.
+     *
+     * @param maxItems the maximum amount of resources to dispose
+     * @return the amount of resources disposed
+     * @throws IllegalArgumentException when {@code maxItems} is negative
+     * @throws IllegalStateException    when the current thread is not the owner of this queue
+     */
+    public int drain(int maxItems) {
+        return drain(maxItems, Long.MAX_VALUE);
+    }
+
+    /**
+     * Disposes at most {@code maxItems} pending native resources, stopping once the given time budget
+     * has been spent. At least one resource is disposed when some are pending, even if it exceeds the budget.
+     * <p>
+     * If disposing a resource throws an exception, it is propagated and the resource is not retried.
+     *
+     * @param maxItems    the maximum amount of resources to dispose
+     * @param budgetNanos the time budget, in nanoseconds
+     * @return the amount of resources disposed
+     * @throws IllegalArgumentException when {@code maxItems} or {@code budgetNanos} is negative
+     * @throws IllegalStateException    when the current thread is not the owner of this queue
+     */
+    public int drain(int maxItems, long budgetNanos) {
+        if (maxItems < 0) {
+            throw new IllegalArgumentException("The maximum amount of resources to dispose cannot be negative.");
+        }
+        if (budgetNanos < 0) {
+            throw new IllegalArgumentException("The time budget cannot be negative.");
+        }
+        if (Thread.currentThread() != owner.get()) {
+            throw new IllegalStateException("Only the owner thread of this queue can drain it.");
+        }
+
+        long start = System.nanoTime();
+        int count = 0;
+        while (count < maxItems) {
+            if (count != 0 && System.nanoTime() - start >= budgetNanos) {
+                break;
+            }
+
+            Node next = (Node) NEXT.getAcquire(head);
+            if (next == null) {
+                // Either empty, or a producer has not linked its node yet: it will be seen next time.
+                break;
+            }
+
+            head = next;
+            PENDING_COUNT.getAndAdd(this, -1);
+            count++;
+            next.dispose();
+        }
+        return count;
+    }
+
+    /**
+     * Adds a node to this queue, which can be done from any thread. Each node can only be added once.
+     *
+     * @param node the node to dispose once the queue gets drained
+     */
+    void enqueue(Node node) {
+        PENDING_COUNT.getAndAdd(this, 1);
+        Node previous = (Node) TAIL.getAndSet(this, node);
+        NEXT.setRelease(previous, node);
+
+        Thread thread = owner.get();
+        if ((thread == null || !thread.isAlive()) && OWNER_TERMINATION_REPORTED.compareAndSet(this, false, true)) {
+            System.err.printf("WARNING: native resources are waiting in the DisposalQueue of the thread %s, " +
+                              "which has terminated: they will never be disposed.%n",
+                    ownerName);
+        }
+    }
+
+    /**
+     * A native resource waiting in a queue, which is allocated along with the object owning the resource.
+     */
+    abstract static class Node {
+        @SuppressWarnings("unused") // Accessed using NEXT.
+        private volatile @Nullable Node next;
+
+        /**
+         * Disposes the native resource, on the owner thread of the queue.
+         */
+        abstract void dispose();
+    }
+
+    // The node before the first one of the queue, which has already been disposed.
+    private static final class Sentinel extends Node {
+        @Override
+        void dispose() {
+        }
+    }
+}
@@ -2,6 +2,8 @@
 
 package com.github.novelrt.fumocement;
 
+import com.github.novelrt.fumocement.internal.FunctionPointerCreatedEvent;
+
 /**
  * Represents a function pointer managed by Java and the FumoCement library.
  * The code generated by Clangsharp is required to make use of this class.
@@ -25,10 +27,23 @@ public final class FunctionPointer<C> extends NativeObject {
     private final C callback;
 
     public FunctionPointer(C callback, DisposalMethod disposalMethod) {
-        super(createPointerContext(callback), true, disposalMethod, FunctionPointer::destroyPointerContext);
+        super(createContext(callback, disposalMethod), true, disposalMethod, FunctionPointer::destroyPointerContext);
         this.callback = callback;
     }
 
+    private static long createContext(Object callback, DisposalMethod disposalMethod) {
+        FunctionPointerCreatedEvent event = new FunctionPointerCreatedEvent();
+        event.begin();
+        long handle = createPointerContext(callback);
+        if (event.shouldCommit()) {
+            event.callbackClass = callback.getClass();
+            event.handle = handle;
+            event.disposalMethod = disposalMethod.name();
+            event.commit();
+        }
+        return handle;
+    }
+
     private static native long createPointerContext(Object object);
 
     private static native void destroyPointerContext(long handle);
@@ -0,0 +1,209 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * An open-addressing hash map using primitive {@code long} handles as keys, storing
+ * {@link HandleReference}s as values.
+ * <p>
+ * Lookups are lock-free and do not allocate, while modifications are serialized using the map's lock.
+ * Readers work on a snapshot of the table: they might miss an entry being inserted concurrently,
+ * so any decision based on a missing entry must be confirmed while holding the lock, using
+ * {@link #getLocked(long)}.
+ *
+ * @param <V> the type of the values
+ */
+final class HandleMap<V extends HandleMap.HandleReference> {
+    private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    // Marks a removed entry, so that the probing sequence of other entries stays intact.
+    private static final Object TOMBSTONE = new Object();
+
+    private static final int MINIMUM_CAPACITY = 16;
+
+    private volatile Table table = new Table(MINIMUM_CAPACITY);
+    private int size;
+    private int tombstones;
+
+    /**
+     * Gets the value associated to the given handle, without locking.
+     *
+     * @param handle the handle
+     * @return the value, or {@code null} if it is absent
+     */
+    @Nullable V get(@Pointer long handle) {
+        return table.find(handle);
+    }
+
+    /**
+     * Gets the value associated to the given handle, while holding the lock.
+     * This always sees the latest modifications.
+     *
+     * @param handle the handle
+     * @return the value, or {@code null} if it is absent
+     */
+    synchronized @Nullable V getLocked(@Pointer long handle) {
+        return table.find(handle);
+    }
+
+    /**
+     * Associates the given value to its handle, replacing any previous value.
+     *
+     * @param value the value to put
+     */
+    synchronized void put(V value) {
+        long handle = value.getHandle();
+        Table current = table;
+
+        int tombstoneIndex = -1;
+        for (int i = current.indexOf(handle); ; i = (i + 1) & current.mask) {
+            Object existing = VALUES.getAcquire(current.values, i);
+            if (existing == null) {
+                break;
+            }
+            if (existing == TOMBSTONE) {
+                if (tombstoneIndex == -1) {
+                    tombstoneIndex = i;
+                }
+            } else if (current.keys[i] == handle) {
+                VALUES.setRelease(current.values, i, value);
+                return;
+            }
+        }
+
+        if (tombstoneIndex == -1 && (size + tombstones + 1) * 2 > current.values.length) {
+            current = rehash(size + 1);
+        }
+
+        int index = tombstoneIndex;
+        if (index == -1) {
+            index = current.indexOf(handle);
+            while (VALUES.getAcquire(current.values, index) != null) {
+                index = (index + 1) & current.mask;
+            }
+        } else {
+            tombstones--;
+        }
+
+        // The key must be written before the value, which is published with release semantics.
+        current.keys[index] = handle;
+        VALUES.setRelease(current.values, index, value);
+        size++;
+    }
+
+    /**
+     * Removes the given value, only if it is still the one associated to its handle.
+     *
+     * @param value the value to remove
+     * @return whether or not the value has been removed
+     */
+    synchronized boolean remove(V value) {
+        Table current = table;
+        for (int i = current.indexOf(value.getHandle()); ; i = (i + 1) & current.mask) {
+            Object existing = VALUES.getAcquire(current.values, i);
+            if (existing == null) {
+                return false;
+            }
+            if (existing == value) {
+                VALUES.setRelease(current.values, i, TOMBSTONE);
+                size--;
+                tombstones++;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Shrinks the table if most of its entries have been removed.
+     * <p>
+     * This is not done by {@link #remove(HandleReference)}, but once a whole batch of entries has been removed:
+     * references of collected objects are often removed in table order, so shrinking in the middle of a batch would
+     * pack the entries left into long runs, which every following removal would have to probe.
+     */
+    synchronized void compact() {
+        if (size * 8 < table.values.length && table.values.length > MINIMUM_CAPACITY) {
+            rehash(size);
+        }
+    }
+
+    /**
+     * Gets the amount of entries in this map.
+     *
+     * @return the amount of entries
+     */
+    synchronized int size() {
+        return size;
+    }
+
+    // Called with the lock held. Readers keep using the old table until the new one is published.
+    private Table rehash(int expectedSize) {
+        int capacity = MINIMUM_CAPACITY;
+        while (capacity < expectedSize * 4) {
+            capacity <<= 1;
+        }
+
+        Table oldTable = table;
+        Table newTable = new Table(capacity);
+        for (int i = 0; i < oldTable.values.length; i++) {
+            Object value = oldTable.values[i];
+            if (value != null && value != TOMBSTONE) {
+                int index = newTable.indexOf(oldTable.keys[i]);
+                while (newTable.values[index] != null) {
+                    index = (index + 1) & newTable.mask;
+                }
+                newTable.keys[index] = oldTable.keys[i];
+                newTable.values[index] = value;
+            }
+        }
+
+        tombstones = 0;
+        table = newTable;
+        return newTable;
+    }
+
+    /**
+     * A value which knows the handle it is associated to.
+     */
+    interface HandleReference {
+        @Pointer long getHandle();
+    }
+
+    private final class Table {
+        final @Pointer long[] keys;
+        final Object[] values;
+        final int mask;
+        final int shift;
+
+        Table(int capacity) {
+            keys = new long[capacity];
+            values = new Object[capacity];
+            mask = capacity - 1;
+            shift = Long.numberOfLeadingZeros(capacity - 1);
+        }
+
+        int indexOf(@Pointer long handle) {
+            // Fibonacci hashing: handles are often aligned, so their lowest bits are not relevant.
+            return (int) ((handle * 0x9E3779B97F4A7C15L) >>> shift);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Nullable V find(@Pointer long handle) {
+            for (int i = indexOf(handle); ; i = (i + 1) & mask) {
+                Object value = VALUES.getAcquire(values, i);
+                if (value == null) {
+                    return null;
+                }
+                // The handle of the value is checked as well, since the slot might have been reused
+                // for another handle between reading the value and the key.
+                if (value != TOMBSTONE && keys[i] == handle && ((V) value).getHandle() == handle) {
+                    return (V) value;
+                }
+            }
+        }
+    }
+}
@@ -3,6 +3,7 @@
 package com.github.novelrt.fumocement;
 
 import com.github.novelrt.fumocement.builtin.Int32Pointer;
+import com.github.novelrt.fumocement.internal.ForeignAccess;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Objects;
@@ -19,6 +20,9 @@ import java.util.Objects;
  * @implNote Under the hood, this class allocates a {@code void**}.
  */
 public final class IndirectedPointer<T extends NativeObject> extends NativeObject {
+    private static final HandleDeleter DELETER =
+            ForeignAccess.INSTANCE == null ? IndirectedPointer::destroyPointer : ForeignAccess.INSTANCE::free;
+
     private final NativeObjectProvider<T> provider;
 
     private @Pointer("T*") long lastUnderlyingHandle;
@@ -46,7 +50,22 @@ public final class IndirectedPointer<T extends NativeObject> extends NativeObjec
      * @throws NullPointerException when {@code provider} is null
      */
     public IndirectedPointer(NativeObjectProvider<T> provider, DisposalMethod disposalMethod) {
-        super(createPointer(), true, disposalMethod, IndirectedPointer::destroyPointer);
+        super(allocate(), true, disposalMethod, DELETER);
+        this.provider = Objects.requireNonNull(provider);
+    }
+
+    /**
+     * Creates a new instance of {@link IndirectedPointer} allocated from the given {@link NativeArena},
+     * with the given {@link NativeObjectProvider} which is used for giving native objects that serves
+     * as an access layer for the underlying pointer. This object's native resources will be
+     * released once the arena gets closed.
+     *
+     * @param arena    the arena to allocate the pointer from
+     * @param provider the native object provider to use
+     * @throws NullPointerException when {@code provider} is null
+     */
+    public IndirectedPointer(NativeArena arena, NativeObjectProvider<T> provider) {
+        super(arena.allocate(Pointers.UINTPTR_T_SIZE, Pointers.UINTPTR_T_SIZE), false, DELETER);
         this.provider = Objects.requireNonNull(provider);
     }
 
@@ -65,6 +84,24 @@ public final class IndirectedPointer<T extends NativeObject> extends NativeObjec
 
     private static native void destroyPointer(long handle);
 
+    private static @Pointer("void**") long allocate() {
+        return ForeignAccess.INSTANCE == null ?
+                createPointer() :
+                ForeignAccess.INSTANCE.allocate(Pointers.UINTPTR_T_SIZE);
+    }
+
+    private static @Pointer("T*") long getUnderlyingHandle(@Pointer("void**") long handle) {
+        return ForeignAccess.INSTANCE == null ? getNativeUnderlyingHandle(handle) : Pointers.getUIntPtr(handle);
+    }
+
+    private static void setUnderlyingHandle(@Pointer("void**") long handle, @Pointer("T*") long value) {
+        if (ForeignAccess.INSTANCE == null) {
+            setNativeUnderlyingHandle(handle, value);
+        } else {
+            Pointers.setUIntPtr(handle, value);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -80,7 +117,7 @@ public final class IndirectedPointer<T extends NativeObject> extends NativeObjec
      * or {@code null} if the pointer is null
      */
     public @Nullable T get() {
-        long underlyingHandle = getNativeUnderlyingHandle(getHandle());
+        long underlyingHandle = getUnderlyingHandle(getHandle());
         if (lastUnderlyingHandle != underlyingHandle) {
             lastUnderlyingHandle = underlyingHandle;
 
@@ -100,7 +137,7 @@ public final class IndirectedPointer<T extends NativeObject> extends NativeObjec
      * @return the underlying handle
      */
     public @Pointer("T*") long getUnderlyingHandle() {
-        return getNativeUnderlyingHandle(getHandle());
+        return getUnderlyingHandle(getHandle());
     }
 
     /**
@@ -111,13 +148,13 @@ public final class IndirectedPointer<T extends NativeObject> extends NativeObjec
      * @param value the new value
      */
     public void set(@Nullable T value) {
-        setNativeUnderlyingHandle(getHandle(), value == null ? Pointers.NULLPTR : value.getHandle());
+        setUnderlyingHandle(getHandle(), value == null ? Pointers.NULLPTR : value.getHandle());
     }
 
     /**
      * Sets the underlying value of this double pointer to {@code null}.
      */
     public void setNull() {
-        setNativeUnderlyingHandle(getHandle(), Pointers.NULLPTR);
+        setUnderlyingHandle(getHandle(), Pointers.NULLPTR);
     }
 }
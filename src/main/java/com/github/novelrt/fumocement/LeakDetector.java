@@ -0,0 +1,222 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Detects owned {@link NativeObject}s using the {@link DisposalMethod#MANUAL} disposal method
+ * which are garbage collected without being closed, thus leaking their native resources.
+ * <p>
+ * Leak detection is disabled by default, and can be enabled by setting the {@value #PROPERTY} system property
+ * to one of the {@link Level} names before any native object gets created. When detection is enabled,
+ * the stack trace of the creation of each tracked object is recorded, and reported along with the leak.
+ * Leaks are reported by the background thread cleaning native objects, and their native resources
+ * are left untouched.
+ * <p>
+ * Using the {@link Level#SAMPLED} level, only one object out of {@value #DEFAULT_SAMPLING_INTERVAL} is tracked
+ * by default, which keeps the overhead low enough to be left enabled in production. The interval can be changed
+ * using the {@value #SAMPLING_INTERVAL_PROPERTY} system property.
+ * <p>
+ * <b>Example:</b>
+ * <pre>{@code // Launched with -Dfumocement.leakDetection=sampled
+ * LeakDetector.setListener(leak -> logger.error("Native leak of " + leak.getObjectClass().getName(),
+ *                                                leak.getAllocationTrace()));
+ * }</pre>
+ */
+public final class LeakDetector {
+    /**
+     * The name of the system property selecting the {@link Level}.
+     */
+    public static final String PROPERTY = "fumocement.leakDetection";
+
+    /**
+     * The name of the system property selecting the sampling interval of the {@link Level#SAMPLED} level.
+     */
+    public static final String SAMPLING_INTERVAL_PROPERTY = "fumocement.leakDetection.samplingInterval";
+
+    /**
+     * The default sampling interval of the {@link Level#SAMPLED} level.
+     */
+    public static final int DEFAULT_SAMPLING_INTERVAL = 128;
+
+    private static final Level LEVEL = readLevel();
+    private static final int SAMPLING_INTERVAL = readSamplingInterval();
+
+    private static final LongAdder LEAK_COUNT = new LongAdder();
+    private static final Consumer<Leak> DEFAULT_LISTENER = LeakDetector::printLeak;
+
+    private static volatile Consumer<? super Leak> listener = DEFAULT_LISTENER;
+
+    private LeakDetector() {
+    }
+
+    /**
+     * Gets the level of leak detection, using the {@value #PROPERTY} system property.
+     *
+     * @return the level of leak detection
+     */
+    public static Level getLevel() {
+        return LEVEL;
+    }
+
+    /**
+     * Gets the interval at which objects are tracked when using the {@link Level#SAMPLED} level,
+     * using the {@value #SAMPLING_INTERVAL_PROPERTY} system property.
+     *
+     * @return the sampling interval
+     */
+    public static int getSamplingInterval() {
+        return SAMPLING_INTERVAL;
+    }
+
+    /**
+     * Gets the amount of leaks which have been detected so far.
+     *
+     * @return the amount of detected leaks
+     */
+    public static long getLeakCount() {
+        return LEAK_COUNT.sum();
+    }
+
+    /**
+     * Sets the listener notified of each leak, in place of printing it to the standard error stream.
+     * The listener is called by a background thread, and any exception it throws is ignored.
+     *
+     * @param listener the listener to use, or {@code null} to restore the default one
+     */
+    public static void setListener(@Nullable Consumer<? super Leak> listener) {
+        LeakDetector.listener = listener != null ? listener : DEFAULT_LISTENER;
+    }
+
+    /**
+     * Decides whether or not a newly created object should be tracked.
+     *
+     * @return {@code true} when the object should be tracked
+     */
+    static boolean shouldTrack() {
+        switch (LEVEL) {
+            case DISABLED:
+                return false;
+            case SAMPLED:
+                return ThreadLocalRandom.current().nextInt(SAMPLING_INTERVAL) == 0;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Creates the trace recording where a tracked object has been created.
+     *
+     * @return the allocation trace
+     */
+    static Throwable newAllocationTrace() {
+        return new AllocationTrace();
+    }
+
+    static void report(Class<?> objectClass, @Pointer long handle, Throwable allocationTrace) {
+        LEAK_COUNT.increment();
+        listener.accept(new Leak(objectClass, handle, allocationTrace));
+    }
+
+    private static void printLeak(Leak leak) {
+        System.err.printf("LEAK: %s{handle=%016X} was garbage collected without being closed, " +
+                          "and its native resources have not been deleted.%n",
+                leak.getObjectClass().getSimpleName(),
+                leak.getHandle());
+        leak.getAllocationTrace().printStackTrace();
+    }
+
+    private static Level readLevel() {
+        String value = System.getProperty(PROPERTY);
+        if (value == null) {
+            return Level.DISABLED;
+        }
+        try {
+            return Level.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            // Leak detection must not prevent native objects from being used.
+            return Level.DISABLED;
+        }
+    }
+
+    private static int readSamplingInterval() {
+        int value = Integer.getInteger(SAMPLING_INTERVAL_PROPERTY, DEFAULT_SAMPLING_INTERVAL);
+        return value > 0 ? value : DEFAULT_SAMPLING_INTERVAL;
+    }
+
+    /**
+     * The levels of leak detection.
+     */
+    public enum Level {
+        /**
+         * No object is tracked.
+         */
+        DISABLED,
+        /**
+         * Only a sample of the objects is tracked, with a low overhead.
+         *
+         * @see #getSamplingInterval()
+         */
+        SAMPLED,
+        /**
+         * Every object is tracked, which has a significant overhead. This is meant for tests.
+         */
+        PARANOID
+    }
+
+    /**
+     * A native object which has been garbage collected without being closed.
+     */
+    public static final class Leak {
+        private final Class<?> objectClass;
+        private final @Pointer long handle;
+        private final Throwable allocationTrace;
+
+        private Leak(Class<?> objectClass, @Pointer long handle, Throwable allocationTrace) {
+            this.objectClass = objectClass;
+            this.handle = handle;
+            this.allocationTrace = allocationTrace;
+        }
+
+        /**
+         * Gets the class of the leaked object.
+         *
+         * @return the class of the leaked object
+         */
+        public Class<?> getObjectClass() {
+            return objectClass;
+        }
+
+        /**
+         * Gets the native handle of the leaked object, whose resources have not been deleted.
+         *
+         * @return the native handle
+         */
+        public @Pointer long getHandle() {
+            return handle;
+        }
+
+        /**
+         * Gets a {@link Throwable} whose stack trace is the one of the creation of the leaked object.
+         *
+         * @return the allocation trace
+         */
+        public Throwable getAllocationTrace() {
+            return allocationTrace;
+        }
+    }
+
+    private static final class AllocationTrace extends Throwable {
+        private static final long serialVersionUID = 1L;
+
+        private AllocationTrace() {
+            super("The leaked native object has been created here.");
+        }
+    }
+}
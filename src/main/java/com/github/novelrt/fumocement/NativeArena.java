@@ -0,0 +1,154 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement;
+
+import java.util.Arrays;
+
+/**
+ * A region allocator which hands out native memory from large chunks, and releases
+ * all of them at once when it gets closed.
+ * <p>
+ * Allocating memory from an arena is a pure Java operation most of the time: a native call only happens
+ * when the current chunk is full. Native objects created from an arena are <i>unowned</i>, which means that
+ * they are not registered to any {@link java.lang.ref.Cleaner}, and that their {@link HandleDeleter}
+ * never runs. Their memory lives as long as the arena does, and they must not be used after
+ * the arena has been closed.
+ * <p>
+ * All the memory given by an arena is zero-filled. Arenas are not thread-safe.
+ * <p>
+ * <b>Example:</b>
+ * <pre>{@code try (NativeArena arena = new NativeArena()) {
+ *   Int32Pointer width = new Int32Pointer(arena);
+ *   Int32Pointer height = new Int32Pointer(arena);
+ *   getWindowSize(window.getHandle(), width.getHandle(), height.getHandle());
+ * }
+ * }</pre>
+ */
+public final class NativeArena implements AutoCloseable {
+    /**
+     * The default size of a chunk, in bytes.
+     */
+    public static final long DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    private final long chunkSize;
+
+    private @Pointer long[] chunks = new long[4];
+    private int chunkCount;
+
+    private @Pointer long current;
+    private @Pointer long limit;
+    private boolean closed;
+
+    /**
+     * Creates a new {@link NativeArena} using chunks of {@link #DEFAULT_CHUNK_SIZE} bytes.
+     */
+    public NativeArena() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a new {@link NativeArena} using chunks of the given size.
+     * <p>
+     * Allocations bigger than the chunk size are given a dedicated chunk.
+     *
+     * @param chunkSize the size of a chunk, in bytes
+     * @throws IllegalArgumentException when {@code chunkSize} is not positive
+     */
+    public NativeArena(long chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("The chunk size of an arena must be positive.");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    private static native @Pointer long allocateChunk(long size);
+
+    private static native void destroyChunks(@Pointer long[] chunks, int count);
+
+    /**
+     * Allocates a zero-filled block of native memory of the given size and alignment.
+     *
+     * @param size      the size of the block, in bytes
+     * @param alignment the alignment of the block, which must be a power of two
+     * @return a pointer to the allocated block, valid until this arena gets closed
+     * @throws IllegalArgumentException when {@code size} is negative or {@code alignment} is not a power of two
+     * @throws IllegalStateException    when this arena has been closed
+     * @throws OutOfMemoryError         when a new chunk could not be allocated
+     */
+    public @Pointer long allocate(long size, long alignment) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Cannot allocate a negative amount of bytes.");
+        }
+        if (alignment <= 0 || (alignment & (alignment - 1)) != 0) {
+            throw new IllegalArgumentException("The alignment must be a power of two.");
+        }
+        if (closed) {
+            throw new IllegalStateException("Cannot allocate memory from a closed arena.");
+        }
+
+        long address = align(current, alignment);
+        if (!Pointers.isNullPointer(current) && address + size <= limit) {
+            current = address + size;
+            return address;
+        }
+
+        long requiredSize = size + alignment - 1;
+        if (requiredSize > chunkSize) {
+            // Oversized allocations get their own chunk, so the current one can still be used.
+            return align(addChunk(requiredSize), alignment);
+        }
+
+        long chunk = addChunk(chunkSize);
+        address = align(chunk, alignment);
+        current = address + size;
+        limit = chunk + chunkSize;
+        return address;
+    }
+
+    /**
+     * Returns whether or not this arena has been closed.
+     *
+     * @return whether or not this arena has been closed
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Releases all the chunks of this arena, using a single native call.
+     * <p>
+     * Any native object allocated from this arena must not be used afterwards.
+     * This does not have any effect when the arena is already closed.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (chunkCount != 0) {
+            destroyChunks(chunks, chunkCount);
+        }
+        chunks = null;
+        chunkCount = 0;
+        current = Pointers.NULLPTR;
+        limit = Pointers.NULLPTR;
+    }
+
+    private @Pointer long addChunk(long size) {
+        long chunk = allocateChunk(size);
+        if (Pointers.isNullPointer(chunk)) {
+            throw new OutOfMemoryError("Failed to allocate a native arena chunk of " + size + " bytes.");
+        }
+
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+        }
+        chunks[chunkCount++] = chunk;
+        return chunk;
+    }
+
+    private static @Pointer long align(@Pointer long address, long alignment) {
+        return (address + alignment - 1) & -alignment;
+    }
+}
@@ -0,0 +1,57 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement;
+
+import java.util.Locale;
+
+/**
+ * Defines how FumoCement performs its own native operations, such as allocating builtin pointers,
+ * reading and writing their values, or dereferencing an {@link IndirectedPointer}.
+ * <p>
+ * The backend is chosen once, when FumoCement gets initialized, using the {@value #PROPERTY} system
+ * property, whose value is the name of a backend in any case (such as {@code -Dfumocement.backend=foreign}).
+ * When the property is not set, {@link #JNI} is used.
+ */
+public enum NativeBackend {
+    /**
+     * Uses the JNI glue functions of {@code FumoCement.h}. Values are read and written directly using the memory
+     * access methods of {@code sun.misc.Unsafe}, which are deprecated for removal.
+     * <p>
+     * On Java 24 and later, the JVM prints a warning the first time they are used. This warning is expected, and can
+     * be silenced using {@code --sun-misc-unsafe-memory-access=allow}, or avoided by using {@link #FOREIGN}.
+     */
+    JNI,
+    /**
+     * Uses the Foreign Function & Memory API ({@code java.lang.foreign}), so that reading and writing
+     * values does not go through JNI anymore. Allocations still use the FumoCement native library,
+     * using downcalls instead of JNI calls.
+     * <p>
+     * This backend requires Java 22 or later. Native access must also be enabled for this module,
+     * using {@code --enable-native-access=novelrt.fumocement}.
+     */
+    FOREIGN;
+
+    /**
+     * The name of the system property used to select the backend.
+     */
+    public static final String PROPERTY = "fumocement.backend";
+
+    /**
+     * Gets the backend currently in use.
+     *
+     * @return the current backend
+     * @throws IllegalArgumentException when the {@value #PROPERTY} property does not name a backend
+     */
+    public static NativeBackend getCurrent() {
+        return CurrentHolder.CURRENT;
+    }
+
+    private static final class CurrentHolder {
+        private static final NativeBackend CURRENT;
+
+        static {
+            String name = System.getProperty(PROPERTY);
+            CURRENT = name == null ? JNI : valueOf(name.toUpperCase(Locale.ROOT));
+        }
+    }
+}
@@ -0,0 +1,219 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement;
+
+/**
+ * A bounded ring buffer of fixed-size event records, written by native code and drained by Java in batches.
+ * It is an alternative to {@link FunctionPointer} for high-rate callbacks, such as input, audio positions or
+ * physics contacts, which would otherwise pay for a native-to-Java transition per event.
+ * <p>
+ * Any amount of native threads can write records, using {@code FumoCement::EventChannel::write} on the handle
+ * of the channel. The handle can also be passed as the {@code void*} context of a native callback, where the
+ * handle of a {@link FunctionPointer} would be, along with {@code &FumoCement::eventCallback<Args...>} as
+ * the function pointer: each call then writes its arguments as a record, laid out like a C struct.
+ * <p>
+ * Records are read directly from native memory by {@link #drain(EventHandler, int)}, which must only be called by
+ * one thread at a time. When the channel is full, writers either drop their record or wait for Java to drain it,
+ * depending on the {@link OverflowPolicy} of the channel. Both cases are counted.
+ * <p>
+ * <b>Example:</b>
+ * <pre>{@code NativeEventChannel contacts = new NativeEventChannel(12, 4096, OverflowPolicy.DROP);
+ * setContactCallback(world.getHandle(), contactCallback, contacts.getHandle());
+ * // Each frame:
+ * contacts.drain(record -> onContact(Pointers.getInt32(record, 0), Pointers.getInt32(record, 4),
+ *                                    Pointers.getFloat(record, 8)), Integer.MAX_VALUE);
+ * }</pre>
+ */
+public final class NativeEventChannel extends NativeObject {
+    // The layout of FumoCement::EventChannel.
+    private static final long WRITE_POSITION_OFFSET = 0;
+    private static final long DROPPED_COUNT_OFFSET = 64;
+    private static final long WAIT_COUNT_OFFSET = 72;
+    private static final long SLOTS_OFFSET = 128;
+    private static final long SEQUENCE_SIZE = Long.BYTES;
+
+    private final int recordSize;
+    private final int capacity;
+    private final long slotSize;
+    private final OverflowPolicy overflowPolicy;
+
+    // Guarded by this. The position of the next record to read.
+    private long readPosition;
+
+    /**
+     * Creates a new {@link NativeEventChannel}, disposed using {@link DisposalMethod#MANUAL}.
+     *
+     * @param recordSize     the maximum size of a record, in bytes
+     * @param capacity       the maximum amount of records waiting to be drained, which must be a power of two
+     * @param overflowPolicy what writers do when the channel is full
+     * @throws IllegalArgumentException when {@code recordSize} is negative or {@code capacity} is not a power of two
+     */
+    public NativeEventChannel(int recordSize, int capacity, OverflowPolicy overflowPolicy) {
+        this(recordSize, capacity, overflowPolicy, DisposalMethod.MANUAL);
+    }
+
+    /**
+     * Creates a new {@link NativeEventChannel}.
+     * <p>
+     * Native code must not write records anymore once the channel has been disposed.
+     *
+     * @param recordSize     the maximum size of a record, in bytes
+     * @param capacity       the maximum amount of records waiting to be drained, which must be a power of two
+     * @param overflowPolicy what writers do when the channel is full
+     * @param disposalMethod how the channel is disposed
+     * @throws IllegalArgumentException when {@code recordSize} is negative or {@code capacity} is not a power of two
+     */
+    public NativeEventChannel(int recordSize, int capacity, OverflowPolicy overflowPolicy,
+                              DisposalMethod disposalMethod) {
+        super(createChannel(checkRecordSize(recordSize), checkCapacity(capacity), overflowPolicy), true,
+              disposalMethod, NativeEventChannel::destroyChannel);
+        this.recordSize = recordSize;
+        this.capacity = capacity;
+        this.slotSize = SEQUENCE_SIZE + (recordSize + 7L) / 8 * 8;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    private static int checkRecordSize(int recordSize) {
+        if (recordSize < 0) {
+            throw new IllegalArgumentException("The size of a record cannot be negative.");
+        }
+        return recordSize;
+    }
+
+    private static int checkCapacity(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("The capacity of an event channel must be a power of two.");
+        }
+        return capacity;
+    }
+
+    private static @Pointer("FumoCement::EventChannel*") long createChannel(int recordSize, int capacity,
+                                                                            OverflowPolicy overflowPolicy) {
+        long handle = createChannel(recordSize, capacity, overflowPolicy == OverflowPolicy.WAIT);
+        if (handle == Pointers.NULLPTR) {
+            throw new OutOfMemoryError("Could not allocate an event channel.");
+        }
+        return handle;
+    }
+
+    private static native long createChannel(int recordSize, int capacity, boolean waitWhenFull);
+
+    private static native void destroyChannel(long handle);
+
+    @Override
+    public @Pointer("FumoCement::EventChannel*") long getHandle() {
+        return super.getHandle();
+    }
+
+    /**
+     * Reads up to {@code maxEvents} records in the order they have been written, and gives them to the handler.
+     * Records written while draining might be read as well.
+     *
+     * @param handler   the handler of the records
+     * @param maxEvents the maximum amount of records to read
+     * @return the amount of records read
+     */
+    public synchronized int drain(EventHandler handler, int maxEvents) {
+        long handle = getHandle();
+        long slots = handle + SLOTS_OFFSET;
+        long position = readPosition;
+        int count = 0;
+        try {
+            while (count < maxEvents) {
+                long slot = slots + (position & (capacity - 1)) * slotSize;
+                if (Pointers.getInt64Acquire(slot) != position + 1) {
+                    break;
+                }
+
+                handler.onEvent(slot + SEQUENCE_SIZE);
+                // Hand the slot back to writers, for the position one lap ahead.
+                Pointers.setInt64Release(slot, position + capacity);
+                position++;
+                count++;
+            }
+        } finally {
+            readPosition = position;
+        }
+        return count;
+    }
+
+    /**
+     * Gets the amount of records waiting to be drained. This is only an estimate while records are being written.
+     *
+     * @return the amount of records waiting to be drained
+     */
+    public synchronized int getPendingCount() {
+        long pending = Pointers.getInt64Acquire(getHandle() + WRITE_POSITION_OFFSET) - readPosition;
+        return (int) Math.min(pending, capacity);
+    }
+
+    /**
+     * Gets the amount of records dropped because the channel was full, or because they were bigger than
+     * the record size.
+     *
+     * @return the amount of dropped records
+     */
+    public long getDroppedCount() {
+        return Pointers.getInt64Acquire(getHandle() + DROPPED_COUNT_OFFSET);
+    }
+
+    /**
+     * Gets the amount of records which had to wait for the channel to be drained, when using
+     * {@link OverflowPolicy#WAIT}.
+     *
+     * @return the amount of records which waited
+     */
+    public long getWaitCount() {
+        return Pointers.getInt64Acquire(getHandle() + WAIT_COUNT_OFFSET);
+    }
+
+    /**
+     * Gets the maximum size of a record.
+     *
+     * @return the size of a record, in bytes
+     */
+    public int getRecordSize() {
+        return recordSize;
+    }
+
+    /**
+     * Gets the maximum amount of records waiting to be drained.
+     *
+     * @return the capacity of this channel
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Defines what native writers do when the channel is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * The record is dropped, and counted by {@link #getDroppedCount()}.
+         */
+        DROP,
+        /**
+         * The writer yields until Java drains the channel, and is counted by {@link #getWaitCount()}.
+         * Writers must not run on the thread draining the channel.
+         */
+        WAIT
+    }
+
+    /**
+     * Handles the records drained from a {@link NativeEventChannel}.
+     */
+    @FunctionalInterface
+    public interface EventHandler {
+        /**
+         * Handles a record. The record is only valid during the call, and must be copied to be kept.
+         *
+         * @param record a pointer to the record, aligned to 8 bytes
+         */
+        void onEvent(@Pointer long record);
+    }
+}
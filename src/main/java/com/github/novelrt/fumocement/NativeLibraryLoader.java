@@ -0,0 +1,337 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.UserPrincipal;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Loads the FumoCement native library, which contains the glue functions of {@code FumoCement.h}.
+ * <p>
+ * The library is searched in this order:
+ * <ol>
+ *   <li>the file given by the {@value #LIBRARY_PATH_PROPERTY} system property;</li>
+ *   <li>the library bundled in the jar for the current platform, such as
+ *   {@code native/linux-x86_64/libfumocement.so};</li>
+ *   <li>the {@code java.library.path}, using {@link System#loadLibrary(String)}.</li>
+ * </ol>
+ * A bundled library cannot be loaded from the jar directly, so it is extracted to a cache directory, in a
+ * subdirectory named after the SHA-256 hash of its content. Later launches find the extracted library using the
+ * hash stored next to the bundled one, and load it without extracting it again. The cache directory is given by
+ * the {@value #CACHE_DIRECTORY_PROPERTY} system property, and defaults to {@code ~/.cache/fumocement}.
+ * <p>
+ * An extracted library is only loaded when its content still matches the hash, and is extracted again otherwise.
+ * On POSIX file systems, it must also be owned by the current user, as well as the directories containing it, which
+ * are made writable by their owner only. When the cache directory belongs to another user, the library is extracted
+ * to a temporary directory instead, which is deleted on exit.
+ * <p>
+ * By default, the JVM links each native method on its first call, by looking up its symbol. When the
+ * {@value #REGISTER_NATIVES_PROPERTY} system property is set to {@code true}, the library instead registers all of
+ * its native methods in one pass as it is loaded. On JDK 17, this brought the first call of a native method from
+ * about 20 µs down to about 15 µs, but loading the library from about 1 ms up to about 15 ms, as every FumoCement
+ * class gets loaded up front. This is only worth it for applications using most of the builtin types, and which
+ * are sensitive to the latency of first calls.
+ * <p>
+ * Applications using their own native library, which includes {@code FumoCement.h}, should load it themselves
+ * instead, and may call {@code FumoCement::registerNatives} and {@code FumoCement::prewarm} from their own
+ * {@code JNI_OnLoad}. Once such a library is loaded, {@link #load()} does not load another one, as each copy of the
+ * glue functions would have its own state: libraries depending on it should thus be loaded before calling it.
+ * <p>
+ * <b>Example:</b>
+ * <pre>{@code NativeLibraryLoader.load();
+ * Int32Pointer value = new Int32Pointer();
+ * }</pre>
+ */
+public final class NativeLibraryLoader {
+    /**
+     * The name of the system property giving the path of the native library file to load.
+     */
+    public static final String LIBRARY_PATH_PROPERTY = "fumocement.library.path";
+
+    /**
+     * The name of the system property giving the directory where bundled libraries are extracted.
+     */
+    public static final String CACHE_DIRECTORY_PROPERTY = "fumocement.library.cache";
+
+    /**
+     * The name of the system property which, when set to {@code true}, makes the native library register all of its
+     * native methods when loaded.
+     */
+    public static final String REGISTER_NATIVES_PROPERTY = "fumocement.registerNatives";
+
+    /**
+     * The name of the native library, without any platform-specific prefix or suffix.
+     */
+    public static final String LIBRARY_NAME = "fumocement";
+
+    private static final String HASH_SUFFIX = ".sha256";
+
+    private static @Nullable Path loadedPath;
+    private static boolean loaded;
+
+    private NativeLibraryLoader() {
+    }
+
+    /**
+     * Loads the native library, unless it has already been loaded by this class, or the native methods are already
+     * provided by another library which includes {@code FumoCement.h}.
+     *
+     * @throws UnsatisfiedLinkError when the native library cannot be found or loaded
+     */
+    public static synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        if (NativeMetrics.isNativeLibraryLoaded()) {
+            loaded = true;
+            return;
+        }
+
+        String libraryPath = System.getProperty(LIBRARY_PATH_PROPERTY);
+        if (libraryPath != null) {
+            Path path = Paths.get(libraryPath).toAbsolutePath();
+            System.load(path.toString());
+            loadedPath = path;
+        } else {
+            String resource = getBundledResourceName();
+            if (NativeLibraryLoader.class.getResource(resource) != null) {
+                Path path = extract(resource);
+                System.load(path.toString());
+                loadedPath = path;
+            } else {
+                System.loadLibrary(LIBRARY_NAME);
+            }
+        }
+        loaded = true;
+    }
+
+    /**
+     * Gets the file the native library has been loaded from.
+     *
+     * @return the path of the loaded library, or {@code null} when the library has not been loaded
+     * by this class, has been found using the {@code java.library.path}, or when another library provides
+     * the native methods
+     */
+    public static synchronized @Nullable Path getLoadedPath() {
+        return loadedPath;
+    }
+
+    /**
+     * Gets the name of the resource containing the native library for the current platform.
+     *
+     * @return the name of the bundled library resource
+     */
+    static String getBundledResourceName() {
+        // String concatenation is not used while loading, as bootstrapping it takes a while at startup.
+        return new StringBuilder("/native/")
+                .append(getPlatform())
+                .append('/')
+                .append(System.mapLibraryName(LIBRARY_NAME))
+                .toString();
+    }
+
+    private static String getPlatform() {
+        String os = System.getProperty("os.name").toLowerCase(Locale.ROOT);
+        if (os.startsWith("windows")) {
+            os = "windows";
+        } else if (os.startsWith("mac")) {
+            os = "macos";
+        } else {
+            os = os.replace(' ', '-');
+        }
+
+        String arch = System.getProperty("os.arch").toLowerCase(Locale.ROOT);
+        if (arch.equals("amd64")) {
+            arch = "x86_64";
+        } else if (arch.equals("arm64")) {
+            arch = "aarch64";
+        }
+        return os.concat("-").concat(arch);
+    }
+
+    private static Path extract(String resource) {
+        try {
+            Path cacheDirectory = Files.createDirectories(getCacheDirectory());
+            if (!restrictToOwner(cacheDirectory)) {
+                return extractTemporarily(resource);
+            }
+
+            String hash = readBundledHash(resource);
+            if (hash != null) {
+                Path cachedDirectory = cacheDirectory.resolve(hash);
+                Path cached = cachedDirectory.resolve(getFileName(resource));
+                if (Files.isRegularFile(cached, LinkOption.NOFOLLOW_LINKS)) {
+                    if (!restrictToOwner(cachedDirectory)) {
+                        return extractTemporarily(resource);
+                    }
+                    // The file might have been truncated or modified since extracted, so its content is checked too.
+                    if (restrictToOwner(cached) && hash.equals(hashFile(cached))) {
+                        return cached;
+                    }
+                    Files.delete(cached);
+                }
+            }
+
+            // Either the hash is not bundled, or the library has not been extracted yet, or did not match.
+            Path temporary = Files.createTempFile(cacheDirectory, LIBRARY_NAME, ".tmp");
+            try {
+                String actualHash = copyAndHash(resource, temporary);
+                Path cachedDirectory = Files.createDirectories(cacheDirectory.resolve(actualHash));
+                if (!restrictToOwner(cachedDirectory)) {
+                    return extractTemporarily(resource);
+                }
+                Path cached = cachedDirectory.resolve(getFileName(resource));
+                moveAtomically(temporary, cached);
+                return cached;
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            UnsatisfiedLinkError error = new UnsatisfiedLinkError("Failed to extract the native library " + resource +
+                                                                  ".");
+            error.initCause(e);
+            throw error;
+        }
+    }
+
+    // Another user could replace a library extracted to a directory they own before it gets loaded.
+    private static Path extractTemporarily(String resource) throws IOException {
+        // Temporary directories are only accessible by their owner.
+        Path directory = Files.createTempDirectory(LIBRARY_NAME);
+        directory.toFile().deleteOnExit();
+        Path path = directory.resolve(getFileName(resource));
+        copyAndHash(resource, path);
+        // Files are deleted in the reverse order of registration, so before their directory.
+        path.toFile().deleteOnExit();
+        return path;
+    }
+
+    // Returns whether or not the given file is owned by the current user, in which case its permissions are restricted
+    // so that only this user can modify it. Always true on file systems without POSIX permissions.
+    private static boolean restrictToOwner(Path path) throws IOException {
+        PosixFileAttributeView view = Files.getFileAttributeView(path, PosixFileAttributeView.class);
+        if (view == null) {
+            return true;
+        }
+
+        PosixFileAttributes attributes = view.readAttributes();
+        UserPrincipal user = path.getFileSystem()
+                .getUserPrincipalLookupService()
+                .lookupPrincipalByName(System.getProperty("user.name"));
+        if (!attributes.owner().equals(user)) {
+            return false;
+        }
+
+        Set<PosixFilePermission> permissions = attributes.permissions();
+        if (permissions.remove(PosixFilePermission.GROUP_WRITE) | permissions.remove(PosixFilePermission.OTHERS_WRITE)) {
+            view.setPermissions(permissions);
+        }
+        return true;
+    }
+
+    private static Path getCacheDirectory() {
+        String directory = System.getProperty(CACHE_DIRECTORY_PROPERTY);
+        if (directory != null) {
+            return Paths.get(directory);
+        }
+        return Paths.get(System.getProperty("user.home"), ".cache", LIBRARY_NAME);
+    }
+
+    private static String getFileName(String resource) {
+        return resource.substring(resource.lastIndexOf('/') + 1);
+    }
+
+    private static @Nullable String readBundledHash(String resource) throws IOException {
+        try (InputStream input = NativeLibraryLoader.class.getResourceAsStream(resource.concat(HASH_SUFFIX))) {
+            if (input == null) {
+                return null;
+            }
+            String hash = new String(input.readAllBytes(), StandardCharsets.US_ASCII).trim().toLowerCase(Locale.ROOT);
+            // Only trust something looking like a hash, as it is used as a directory name.
+            return isHexadecimalHash(hash) ? hash : null;
+        }
+    }
+
+    private static boolean isHexadecimalHash(String hash) {
+        if (hash.length() != 64) {
+            return false;
+        }
+        for (int i = 0; i < hash.length(); i++) {
+            char c = hash.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String copyAndHash(String resource, Path target) throws IOException {
+        MessageDigest digest = createDigest();
+        try (InputStream input = NativeLibraryLoader.class.getResourceAsStream(resource)) {
+            if (input == null) {
+                throw new IOException("The resource " + resource + " does not exist.");
+            }
+            Files.copy(new DigestInputStream(input, digest), target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return toHexadecimal(digest.digest());
+    }
+
+    private static String hashFile(Path path) throws IOException {
+        MessageDigest digest = createDigest();
+        try (InputStream input = new DigestInputStream(Files.newInputStream(path, LinkOption.NOFOLLOW_LINKS), digest)) {
+            input.transferTo(OutputStream.nullOutputStream());
+        }
+        return toHexadecimal(digest.digest());
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by this JVM.", e);
+        }
+    }
+
+    private static String toHexadecimal(byte[] bytes) {
+        StringBuilder hexadecimal = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hexadecimal.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hexadecimal.toString();
+    }
+
+    // Other processes may be extracting the same library at the same time, but they all write the same content.
+    private static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Already extracted by another process.
+        } catch (AtomicMoveNotSupportedException e) {
+            try {
+                Files.move(source, target);
+            } catch (FileAlreadyExistsException ignored) {
+                // Already extracted by another process.
+            }
+        }
+    }
+}
@@ -0,0 +1,471 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the lifecycle events of owned {@link NativeObject}s per class, and the lookups of each
+ * {@link NativeObjectTracker}.
+ * <p>
+ * Metrics are disabled by default, and can be enabled by setting the {@value #PROPERTY} system property to
+ * {@code true} before any native object gets created. When disabled, nothing is counted.
+ * When enabled, events are counted using striped counters, so that threads do not contend with each other.
+ * <p>
+ * Metrics can be read using {@link #snapshot()}, or through JMX once {@link #registerMBean()} has been called.
+ * <p>
+ * <b>Example:</b>
+ * <pre>{@code // Launched with -Dfumocement.metrics=true
+ * NativeMetrics.Snapshot snapshot = NativeMetrics.snapshot();
+ * for (NativeMetrics.ClassSnapshot classSnapshot : snapshot.getClasses()) {
+ *   System.out.println(classSnapshot.getClassName() + ": " + classSnapshot.getLiveCount());
+ * }
+ * }</pre>
+ */
+public final class NativeMetrics {
+    /**
+     * The name of the system property enabling metrics.
+     */
+    public static final String PROPERTY = "fumocement.metrics";
+
+    /**
+     * The name of the MBean registered by {@link #registerMBean()}.
+     */
+    public static final String MBEAN_NAME = "com.github.novelrt.fumocement:type=NativeMetrics";
+
+    static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+
+    private static final Queue<ClassCounters> CLASS_COUNTERS = new ConcurrentLinkedQueue<>();
+    // Only the trackers keep their counters reachable, so that trackers which are no longer used can be collected.
+    private static final Queue<WeakReference<TrackerCounters>> TRACKER_COUNTERS = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger TRACKER_IDS = new AtomicInteger();
+
+    private static final ClassValue<ClassCounters> COUNTERS_BY_CLASS = new ClassValue<ClassCounters>() {
+        @Override
+        protected ClassCounters computeValue(Class<?> type) {
+            ClassCounters counters = new ClassCounters(type.getName());
+            if (ENABLED) {
+                CLASS_COUNTERS.add(counters);
+            }
+            return counters;
+        }
+    };
+
+    private NativeMetrics() {
+    }
+
+    /**
+     * Gets whether or not metrics are enabled, using the {@value #PROPERTY} system property.
+     *
+     * @return {@code true} when metrics are enabled
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Takes a snapshot of all the metrics. Counters are read one after the other, so the snapshot
+     * might be slightly inconsistent while objects are being created or deleted.
+     *
+     * @return a snapshot of the metrics
+     */
+    public static Snapshot snapshot() {
+        List<ClassSnapshot> classes = new ArrayList<>();
+        for (ClassCounters counters : CLASS_COUNTERS) {
+            classes.add(counters.snapshot());
+        }
+
+        List<TrackerSnapshot> trackers = new ArrayList<>();
+        for (Iterator<WeakReference<TrackerCounters>> iterator = TRACKER_COUNTERS.iterator(); iterator.hasNext(); ) {
+            TrackerCounters counters = iterator.next().get();
+            if (counters == null) {
+                iterator.remove();
+            } else {
+                trackers.add(counters.snapshot());
+            }
+        }
+
+        return new Snapshot(System.currentTimeMillis(),
+                readBuiltinNativeBytes(),
+                NativeObjectCleaner.getRegisteredCount(),
+                classes,
+                trackers);
+    }
+
+    /**
+     * Registers an MBean exposing these metrics in the platform MBean server, under the name {@value #MBEAN_NAME}.
+     * This does not have any effect when the MBean is already registered.
+     *
+     * @throws IllegalStateException when the MBean cannot be registered
+     */
+    public static void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new MXBeanImpl(), new ObjectName(MBEAN_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // Already registered.
+        } catch (JMException e) {
+            throw new IllegalStateException("Failed to register the NativeMetrics MBean.", e);
+        }
+    }
+
+    static ClassCounters forClass(Class<?> type) {
+        return COUNTERS_BY_CLASS.get(type);
+    }
+
+    static TrackerCounters newTracker(NativeObjectTracker.Target target) {
+        TrackerCounters counters = new TrackerCounters(TRACKER_IDS.incrementAndGet(), target);
+        // Also prune here, in case snapshots are never taken.
+        TRACKER_COUNTERS.removeIf(reference -> reference.get() == null);
+        TRACKER_COUNTERS.add(new WeakReference<>(counters));
+        return counters;
+    }
+
+    private static native long getBuiltinNativeBytes();
+
+    // Whether or not a library defining the glue functions of FumoCement.h is loaded, by calling one of them.
+    static boolean isNativeLibraryLoaded() {
+        try {
+            getBuiltinNativeBytes();
+            return true;
+        } catch (UnsatisfiedLinkError e) {
+            return false;
+        }
+    }
+
+    private static long readBuiltinNativeBytes() {
+        try {
+            return getBuiltinNativeBytes();
+        } catch (UnsatisfiedLinkError e) {
+            // The native library has not been loaded, so no builtin pointer can exist.
+            return 0;
+        }
+    }
+
+    /**
+     * The lifecycle counters of a class, which are only updated when metrics are enabled.
+     * Only the name of the class is kept, so that counting its objects does not prevent it from being unloaded.
+     */
+    static final class ClassCounters {
+        final String className;
+        final LongAdder created = new LongAdder();
+        final LongAdder closed = new LongAdder();
+        final LongAdder cleaned = new LongAdder();
+
+        private ClassCounters(String className) {
+            this.className = className;
+        }
+
+        ClassSnapshot snapshot() {
+            // Read deletions first, so that the live count cannot be negative.
+            long closedCount = closed.sum();
+            long cleanedCount = cleaned.sum();
+            return new ClassSnapshot(className, created.sum(), closedCount, cleanedCount);
+        }
+    }
+
+    /**
+     * The lookup counters of a tracker.
+     */
+    static final class TrackerCounters {
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder creations = new LongAdder();
+        private final int id;
+        private final NativeObjectTracker.Target target;
+
+        private TrackerCounters(int id, NativeObjectTracker.Target target) {
+            this.id = id;
+            this.target = target;
+        }
+
+        TrackerSnapshot snapshot() {
+            return new TrackerSnapshot(id, target.name(), hits.sum(), misses.sum(), creations.sum());
+        }
+    }
+
+    /**
+     * A snapshot of all the metrics.
+     */
+    public static final class Snapshot {
+        private final long timestamp;
+        private final long builtinNativeBytes;
+        private final int pendingCleanupCount;
+        private final List<ClassSnapshot> classes;
+        private final List<TrackerSnapshot> trackers;
+
+        private Snapshot(long timestamp,
+                         long builtinNativeBytes,
+                         int pendingCleanupCount,
+                         List<ClassSnapshot> classes,
+                         List<TrackerSnapshot> trackers) {
+            this.timestamp = timestamp;
+            this.builtinNativeBytes = builtinNativeBytes;
+            this.pendingCleanupCount = pendingCleanupCount;
+            this.classes = Collections.unmodifiableList(classes);
+            this.trackers = Collections.unmodifiableList(trackers);
+        }
+
+        /**
+         * Gets the time at which this snapshot has been taken, in milliseconds since the epoch.
+         *
+         * @return the time of this snapshot
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * Gets the amount of native memory held by builtin pointers allocated using the JNI backend, in bytes.
+         * This is counted natively, even when metrics are disabled.
+         * <p>
+         * Deleting an owned builtin pointer always subtracts its size, even when its handle has not been allocated
+         * by FumoCement, such as one given to {@code Int32Pointer(long, boolean)} with {@code isOwned} set to
+         * {@code true}. Applications doing so see this amount drift below the actual one, and possibly below zero.
+         *
+         * @return the amount of bytes held by builtin pointers
+         */
+        public long getBuiltinNativeBytes() {
+            return builtinNativeBytes;
+        }
+
+        /**
+         * Gets the amount of objects whose native resources will be deleted once garbage collected,
+         * which are either still reachable, or waiting for the background thread to delete them.
+         * This is counted even when metrics are disabled.
+         *
+         * @return the amount of objects pending cleanup
+         */
+        public int getPendingCleanupCount() {
+            return pendingCleanupCount;
+        }
+
+        /**
+         * Gets the metrics of each class which had owned objects created.
+         *
+         * @return the metrics of each class
+         */
+        public List<ClassSnapshot> getClasses() {
+            return classes;
+        }
+
+        /**
+         * Gets the metrics of each tracker which has not been garbage collected.
+         *
+         * @return the metrics of each tracker
+         */
+        public List<TrackerSnapshot> getTrackers() {
+            return trackers;
+        }
+
+        /**
+         * Gets the amount of owned objects which are alive in all classes.
+         *
+         * @return the amount of live owned objects
+         */
+        public long getLiveCount() {
+            long liveCount = 0;
+            for (ClassSnapshot classSnapshot : classes) {
+                liveCount += classSnapshot.getLiveCount();
+            }
+            return liveCount;
+        }
+    }
+
+    /**
+     * A snapshot of the metrics of a {@link NativeObject} class. Only owned objects are counted.
+     */
+    public static final class ClassSnapshot {
+        private final String className;
+        private final long createdCount;
+        private final long closedCount;
+        private final long cleanedCount;
+
+        private ClassSnapshot(String className, long createdCount, long closedCount, long cleanedCount) {
+            this.className = className;
+            this.createdCount = createdCount;
+            this.closedCount = closedCount;
+            this.cleanedCount = cleanedCount;
+        }
+
+        /**
+         * Reconstructs a snapshot read through JMX, which lets {@link NativeMetricsMXBean} proxies return it.
+         *
+         * @param data the data of the snapshot
+         * @return the snapshot
+         */
+        public static ClassSnapshot from(CompositeData data) {
+            return new ClassSnapshot((String) data.get("className"),
+                    (Long) data.get("createdCount"),
+                    (Long) data.get("closedCount"),
+                    (Long) data.get("cleanedCount"));
+        }
+
+        /**
+         * Gets the name of the class.
+         *
+         * @return the name of the class
+         */
+        public String getClassName() {
+            return className;
+        }
+
+        /**
+         * Gets the amount of owned objects created.
+         *
+         * @return the amount of created objects
+         */
+        public long getCreatedCount() {
+            return createdCount;
+        }
+
+        /**
+         * Gets the amount of owned objects which have been deleted using {@link NativeObject#close()}.
+         *
+         * @return the amount of closed objects
+         */
+        public long getClosedCount() {
+            return closedCount;
+        }
+
+        /**
+         * Gets the amount of owned objects which have been deleted after being garbage collected.
+         *
+         * @return the amount of cleaned objects
+         */
+        public long getCleanedCount() {
+            return cleanedCount;
+        }
+
+        /**
+         * Gets the amount of owned objects which have not been deleted yet.
+         *
+         * @return the amount of live objects
+         */
+        public long getLiveCount() {
+            return Math.max(createdCount - closedCount - cleanedCount, 0);
+        }
+    }
+
+    /**
+     * A snapshot of the metrics of a {@link NativeObjectTracker}.
+     */
+    public static final class TrackerSnapshot {
+        private final int id;
+        private final String target;
+        private final long hitCount;
+        private final long missCount;
+        private final long creationCount;
+
+        private TrackerSnapshot(int id, String target, long hitCount, long missCount, long creationCount) {
+            this.id = id;
+            this.target = target;
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.creationCount = creationCount;
+        }
+
+        /**
+         * Reconstructs a snapshot read through JMX, which lets {@link NativeMetricsMXBean} proxies return it.
+         *
+         * @param data the data of the snapshot
+         * @return the snapshot
+         */
+        public static TrackerSnapshot from(CompositeData data) {
+            return new TrackerSnapshot((Integer) data.get("id"),
+                    (String) data.get("target"),
+                    (Long) data.get("hitCount"),
+                    (Long) data.get("missCount"),
+                    (Long) data.get("creationCount"));
+        }
+
+        /**
+         * Gets the identifier of the tracker, given in creation order.
+         *
+         * @return the identifier of the tracker
+         */
+        public int getId() {
+            return id;
+        }
+
+        /**
+         * Gets the name of the {@link NativeObjectTracker.Target} of the tracker.
+         *
+         * @return the target of the tracker
+         */
+        public String getTarget() {
+            return target;
+        }
+
+        /**
+         * Gets the amount of lookups which found a live object.
+         *
+         * @return the amount of hits
+         */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /**
+         * Gets the amount of lookups which did not find a live object without locking.
+         *
+         * @return the amount of misses
+         */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /**
+         * Gets the amount of objects created by the tracker.
+         *
+         * @return the amount of created objects
+         */
+        public long getCreationCount() {
+            return creationCount;
+        }
+    }
+
+    private static final class MXBeanImpl implements NativeMetricsMXBean {
+        @Override
+        public boolean isEnabled() {
+            return ENABLED;
+        }
+
+        @Override
+        public long getBuiltinNativeBytes() {
+            return readBuiltinNativeBytes();
+        }
+
+        @Override
+        public int getPendingCleanupCount() {
+            return NativeObjectCleaner.getRegisteredCount();
+        }
+
+        @Override
+        public long getLiveCount() {
+            return snapshot().getLiveCount();
+        }
+
+        @Override
+        public List<ClassSnapshot> getClasses() {
+            return snapshot().getClasses();
+        }
+
+        @Override
+        public List<TrackerSnapshot> getTrackers() {
+            return snapshot().getTrackers();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement;
+
+import java.util.List;
+
+/**
+ * Exposes {@link NativeMetrics} through JMX.
+ *
+ * @see NativeMetrics#registerMBean()
+ */
+public interface NativeMetricsMXBean {
+    /**
+     * Gets whether or not metrics are enabled.
+     *
+     * @return {@code true} when metrics are enabled
+     * @see NativeMetrics#isEnabled()
+     */
+    boolean isEnabled();
+
+    /**
+     * Gets the amount of native memory held by builtin pointers, in bytes. This drifts when owned builtin pointers
+     * wrap handles which have not been allocated by FumoCement.
+     *
+     * @return the amount of bytes held by builtin pointers
+     * @see NativeMetrics.Snapshot#getBuiltinNativeBytes()
+     */
+    long getBuiltinNativeBytes();
+
+    /**
+     * Gets the amount of objects whose native resources will be deleted once garbage collected.
+     *
+     * @return the amount of objects pending cleanup
+     * @see NativeMetrics.Snapshot#getPendingCleanupCount()
+     */
+    int getPendingCleanupCount();
+
+    /**
+     * Gets the amount of owned objects which are alive in all classes.
+     *
+     * @return the amount of live owned objects
+     * @see NativeMetrics.Snapshot#getLiveCount()
+     */
+    long getLiveCount();
+
+    /**
+     * Gets the metrics of each class which had owned objects created.
+     *
+     * @return the metrics of each class
+     */
+    List<NativeMetrics.ClassSnapshot> getClasses();
+
+    /**
+     * Gets the metrics of each tracker.
+     *
+     * @return the metrics of each tracker
+     */
+    List<NativeMetrics.TrackerSnapshot> getTrackers();
+}
@@ -2,11 +2,14 @@
 
 package com.github.novelrt.fumocement;
 
+import com.github.novelrt.fumocement.internal.NativeObjectCreatedEvent;
+import com.github.novelrt.fumocement.internal.NativeObjectDeletedEvent;
 import org.jetbrains.annotations.Nullable;
 
-import java.lang.ref.Cleaner;
-import java.util.ArrayList;
-import java.util.List;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.ref.Reference;
+import java.util.Arrays;
 
 /**
  * Represents an object managed natively using a handle, which is a native pointer
@@ -15,12 +18,16 @@ import java.util.List;
  * Native objects can be either <i>owned</i>, <i>unowned</i>, or <i>cleaned</i>.<br>
  * Owned objects have native resources under the possession of the JVM, meaning that their {@link HandleDeleter}
  * will be ran once the object gets garbage collected, thus releasing any native resources.
- * This routine is ran by a {@link Cleaner}.<br>
+ * This routine is ran by a background thread, which deletes handles using the same {@link BatchHandleDeleter}
+ * together, or by the thread owning a {@link DisposalQueue} for deferred objects.<br>
  * On the other hand, unowned objects do not have any mechanism running once they
  * get garbage collected. They mainly serve as an access layer to resources managed natively.<br>
  * Finally, a cleaned object has been definitively deleted from the native space, and must not
  * be used anymore.
  * <p>
+ * Native objects can be shared and closed across threads: the transition from owned to cleaned is atomic,
+ * so native resources are only deleted once, even when multiple threads close the same object.
+ * <p>
  * <b>Example:</b>
  * <pre>{@code public class Example extends NativeObject {
  *   public Example() {
@@ -43,11 +50,34 @@ import java.util.List;
  * @see ResourceOwningState
  */
 public abstract class NativeObject implements AutoCloseable {
-    // TODO: Provide compatibility with Java 8 and stop using Cleaner.
-    // Update: Is this really necessary? We don't support Android now thanks to Vulkan 1.2.
-    private static final Cleaner NATIVE_OBJECTS_CLEANER = Cleaner.create();
+    // Stored in place of the state once the native resources have been cleared.
+    private static final Object CLEARED_STATE = new Object();
+
+    private static final VarHandle STATE;
+    private static final VarHandle OTHER_DELETION_STATES;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            STATE = lookup.findVarHandle(NativeObject.class, "state", Object.class);
+            OTHER_DELETION_STATES = lookup.findVarHandle(CleanableState.class, "otherDeletionStates", Object.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
 
-    private final BaseState baseState;
+    private final @Pointer long handle;
+    /*
+     * To keep wrappers small, this is one of:
+     * - null, for unowned objects;
+     * - the HandleDeleter itself, for manually disposed objects, which is usually shared by a whole class;
+     * - a ManualState, for manually disposed objects having other deletion states;
+     * - a CleanableState, for objects disposed once garbage collected, which is also their phantom reference;
+     * - a LeakTrackingState, for manually disposed objects tracked by the LeakDetector;
+     * - CLEARED_STATE, once the native resources have been cleared.
+     * Changes are done using STATE.compareAndSet, while reads are plain, to keep getHandle() cheap.
+     */
+    private @Nullable Object state;
 
     /**
      * Constructs a new native object with the given handle, the native resource owning state,
@@ -64,15 +94,26 @@ public abstract class NativeObject implements AutoCloseable {
                            boolean owned,
                            DisposalMethod disposalMethod,
                            HandleDeleter handleDeleter) {
-        baseState = new BaseState(handle, handleDeleter, ResourceOwningState.fromBoolean(owned));
-        if (owned) {
-            if (handleDeleter == null) {
-                throw new IllegalArgumentException("This NativeObject is owned, but its handleDeleter is null.");
-            }
-            if (disposalMethod == DisposalMethod.GARBAGE_COLLECTED) {
-                NATIVE_OBJECTS_CLEANER.register(this, baseState);
-            }
-        }
+        this(handle, owned, disposalMethod, null, handleDeleter);
+    }
+
+    /**
+     * Constructs a new native object with the given handle, the native resource owning state,
+     * and a {@link HandleDeleter} deleting the native handle. It can be {@code null} if the
+     * {@code owned} parameter is {@code false}. This object will be disposed by the owner thread of the
+     * given {@link DisposalQueue}, once it has been garbage collected.
+     *
+     * @param handle        the native handle
+     * @param owned         whether or not this object owns native resources
+     * @param disposalQueue the queue in which this object is sent once it has been garbage collected
+     * @param handleDeleter the {@link HandleDeleter} to use in order to delete native resources,
+     *                      which can be {@code null} when {@code owned} is false
+     */
+    protected NativeObject(@Pointer long handle,
+                           boolean owned,
+                           DisposalQueue disposalQueue,
+                           HandleDeleter handleDeleter) {
+        this(handle, owned, DisposalMethod.DEFERRED, disposalQueue, handleDeleter);
     }
 
     /**
@@ -86,7 +127,45 @@ public abstract class NativeObject implements AutoCloseable {
      *                      which can be {@code null} when {@code owned} is false
      */
     protected NativeObject(@Pointer long handle, boolean owned, HandleDeleter handleDeleter) {
-        this(handle, owned, DisposalMethod.GARBAGE_COLLECTED, handleDeleter);
+        this(handle, owned, DisposalMethod.GARBAGE_COLLECTED, null, handleDeleter);
+    }
+
+    private NativeObject(@Pointer long handle,
+                         boolean owned,
+                         DisposalMethod disposalMethod,
+                         @Nullable DisposalQueue disposalQueue,
+                         HandleDeleter handleDeleter) {
+        this.handle = handle;
+        if (owned) {
+            if (handleDeleter == null) {
+                throw new IllegalArgumentException("This NativeObject is owned, but its handleDeleter is null.");
+            }
+
+            if (disposalMethod == DisposalMethod.GARBAGE_COLLECTED) {
+                state = register(new CleanableState(this, handle, handleDeleter));
+            } else if (disposalMethod == DisposalMethod.DEFERRED) {
+                if (disposalQueue == null) {
+                    disposalQueue = DisposalQueue.forCurrentThread();
+                }
+                state = register(new DeferredState(this, handle, handleDeleter, disposalQueue));
+            } else if (LeakDetector.shouldTrack()) {
+                state = register(new LeakTrackingState(this, handle, handleDeleter));
+            } else {
+                state = handleDeleter;
+            }
+            if (NativeMetrics.ENABLED) {
+                NativeMetrics.forClass(getClass()).created.increment();
+            }
+        }
+
+        NativeObjectCreatedEvent event = new NativeObjectCreatedEvent();
+        if (event.isEnabled()) {
+            event.objectClass = getClass();
+            event.handle = handle;
+            event.owned = owned;
+            event.disposalMethod = disposalMethod.name();
+            event.commit();
+        }
     }
 
     /**
@@ -98,11 +177,11 @@ public abstract class NativeObject implements AutoCloseable {
      * @throws IllegalStateException when the native resource this object holds has been cleared
      */
     protected @Pointer long getHandle() {
-        if (baseState.resourceOwningState == ResourceOwningState.CLEARED) {
+        if (state == CLEARED_STATE) {
             throw new IllegalStateException("Cannot get the handle of this NativeObject as its native resource has " +
                                             "already been cleared.");
         }
-        return baseState.handle;
+        return handle;
     }
 
     /**
@@ -111,40 +190,110 @@ public abstract class NativeObject implements AutoCloseable {
      * @return the native handle
      */
     protected @Pointer long getHandleUnsafe() {
-        return baseState.handle;
+        return handle;
     }
 
     /**
-     * Gets the the current baseState of native resources owned by this object.
+     * Gets the the current state of native resources owned by this object.
      * <p>
      * This determines if there needs to be a native resource releasing process
      * (a {@link HandleDeleter}) once the object is garbage collected.
      *
-     * @return a {@link ResourceOwningState} indicating the current baseState of native resources
+     * @return a {@link ResourceOwningState} indicating the current state of native resources
      * owned by this object
      */
     protected ResourceOwningState getResourceOwningState() {
-        return baseState.resourceOwningState;
+        Object currentState = state;
+        if (currentState == null) {
+            return ResourceOwningState.UNOWNED;
+        }
+        return currentState == CLEARED_STATE ? ResourceOwningState.CLEARED : ResourceOwningState.OWNED;
     }
 
+    /**
+     * Registers another {@link DeletionState}, which will be ran after the {@link HandleDeleter}
+     * of this object. This does not have any effect when this object does not own its resources.
+     * <p>
+     * Deletion states are meant to be registered while constructing the object, before it is shared.
+     * Deletion states registered once the native resources of this object are being deleted are ignored.
+     *
+     * @param deletionState the deletion state to register
+     */
     protected void registerDeletionState(DeletionState deletionState) {
-        baseState.addDeletionState(deletionState);
+        while (true) {
+            Object currentState = STATE.getAcquire(this);
+            Object newState;
+            if (currentState instanceof CleanableState) {
+                ((CleanableState) currentState).addOtherDeletionState(deletionState);
+                return;
+            } else if (currentState instanceof ManualState) {
+                ManualState manualState = (ManualState) currentState;
+                newState = new ManualState(manualState.handleDeleter,
+                        addDeletionState(manualState.otherDeletionStates, deletionState));
+            } else if (currentState instanceof HandleDeleter) {
+                newState = new ManualState((HandleDeleter) currentState, deletionState);
+            } else {
+                return;
+            }
+
+            if (STATE.compareAndSet(this, currentState, newState)) {
+                return;
+            }
+        }
     }
 
     /**
      * Clears any native resources this object holds.
      * <p>
-     * This does not have any effect when the current resource owning baseState is not
-     * {@link ResourceOwningState#OWNED}.
+     * This does not have any effect when the current resource owning state is not
+     * {@link ResourceOwningState#OWNED}. When multiple threads close this object at the same time,
+     * only one of them deletes the native resources.
      */
     @Override
     public void close() {
-        baseState.deleteAllNativeResources();
+        Object currentState;
+        do {
+            currentState = STATE.getAcquire(this);
+            if (currentState == null || currentState == CLEARED_STATE) {
+                return;
+            }
+        } while (!STATE.compareAndSet(this, currentState, CLEARED_STATE));
+
+        if (NativeMetrics.ENABLED) {
+            NativeMetrics.forClass(getClass()).closed.increment();
+        }
+
+        NativeObjectDeletedEvent event = new NativeObjectDeletedEvent();
+        event.begin();
+        DisposalMethod disposalMethod = DisposalMethod.MANUAL;
+        if (currentState instanceof CleanableState) {
+            CleanableState cleanableState = (CleanableState) currentState;
+            // Unregistering is the guard against the cleaner thread: only one of them can unregister the state.
+            if (NativeObjectCleaner.unregister(cleanableState)) {
+                cleanableState.deleteAllNativeResources();
+            }
+            disposalMethod = cleanableState.getDisposalMethod();
+        } else if (currentState instanceof ManualState) {
+            ManualState manualState = (ManualState) currentState;
+            manualState.handleDeleter.deleteHandle(handle);
+            runDeletionStates(manualState.otherDeletionStates);
+        } else {
+            ((HandleDeleter) currentState).deleteHandle(handle);
+        }
+
+        if (event.shouldCommit()) {
+            event.objectClass = getClass();
+            event.handle = handle;
+            event.disposalMethod = disposalMethod.name();
+            event.commit();
+        }
+        // Otherwise, this object could be found unreachable before its state is unregistered from the cleaner.
+        Reference.reachabilityFence(this);
     }
 
     /**
      * Returns a string representation of this object containing the hexadecimal handle
-     * and the resource owning baseState.
+     * and the resource owning state.
      *
      * @return a string representation of this object
      */
@@ -152,12 +301,42 @@ public abstract class NativeObject implements AutoCloseable {
     public String toString() {
         return String.format("%s{handle=%016X, resourceOwningState=%s}",
                 getClass().getSimpleName(),
-                baseState.handle,
-                baseState.resourceOwningState);
+                handle,
+                getResourceOwningState());
+    }
+
+    private static CleanableState register(CleanableState cleanableState) {
+        NativeObjectCleaner.register(cleanableState);
+        return cleanableState;
+    }
+
+    // Deletion states are stored inline when there is only one of them, or in an array otherwise.
+    private static Object addDeletionState(@Nullable Object deletionStates, DeletionState deletionState) {
+        if (deletionStates == null) {
+            return deletionState;
+        }
+        if (deletionStates instanceof DeletionState) {
+            return new DeletionState[]{(DeletionState) deletionStates, deletionState};
+        }
+
+        DeletionState[] array = (DeletionState[]) deletionStates;
+        array = Arrays.copyOf(array, array.length + 1);
+        array[array.length - 1] = deletionState;
+        return array;
+    }
+
+    private static void runDeletionStates(@Nullable Object deletionStates) {
+        if (deletionStates instanceof DeletionState) {
+            ((DeletionState) deletionStates).deleteNativeResources();
+        } else if (deletionStates != null) {
+            for (DeletionState deletionState : (DeletionState[]) deletionStates) {
+                deletionState.deleteNativeResources();
+            }
+        }
     }
 
     /**
-     * Indicates the baseState for native resources contained in a {@link NativeObject}.
+     * Indicates the state of native resources contained in a {@link NativeObject}.
      */
     public enum ResourceOwningState {
         /**
@@ -185,41 +364,156 @@ public abstract class NativeObject implements AutoCloseable {
         protected abstract void deleteNativeResources();
     }
 
-    private static final class BaseState implements Runnable {
-        public final long handle;
-        public final HandleDeleter handleDeleter;
-        public ResourceOwningState resourceOwningState;
-        public @Nullable List<DeletionState> otherDeletionStates;
+    // Immutable, so that it can be replaced atomically when adding deletion states.
+    private static final class ManualState {
+        private final HandleDeleter handleDeleter;
+        private final Object otherDeletionStates;
+
+        private ManualState(HandleDeleter handleDeleter, Object otherDeletionStates) {
+            this.handleDeleter = handleDeleter;
+            this.otherDeletionStates = otherDeletionStates;
+        }
+    }
+
+    // Either cleaned once the object is unreachable, or deleted by close(). Both unregister it beforehand, and
+    // only the one which actually unregistered it deletes the native resources, so they are only deleted once.
+    private static class CleanableState extends NativeObjectCleaner.Entry {
+        final @Pointer long handle;
+        private final HandleDeleter handleDeleter;
+        // The class of the object, as the object itself cannot be reached anymore once garbage collected.
+        final Class<?> type;
+        // Accessed using OTHER_DELETION_STATES, as the cleaner thread might be reading it while a state is registered.
+        // This becomes CLEARED_STATE once taken for deletion, so that later registrations are ignored.
+        @SuppressWarnings("unused")
+        private @Nullable Object otherDeletionStates;
 
-        private BaseState(long handle, HandleDeleter handleDeleter, ResourceOwningState resourceOwningState) {
+        private CleanableState(NativeObject referent, @Pointer long handle, HandleDeleter handleDeleter) {
+            super(referent);
             this.handle = handle;
             this.handleDeleter = handleDeleter;
-            this.resourceOwningState = resourceOwningState;
+            this.type = referent.getClass();
+        }
+
+        DisposalMethod getDisposalMethod() {
+            return DisposalMethod.GARBAGE_COLLECTED;
+        }
+
+        void addOtherDeletionState(DeletionState deletionState) {
+            Object currentStates;
+            do {
+                currentStates = OTHER_DELETION_STATES.getAcquire(this);
+                if (currentStates == CLEARED_STATE) {
+                    return;
+                }
+            } while (!OTHER_DELETION_STATES.compareAndSet(this,
+                    currentStates,
+                    addDeletionState(currentStates, deletionState)));
+        }
+
+        @Override
+        void clean(NativeObjectCleaner.Batches batches) {
+            if (handleDeleter instanceof BatchHandleDeleter &&
+                OTHER_DELETION_STATES.compareAndSet(this, null, CLEARED_STATE)) {
+                batches.add((BatchHandleDeleter) handleDeleter, handle, this);
+            } else {
+                cleanNow(batches.getObservedNanos());
+            }
         }
 
         @Override
-        public void run() {
+        void afterBatchDeletion(long observedNanos) {
+            onCleaned(null, observedNanos);
+        }
+
+        // Deletes the native resources of the garbage collected object, found unreachable at the given time.
+        void cleanNow(long observedNanos) {
+            NativeObjectDeletedEvent event = new NativeObjectDeletedEvent();
+            event.begin();
             deleteAllNativeResources();
+            onCleaned(event, observedNanos);
         }
 
-        void addDeletionState(DeletionState deletionState) {
-            if (otherDeletionStates == null) {
-                otherDeletionStates = new ArrayList<>(1);
+        void deleteAllNativeResources() {
+            handleDeleter.deleteHandle(handle);
+            runDeletionStates(OTHER_DELETION_STATES.getAndSet(this, CLEARED_STATE));
+        }
+
+        private void onCleaned(@Nullable NativeObjectDeletedEvent event, long observedNanos) {
+            if (NativeMetrics.ENABLED) {
+                NativeMetrics.forClass(type).cleaned.increment();
             }
 
-            otherDeletionStates.add(deletionState);
+            if (event == null) {
+                event = new NativeObjectDeletedEvent();
+            }
+            if (event.shouldCommit()) {
+                event.objectClass = type;
+                event.handle = handle;
+                event.disposalMethod = getDisposalMethod().name();
+                event.garbageCollected = true;
+                event.cleanupDelay = System.nanoTime() - observedNanos;
+                event.commit();
+            }
         }
+    }
 
-        protected void deleteAllNativeResources() {
-            if (resourceOwningState == ResourceOwningState.OWNED) {
-                handleDeleter.deleteHandle(handle);
-                if (otherDeletionStates != null) {
-                    for (DeletionState otherDeletionState : otherDeletionStates) {
-                        otherDeletionState.deleteNativeResources();
-                    }
-                }
-                resourceOwningState = ResourceOwningState.CLEARED;
-            }
+    // Reports the object when it is garbage collected without being closed, leaving its native resources untouched.
+    private static final class LeakTrackingState extends CleanableState {
+        private final Throwable allocationTrace;
+
+        private LeakTrackingState(NativeObject referent, @Pointer long handle, HandleDeleter handleDeleter) {
+            super(referent, handle, handleDeleter);
+            this.allocationTrace = LeakDetector.newAllocationTrace();
+        }
+
+        @Override
+        DisposalMethod getDisposalMethod() {
+            return DisposalMethod.MANUAL;
+        }
+
+        @Override
+        void clean(NativeObjectCleaner.Batches batches) {
+            LeakDetector.report(type, handle, allocationTrace);
+        }
+    }
+
+    private static final class DeferredState extends CleanableState {
+        private final DisposalQueue disposalQueue;
+        // Allocated along with the object, so that the cleaner thread does not allocate when enqueueing it.
+        private final DeferredNode node = new DeferredNode(this);
+
+        private DeferredState(NativeObject referent,
+                              @Pointer long handle,
+                              HandleDeleter handleDeleter,
+                              DisposalQueue disposalQueue) {
+            super(referent, handle, handleDeleter);
+            this.disposalQueue = disposalQueue;
+        }
+
+        @Override
+        DisposalMethod getDisposalMethod() {
+            return DisposalMethod.DEFERRED;
+        }
+
+        @Override
+        void clean(NativeObjectCleaner.Batches batches) {
+            // Published to the owner thread by enqueueing the node.
+            node.observedNanos = batches.getObservedNanos();
+            disposalQueue.enqueue(node);
+        }
+    }
+
+    private static final class DeferredNode extends DisposalQueue.Node {
+        private final DeferredState state;
+        private long observedNanos;
+
+        private DeferredNode(DeferredState state) {
+            this.state = state;
+        }
+
+        @Override
+        void dispose() {
+            state.cleanNow(observedNanos);
         }
     }
 }
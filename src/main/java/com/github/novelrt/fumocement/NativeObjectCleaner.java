@@ -0,0 +1,255 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cleans the native resources of garbage collected {@link NativeObject}s, in place of a
+ * {@link java.lang.ref.Cleaner}.
+ * <p>
+ * The state of each object is itself the phantom reference watching the object, so no other
+ * allocation is needed. A daemon thread waits for objects to be garbage collected, then processes every
+ * other object which is already waiting. Handles using a {@link BatchHandleDeleter} are grouped by deleter,
+ * and each group is deleted using a single call.
+ */
+final class NativeObjectCleaner {
+    private static final int MAX_GROUP_SIZE = 1024;
+    private static final int MAX_GROUP_COUNT = 32;
+
+    private static final ReferenceQueue<NativeObject> QUEUE = new ReferenceQueue<>();
+
+    // Guarded by HEAD.
+    private static int registeredCount;
+
+    // Keeps entries strongly reachable until they are processed.
+    private static final Entry HEAD = new Entry() {
+        @Override
+        void clean(Batches batches) {
+        }
+
+        @Override
+        void afterBatchDeletion(long observedNanos) {
+        }
+    };
+
+    static {
+        Thread thread = new Thread(NativeObjectCleaner::run, "FumoCement Native Object Cleaner");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private NativeObjectCleaner() {
+    }
+
+    /**
+     * Starts watching the referent of the given entry.
+     *
+     * @param entry the entry to register
+     */
+    static void register(Entry entry) {
+        synchronized (HEAD) {
+            entry.next = HEAD.next;
+            entry.previous = HEAD;
+            if (HEAD.next != null) {
+                HEAD.next.previous = entry;
+            }
+            HEAD.next = entry;
+            registeredCount++;
+        }
+    }
+
+    /**
+     * Stops watching the referent of the given entry, when it has already been cleaned.
+     * This does not have any effect when the entry is not registered.
+     * <p>
+     * Both the cleaner thread and {@link NativeObject#close()} unregister entries before deleting their
+     * native resources, and only the one which actually unregistered the entry deletes them.
+     *
+     * @param entry the entry to unregister
+     * @return {@code true} if the entry was registered and has been unregistered by this call
+     */
+    static boolean unregister(Entry entry) {
+        synchronized (HEAD) {
+            if (entry.previous == null) {
+                return false;
+            }
+            entry.previous.next = entry.next;
+            if (entry.next != null) {
+                entry.next.previous = entry.previous;
+            }
+            entry.previous = null;
+            entry.next = null;
+            registeredCount--;
+        }
+        entry.clear();
+        return true;
+    }
+
+    /**
+     * Gets the amount of entries which are registered, whose referent is either still reachable,
+     * or waiting to be cleaned.
+     *
+     * @return the amount of registered entries
+     */
+    static int getRegisteredCount() {
+        synchronized (HEAD) {
+            return registeredCount;
+        }
+    }
+
+    private static void run() {
+        Batches batches = new Batches();
+        while (true) {
+            Entry entry;
+            try {
+                entry = (Entry) QUEUE.remove();
+            } catch (InterruptedException e) {
+                return;
+            }
+            batches.observedNanos = System.nanoTime();
+
+            do {
+                // The object might have been closed in the meantime, which deletes its native resources.
+                if (unregister(entry)) {
+                    try {
+                        entry.clean(batches);
+                    } catch (Throwable ignored) {
+                        // Like Cleaner, exceptions thrown while cleaning are ignored.
+                    }
+                }
+                entry = (Entry) QUEUE.poll();
+            } while (entry != null);
+
+            batches.flush();
+        }
+    }
+
+    /**
+     * The state of a watched object, which must not reference the object itself.
+     */
+    abstract static class Entry extends PhantomReference<NativeObject> {
+        private @Nullable Entry previous;
+        private @Nullable Entry next;
+
+        // Creates the head of the list.
+        private Entry() {
+            super(null, null);
+        }
+
+        Entry(NativeObject referent) {
+            super(referent, QUEUE);
+        }
+
+        /**
+         * Cleans the native resources, once the object has been garbage collected.
+         *
+         * @param batches the batches where handles using a {@link BatchHandleDeleter} can be added
+         */
+        abstract void clean(Batches batches);
+
+        /**
+         * Called once the handle this entry added to a batch has been deleted.
+         *
+         * @param observedNanos the time at which the object has been found unreachable, using
+         *                      {@link System#nanoTime()}
+         */
+        abstract void afterBatchDeletion(long observedNanos);
+    }
+
+    /**
+     * Handles waiting to be deleted, grouped by {@link BatchHandleDeleter}.
+     */
+    static final class Batches {
+        private final List<Group> groups = new ArrayList<>();
+        private long observedNanos;
+
+        private Batches() {
+        }
+
+        /**
+         * Gets the time at which the objects being processed have been found unreachable.
+         *
+         * @return the time, using {@link System#nanoTime()}
+         */
+        long getObservedNanos() {
+            return observedNanos;
+        }
+
+        /**
+         * Adds a handle to delete using the given deleter.
+         *
+         * @param deleter the deleter to use
+         * @param handle  the handle to delete
+         * @param entry   the entry to notify once the handle has been deleted
+         */
+        void add(BatchHandleDeleter deleter, @Pointer long handle, Entry entry) {
+            Group group = null;
+            for (Group existingGroup : groups) {
+                if (existingGroup.deleter == deleter) {
+                    group = existingGroup;
+                    break;
+                }
+            }
+            if (group == null) {
+                group = new Group(this, deleter);
+                groups.add(group);
+            }
+            group.add(handle, entry);
+        }
+
+        private void flush() {
+            for (Group group : groups) {
+                group.flush();
+            }
+            // Deleters are usually shared constants, but avoid growing indefinitely with short-lived ones.
+            if (groups.size() > MAX_GROUP_COUNT) {
+                groups.clear();
+            }
+        }
+    }
+
+    private static final class Group {
+        private final Batches batches;
+        private final BatchHandleDeleter deleter;
+        private final @Pointer long[] handles = new long[MAX_GROUP_SIZE];
+        private final Entry[] entries = new Entry[MAX_GROUP_SIZE];
+        private int count;
+
+        private Group(Batches batches, BatchHandleDeleter deleter) {
+            this.batches = batches;
+            this.deleter = deleter;
+        }
+
+        void add(@Pointer long handle, Entry entry) {
+            handles[count] = handle;
+            entries[count] = entry;
+            count++;
+            if (count == MAX_GROUP_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (count == 0) {
+                return;
+            }
+            try {
+                deleter.deleteHandles(handles, count);
+                for (int i = 0; i < count; i++) {
+                    entries[i].afterBatchDeletion(batches.observedNanos);
+                }
+            } catch (Throwable ignored) {
+                // Like Cleaner, exceptions thrown while cleaning are ignored.
+            }
+            Arrays.fill(entries, 0, count, null);
+            count = 0;
+        }
+    }
+}
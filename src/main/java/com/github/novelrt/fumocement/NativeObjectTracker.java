@@ -2,11 +2,12 @@
 
 package com.github.novelrt.fumocement;
 
+import com.github.novelrt.fumocement.internal.TrackerMissEvent;
+import org.jetbrains.annotations.Nullable;
+
 import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
-import java.util.Map;
-import java.util.WeakHashMap;
 
 /**
  * Contains {@link NativeObject} instances based on its target:
@@ -18,26 +19,101 @@ import java.util.WeakHashMap;
  * This acts as a cache to avoid multiple native objects having the same handle.
  * Objects contained in this tracker are stored inside {@link WeakReference}s, thus
  * letting them getting garbage collected.
+ * <p>
+ * References are stored in a map keyed by primitive handles: looking up an object that is already
+ * tracked does not allocate, and does not take any lock. Trackers can be used from multiple threads.
+ * <p>
+ * Creating and registering objects is done while holding a lock dedicated to a subset of handles,
+ * so that at most one object is ever tracked for a handle, even when several threads request it
+ * at the same time. Objects having different handles can still be created concurrently.
+ * <p>
+ * By default, entries of garbage collected objects are removed when new objects get tracked
+ * ({@link CleanupMode#ON_INSERTION}). Trackers which are mostly read from, or which can stay idle for
+ * a long time, can use a reference queue shared with other trackers instead, drained either by a background thread
+ * ({@link CleanupMode#BACKGROUND_THREAD}) or by calling {@link #drainSharedQueue(int)} ({@link CleanupMode#EXTERNAL}).
+ * Each of these two modes has its own queue, so that the background thread never drains external trackers.
  *
  * @param <T> the type of {@link NativeObject} this tracker contains
  */
 public final class NativeObjectTracker<T extends NativeObject> {
-    private final ReferenceQueue<? super T> referenceQueue = new ReferenceQueue<>();
-    private final Map<@Pointer Long, HandleTrackingWeakReference<? extends T>> map = new WeakHashMap<>();
+    private static final ReferenceQueue<Object> BACKGROUND_QUEUE = new ReferenceQueue<>();
+    private static final ReferenceQueue<Object> EXTERNAL_QUEUE = new ReferenceQueue<>();
+    private static final int DRAIN_BATCH_SIZE = 256;
+
+    private final ReferenceQueue<? super T> referenceQueue;
+    private final HandleMap<HandleTrackingWeakReference<? extends T>> map = new HandleMap<>();
+    private final Object[] stripes = createStripes();
+    private final int stripeShift = Long.numberOfLeadingZeros(stripes.length - 1);
 
     private final NativeObjectFactory<? extends T> factory;
     private final Target target;
+    private final CleanupMode cleanupMode;
+    private final @Nullable NativeMetrics.TrackerCounters metrics;
 
     /**
      * Create a new instance of {@link NativeObjectTracker}, with the given
-     * {@link NativeObjectFactory}.
+     * {@link NativeObjectFactory}, removing the entries of garbage collected objects
+     * on insertion.
      *
      * @param factory the factory used to create native objects
      * @param target  which objects should this tracker track
      */
     public NativeObjectTracker(NativeObjectFactory<? extends T> factory, Target target) {
+        this(factory, target, CleanupMode.ON_INSERTION);
+    }
+
+    /**
+     * Create a new instance of {@link NativeObjectTracker}, with the given
+     * {@link NativeObjectFactory} and {@link CleanupMode}.
+     *
+     * @param factory     the factory used to create native objects
+     * @param target      which objects should this tracker track
+     * @param cleanupMode how entries of garbage collected objects are removed
+     */
+    public NativeObjectTracker(NativeObjectFactory<? extends T> factory, Target target, CleanupMode cleanupMode) {
         this.factory = factory;
         this.target = target;
+        this.cleanupMode = cleanupMode;
+        this.metrics = NativeMetrics.ENABLED ? NativeMetrics.newTracker(target) : null;
+        if (cleanupMode == CleanupMode.ON_INSERTION) {
+            referenceQueue = new ReferenceQueue<>();
+        } else if (cleanupMode == CleanupMode.BACKGROUND_THREAD) {
+            referenceQueue = BACKGROUND_QUEUE;
+            BackgroundDrainer.start();
+        } else {
+            referenceQueue = EXTERNAL_QUEUE;
+        }
+    }
+
+    /**
+     * Removes the entries of garbage collected objects from all {@link CleanupMode#EXTERNAL} trackers,
+     * without blocking. This can be called periodically, for example using an executor, by applications using
+     * {@link CleanupMode#EXTERNAL} trackers.
+     *
+     * @param maxItems the maximum amount of entries to remove
+     * @return the amount of entries removed
+     * @throws IllegalArgumentException when {@code maxItems} is negative
+     */
+    public static int drainSharedQueue(int maxItems) {
+        if (maxItems < 0) {
+            throw new IllegalArgumentException("The maximum amount of entries to remove cannot be negative.");
+        }
+        if (maxItems == 0) {
+            return 0;
+        }
+
+        HandleTrackingWeakReference<?>[] batch =
+                new HandleTrackingWeakReference<?>[Math.min(maxItems, DRAIN_BATCH_SIZE)];
+        int drained = 0;
+        while (drained < maxItems) {
+            int count = pollBatch(EXTERNAL_QUEUE, batch, Math.min(maxItems - drained, batch.length), null);
+            if (count == 0) {
+                break;
+            }
+            removeBatch(batch, count, count < batch.length);
+            drained += count;
+        }
+        return drained;
     }
 
     /**
@@ -49,12 +125,41 @@ public final class NativeObjectTracker<T extends NativeObject> {
      * @return a native object of type {@code T} that owns the given handle
      */
     public T getOrCreate(@Pointer("T*") long handle) {
-        WeakReference<? extends T> reference = map.get(handle);
-        T actualValue = reference == null ? null : reference.get();
+        T actualValue = getAlive(handle);
+        if (actualValue != null) {
+            if (metrics != null) {
+                metrics.hits.increment();
+            }
+            return actualValue;
+        }
+        if (metrics != null) {
+            metrics.misses.increment();
+        }
 
-        if (actualValue == null) {
-            actualValue = factory.createInstance(handle, target.owned);
-            putIntoMap(actualValue);
+        TrackerMissEvent event = new TrackerMissEvent();
+        event.begin();
+        boolean created = false;
+
+        // Entries for a handle are only put while holding its stripe's lock,
+        // so the lookup below cannot miss an object created by another thread.
+        synchronized (getStripe(handle)) {
+            actualValue = getAlive(handle);
+            if (actualValue == null) {
+                actualValue = factory.createInstance(handle, target.owned);
+                putIntoMap(actualValue);
+                created = true;
+                if (metrics != null) {
+                    metrics.creations.increment();
+                }
+            }
+        }
+
+        if (event.shouldCommit()) {
+            event.objectClass = actualValue.getClass();
+            event.handle = handle;
+            event.target = target.name();
+            event.created = created;
+            event.commit();
         }
 
         return actualValue;
@@ -77,15 +182,17 @@ public final class NativeObjectTracker<T extends NativeObject> {
                             "Cannot register this instance as it owns its resource in an unowned object-target tracker.");
         }
 
-        // We still have to check the reference's value as there might be a chance where
-        // this reference might not have been deleted earlier.
-        HandleTrackingWeakReference<? extends T> existingValue = map.get(instance.getHandle());
-        if (existingValue != null && existingValue.get() != null) {
-            throw new IllegalArgumentException("Cannot register this instance as another instance is present " +
-                                               "with the same handle.");
-        }
+        long handle = instance.getHandle();
+        synchronized (getStripe(handle)) {
+            // We still have to check the reference's value as there might be a chance where
+            // this reference might not have been deleted earlier.
+            if (getAlive(handle) != null) {
+                throw new IllegalArgumentException("Cannot register this instance as another instance is present " +
+                                                   "with the same handle.");
+            }
 
-        putIntoMap(instance);
+            putIntoMap(instance);
+        }
     }
 
     /**
@@ -97,18 +204,111 @@ public final class NativeObjectTracker<T extends NativeObject> {
         return target;
     }
 
+    /**
+     * Gets the amount of entries in this tracker, including the ones of garbage collected objects
+     * which have not been removed yet.
+     *
+     * @return the amount of entries
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Gets the way entries of garbage collected objects are removed from this tracker.
+     *
+     * @return the cleanup mode of this tracker
+     */
+    public CleanupMode getCleanupMode() {
+        return cleanupMode;
+    }
+
+    private static Object[] createStripes() {
+        // Use a few stripes per processor to keep contention low, as a power of two.
+        int count = Integer.highestOneBit(Math.max(Runtime.getRuntime().availableProcessors() * 4 - 1, 1)) << 1;
+        Object[] stripes = new Object[Math.min(count, 256)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Object();
+        }
+        return stripes;
+    }
+
+    private Object getStripe(@Pointer long handle) {
+        return stripes[(int) ((handle * 0x9E3779B97F4A7C15L) >>> stripeShift)];
+    }
+
+    private @Nullable T getAlive(@Pointer long handle) {
+        WeakReference<? extends T> reference = map.get(handle);
+        return reference == null ? null : reference.get();
+    }
+
+    // Called with the lock of the instance handle's stripe held.
     private void putIntoMap(T instance) {
         long handle = instance.getHandle();
-        map.put(handle, new HandleTrackingWeakReference<>(instance, handle, referenceQueue));
-        cleanGarbageCollectedObjects();
+        map.put(new HandleTrackingWeakReference<>(instance, handle, referenceQueue, this));
+        if (cleanupMode == CleanupMode.ON_INSERTION) {
+            cleanGarbageCollectedObjects();
+        }
     }
 
+    // Removes a bounded amount of entries per insertion, as this is called with a stripe's lock held: once many objects
+    // have been collected, their removal is spread over the following insertions instead of stalling the first one.
+    @SuppressWarnings("unchecked")
     private void cleanGarbageCollectedObjects() {
-        Reference<?> reference;
+        for (int i = 0; i < DRAIN_BATCH_SIZE; i++) {
+            Reference<?> reference = referenceQueue.poll();
+            if (reference == null) {
+                map.compact();
+                return;
+            }
+            // Only removes this exact reference, as another object with the same handle might have been put since.
+            map.remove((HandleTrackingWeakReference<? extends T>) reference);
+        }
+    }
+
+    // Fills the batch with references from the given shared queue, starting with the given one if any.
+    private static int pollBatch(ReferenceQueue<Object> queue,
+                                 HandleTrackingWeakReference<?>[] batch,
+                                 int maxCount,
+                                 @Nullable Reference<?> first) {
+        int count = 0;
+        Reference<?> reference = first;
+        if (reference == null) {
+            reference = queue.poll();
+        }
+        while (reference != null) {
+            batch[count++] = (HandleTrackingWeakReference<?>) reference;
+            if (count == maxCount) {
+                break;
+            }
+            reference = queue.poll();
+        }
+        return count;
+    }
+
+    // Removes consecutive references of the same tracker while holding its map's lock only once.
+    // Maps are only compacted once the queue has been emptied, rather than between batches.
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void removeBatch(HandleTrackingWeakReference<?>[] batch, int count, boolean drained) {
+        int start = 0;
+        while (start < count) {
+            NativeObjectTracker<?> tracker = batch[start].tracker;
+            int end = start + 1;
+            while (end < count && batch[end].tracker == tracker) {
+                end++;
+            }
 
-        while ((reference = referenceQueue.poll()) != null) {
-            HandleTrackingWeakReference<?> handleRef = (HandleTrackingWeakReference<?>) reference;
-            map.remove(handleRef.getHandle());
+            HandleMap map = tracker.map;
+            synchronized (map) {
+                for (int i = start; i < end; i++) {
+                    map.remove(batch[i]);
+                    batch[i] = null;
+                }
+                if (drained) {
+                    map.compact();
+                }
+            }
+            start = end;
         }
     }
 
@@ -139,16 +339,72 @@ public final class NativeObjectTracker<T extends NativeObject> {
         }
     }
 
-    private static final class HandleTrackingWeakReference<T> extends WeakReference<T> {
+    /**
+     * Defines when the entries of garbage collected objects are removed from a tracker.
+     */
+    public enum CleanupMode {
+        /**
+         * Entries are removed by the tracker itself, each time a new object gets tracked.
+         */
+        ON_INSERTION,
+        /**
+         * Entries are removed by a daemon thread shared by all trackers, as soon as their objects
+         * have been garbage collected.
+         */
+        BACKGROUND_THREAD,
+        /**
+         * Entries are removed when {@link NativeObjectTracker#drainSharedQueue(int)} gets called,
+         * which is up to the application.
+         */
+        EXTERNAL
+    }
+
+    private static final class HandleTrackingWeakReference<T> extends WeakReference<T>
+            implements HandleMap.HandleReference {
         private final long handle;
+        private final NativeObjectTracker<?> tracker;
 
-        public HandleTrackingWeakReference(T referent, long handle, ReferenceQueue<? super T> q) {
+        public HandleTrackingWeakReference(T referent,
+                                           long handle,
+                                           ReferenceQueue<? super T> q,
+                                           NativeObjectTracker<?> tracker) {
             super(referent, q);
             this.handle = handle;
+            this.tracker = tracker;
         }
 
+        @Override
         public long getHandle() {
             return handle;
         }
     }
+
+    private static final class BackgroundDrainer implements Runnable {
+        private static final Thread THREAD;
+
+        static {
+            THREAD = new Thread(new BackgroundDrainer(), "FumoCement NativeObjectTracker Drainer");
+            THREAD.setDaemon(true);
+            THREAD.start();
+        }
+
+        // Starts the thread by initializing this class.
+        static void start() {
+        }
+
+        @Override
+        public void run() {
+            HandleTrackingWeakReference<?>[] batch = new HandleTrackingWeakReference<?>[DRAIN_BATCH_SIZE];
+            while (true) {
+                Reference<?> first;
+                try {
+                    first = BACKGROUND_QUEUE.remove();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                int count = pollBatch(BACKGROUND_QUEUE, batch, batch.length, first);
+                removeBatch(batch, count, count < batch.length);
+            }
+        }
+    }
 }
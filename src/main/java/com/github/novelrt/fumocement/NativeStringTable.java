@@ -0,0 +1,290 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A table of long-lived native copies of Java strings, for strings passed to native code over and over,
+ * such as resource keys or uniform names.
+ * <p>
+ * Getting the native copy of a string already in the table costs a single hash lookup, without any native call.
+ * The table is bounded by a maximum amount of strings and a maximum amount of native bytes: when it is full,
+ * strings which have not been used recently are evicted using the CLOCK algorithm.
+ * <p>
+ * As other threads might still be using them, evicted strings are not deleted right away, but once
+ * {@link #reclaim()} gets called, for example at the end of each frame. A pointer given by {@link #get(String)}
+ * is therefore valid until the next call to {@link #reclaim()}, or until the table gets closed. So that tables
+ * which are never reclaimed do not grow without bound, at most {@code maxSize} evicted strings are kept: past that,
+ * each eviction deletes the string evicted the longest ago, whose pointer becomes invalid.
+ * <p>
+ * Tables are thread-safe. Looking up strings is lock-free, while adding them is not.
+ * <p>
+ * <b>Example:</b>
+ * <pre>{@code NativeStringTable uniforms = new NativeStringTable(StandardCharsets.UTF_8, 1024, 64 * 1024);
+ * // Each frame:
+ * setUniform(shader.getHandle(), uniforms.get("u_projection"), projection.getHandle());
+ * // ...
+ * uniforms.reclaim();
+ * }</pre>
+ */
+public final class NativeStringTable implements AutoCloseable {
+    private final Charset charset;
+    private final int maxSize;
+    private final long maxByteSize;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    // All the following fields are guarded by this.
+    private Entry[] clock = new Entry[16];
+    private int clockSize;
+    private int clockHand;
+    private long byteSize;
+    private @Pointer("char*") long[] retired = new long[16];
+    private int retiredCount;
+    // Once maxSize strings are retired, they are replaced starting with this index, which is the oldest one.
+    private int oldestRetired;
+    private final @Pointer("char*") long[] overflowing = new long[1];
+    private boolean closed;
+
+    /**
+     * Creates a new {@link NativeStringTable}.
+     *
+     * @param charset     the charset to encode the strings with
+     * @param maxSize     the maximum amount of strings in the table
+     * @param maxByteSize the maximum amount of native bytes used by the strings in the table,
+     *                    including their null terminators
+     * @throws IllegalArgumentException when {@code maxSize} or {@code maxByteSize} is not positive
+     */
+    public NativeStringTable(Charset charset, int maxSize, long maxByteSize) {
+        if (maxSize <= 0 || maxByteSize <= 0) {
+            throw new IllegalArgumentException("The maximum size of a string table must be positive.");
+        }
+        this.charset = charset;
+        this.maxSize = maxSize;
+        this.maxByteSize = maxByteSize;
+    }
+
+    private static native @Pointer("char*") long newString(byte[] bytes);
+
+    private static native void deleteStrings(@Pointer("char*") long[] strings, int count);
+
+    /**
+     * Gets the native copy of the given string, adding it to the table if necessary.
+     * <p>
+     * A string bigger than the maximum byte size of the table is still added, and evicts every other string.
+     *
+     * @param string the string
+     * @return a pointer to the null-terminated native copy of the string, valid until the next call
+     * to {@link #reclaim()}, or until {@code maxSize} other strings have been evicted after it
+     * @throws IllegalStateException when this table has been closed
+     * @throws OutOfMemoryError      when the native copy could not be allocated
+     */
+    public @Pointer("char*") long get(String string) {
+        Entry entry = entries.get(string);
+        if (entry != null) {
+            hitCount.increment();
+            // Avoid writing to a shared cache line when the entry is already marked.
+            if (!entry.referenced) {
+                entry.referenced = true;
+            }
+            return entry.string;
+        }
+        return add(string);
+    }
+
+    private synchronized @Pointer("char*") long add(String string) {
+        if (closed) {
+            throw new IllegalStateException("The string table has been closed.");
+        }
+
+        // Another thread might have added the string in the meantime.
+        Entry entry = entries.get(string);
+        if (entry != null) {
+            hitCount.increment();
+            entry.referenced = true;
+            return entry.string;
+        }
+
+        missCount.increment();
+        byte[] bytes = string.getBytes(charset);
+        long nativeString = newString(bytes);
+        if (nativeString == Pointers.NULLPTR) {
+            throw new OutOfMemoryError("Could not allocate the native copy of a string.");
+        }
+
+        entry = new Entry(string, nativeString, bytes.length + 1L);
+        if (clockSize == clock.length) {
+            clock = Arrays.copyOf(clock, clockSize * 2);
+        }
+        clock[clockSize++] = entry;
+        byteSize += entry.byteSize;
+        entries.put(string, entry);
+
+        while (clockSize > maxSize || (byteSize > maxByteSize && clockSize > 1)) {
+            evictOne(entry);
+        }
+        return nativeString;
+    }
+
+    // Evicts the first entry which has not been referenced since the hand last went past it, other than the given one.
+    private void evictOne(Entry added) {
+        while (true) {
+            if (clockHand >= clockSize) {
+                clockHand = 0;
+            }
+
+            Entry entry = clock[clockHand];
+            if (entry == added || entry.referenced) {
+                entry.referenced = false;
+                clockHand++;
+                continue;
+            }
+
+            // Move the last entry in place of the evicted one, so that the clock stays compact.
+            clock[clockHand] = clock[--clockSize];
+            clock[clockSize] = null;
+            entries.remove(entry.key, entry);
+            byteSize -= entry.byteSize;
+            retire(entry.string);
+            evictionCount.increment();
+            return;
+        }
+    }
+
+    private void retire(@Pointer("char*") long string) {
+        if (retiredCount < maxSize) {
+            if (retiredCount == retired.length) {
+                retired = Arrays.copyOf(retired, (int) Math.min(retiredCount * 2L, maxSize));
+            }
+            retired[retiredCount++] = string;
+            return;
+        }
+
+        overflowing[0] = retired[oldestRetired];
+        deleteStrings(overflowing, 1);
+        retired[oldestRetired] = string;
+        oldestRetired = (oldestRetired + 1) % maxSize;
+    }
+
+    /**
+     * Deletes the native copies of the strings evicted since the last call to this method.
+     * <p>
+     * This must only be called when no pointer given by {@link #get(String)} before the call is in use anymore.
+     *
+     * @return the amount of deleted strings
+     */
+    public synchronized int reclaim() {
+        int count = retiredCount;
+        if (count > 0) {
+            deleteStrings(retired, count);
+            retiredCount = 0;
+            oldestRetired = 0;
+        }
+        return count;
+    }
+
+    /**
+     * Removes all the strings from the table. Their native copies are deleted on the next call to {@link #reclaim()}.
+     */
+    public synchronized void clear() {
+        for (int i = 0; i < clockSize; i++) {
+            Entry entry = clock[i];
+            entries.remove(entry.key, entry);
+            retire(entry.string);
+            clock[i] = null;
+        }
+        clockSize = 0;
+        clockHand = 0;
+        byteSize = 0;
+    }
+
+    /**
+     * Gets the charset used to encode the strings.
+     *
+     * @return the charset of the strings
+     */
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * Gets the amount of strings in the table.
+     *
+     * @return the amount of strings
+     */
+    public synchronized int size() {
+        return clockSize;
+    }
+
+    /**
+     * Gets the amount of native bytes used by the strings in the table, excluding the evicted ones.
+     *
+     * @return the amount of native bytes
+     */
+    public synchronized long getByteSize() {
+        return byteSize;
+    }
+
+    /**
+     * Gets the amount of calls to {@link #get(String)} which found the string in the table.
+     *
+     * @return the amount of hits
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Gets the amount of calls to {@link #get(String)} which had to add the string to the table.
+     *
+     * @return the amount of misses
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Gets the amount of strings evicted from the table because it was full.
+     *
+     * @return the amount of evictions
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * Deletes the native copies of all the strings of the table, including the evicted ones.
+     * The table cannot be used anymore afterwards.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        clear();
+        reclaim();
+    }
+
+    private static final class Entry {
+        final String key;
+        final @Pointer("char*") long string;
+        final long byteSize;
+        // Set on every hit, and cleared when the clock hand goes past the entry.
+        volatile boolean referenced;
+
+        Entry(String key, @Pointer("char*") long string, long byteSize) {
+            this.key = key;
+            this.string = string;
+            this.byteSize = byteSize;
+        }
+    }
+}
@@ -0,0 +1,533 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Contains tools to read native null-terminated strings ({@code char*}) directly from native memory,
+ * without any JNI call nor any intermediate array.
+ * <p>
+ * Strings can be decoded into a reusable {@link StringBuilder} or {@link CharBuffer}, which does not allocate
+ * anything for ISO-8859-1 strings, ASCII strings and well-formed UTF-8 strings. Other strings are decoded by
+ * a {@link CharsetDecoder} viewing the native memory, which replaces malformed input like
+ * {@link String#String(byte[], Charset)} does.
+ * <p>
+ * Java strings can also be passed to native code without any garbage, by encoding them into a per-thread
+ * stack of native memory using {@link #push(String, Charset)}. ISO-8859-1, ASCII and UTF-8 strings are encoded
+ * by fast paths, and pure ASCII strings are copied as-is. Strings pushed after a {@link #mark()} are popped
+ * by {@link #release(long)}:
+ * <pre>{@code long mark = NativeStrings.mark();
+ * try {
+ *   setText(label.getHandle(), NativeStrings.push(text, StandardCharsets.UTF_8));
+ * } finally {
+ *   NativeStrings.release(mark);
+ * }
+ * }</pre>
+ * <p>
+ * Apart from null pointers, which are rejected with a {@link NullPointerException}, no checks are made: the given
+ * pointers must point to valid null-terminated strings.
+ */
+public final class NativeStrings {
+    // Scratch arrays above this size are not kept, so that reading a huge string once does not retain it.
+    private static final int MAX_RETAINED_SCRATCH_SIZE = 64 * 1024;
+
+    // The size of the chunks of the pushed strings stack. Bigger strings are given a dedicated chunk.
+    private static final int STACK_CHUNK_SIZE = 16 * 1024;
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private NativeStrings() {
+    }
+
+    private static native void deleteString(@Pointer("char*") long string);
+
+    /**
+     * Deletes a string allocated using {@code new char[]}, as done by {@link StringDeletionBehaviour#DELETE}.
+     *
+     * @param string the string to delete
+     */
+    public static void delete(@Pointer("char*") long string) {
+        deleteString(string);
+    }
+
+    /**
+     * Gets the length of a string, which is the value of {@code strlen(string)}.
+     *
+     * @param string the string
+     * @return the length of the string, in bytes, excluding its null terminator
+     * @throws NullPointerException     when the string is a null pointer
+     * @throws IllegalArgumentException when the string is too long to be read as a Java string
+     */
+    public static int getLength(@Pointer("char*") long string) {
+        return length(checkNotNull(string));
+    }
+
+    // Reading a null pointer would crash the JVM, instead of throwing like the JNI path used to.
+    private static @Pointer("char*") long checkNotNull(@Pointer("char*") long string) {
+        if (string == Pointers.NULLPTR) {
+            throw new NullPointerException("The string is a null pointer.");
+        }
+        return string;
+    }
+
+    private static int length(@Pointer("char*") long string) {
+        int length = 0;
+        while (Pointers.getChar(string, length) != 0) {
+            if (++length == Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("The string is too long to be read.");
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Creates a read-only {@code ByteBuffer} viewing the bytes of a string, excluding its null terminator,
+     * without copying them.
+     * <p>
+     * The buffer must not be used once the string has been deleted.
+     *
+     * @param string the string
+     * @return a byte buffer viewing the string
+     * @throws NullPointerException when the string is a null pointer
+     */
+    public static ByteBuffer asByteBuffer(@Pointer("char*") long string) {
+        checkNotNull(string);
+        return Pointers.asByteBuffer(string, length(string)).asReadOnlyBuffer();
+    }
+
+    /**
+     * Reads a string as a Java string.
+     *
+     * @param string  the string
+     * @param charset the charset of the string
+     * @return the Java string
+     * @throws NullPointerException when the string is a null pointer
+     */
+    public static String toString(@Pointer("char*") long string, Charset charset) {
+        checkNotNull(string);
+        int length = length(string);
+        byte[] bytes = new byte[length];
+        Pointers.copyToArray(string, bytes, 0, length);
+        return new String(bytes, charset);
+    }
+
+    /**
+     * Decodes a string, and appends its characters to the given builder.
+     *
+     * @param string      the string
+     * @param charset     the charset of the string
+     * @param destination the builder to append the characters to
+     * @return the amount of appended characters
+     * @throws NullPointerException when the string is a null pointer
+     */
+    public static int decode(@Pointer("char*") long string, Charset charset, StringBuilder destination) {
+        checkNotNull(string);
+        Scratch scratch = SCRATCH.get();
+        int count = decode(string, length(string), charset, scratch);
+        destination.append(scratch.chars, 0, count);
+        scratch.release();
+        return count;
+    }
+
+    /**
+     * Decodes a string, and puts its characters into the given buffer, starting at its current position.
+     *
+     * @param string      the string
+     * @param charset     the charset of the string
+     * @param destination the buffer to put the characters into
+     * @return the amount of characters put into the buffer
+     * @throws NullPointerException    when the string is a null pointer
+     * @throws BufferOverflowException when the buffer does not have enough space remaining for all the characters,
+     *                                 in which case it is left untouched
+     */
+    public static int decode(@Pointer("char*") long string, Charset charset, CharBuffer destination) {
+        checkNotNull(string);
+        Scratch scratch = SCRATCH.get();
+        int count = decode(string, length(string), charset, scratch);
+        if (count > destination.remaining()) {
+            scratch.release();
+            throw new BufferOverflowException();
+        }
+        destination.put(scratch.chars, 0, count);
+        scratch.release();
+        return count;
+    }
+
+    // Decodes the string into the scratch array, and returns the amount of decoded characters.
+    private static int decode(@Pointer long string, int length, Charset charset, Scratch scratch) {
+        // No charset decodes more than one character per byte using the fast paths.
+        char[] chars = scratch.getChars(length);
+        int count = -1;
+        if (charset.equals(StandardCharsets.ISO_8859_1)) {
+            count = decodeLatin1(string, length, chars);
+        } else if (charset.equals(StandardCharsets.US_ASCII)) {
+            count = decodeAscii(string, length, chars);
+        } else if (charset.equals(StandardCharsets.UTF_8)) {
+            count = decodeUtf8(string, length, chars);
+        }
+        return count >= 0 ? count : decodeWithDecoder(string, length, charset, scratch);
+    }
+
+    private static int decodeLatin1(@Pointer long string, int length, char[] chars) {
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) (Pointers.getChar(string, i) & 0xFF);
+        }
+        return length;
+    }
+
+    // Returns -1 when the string is not made of ASCII characters only.
+    private static int decodeAscii(@Pointer long string, int length, char[] chars) {
+        for (int i = 0; i < length; i++) {
+            byte b = Pointers.getChar(string, i);
+            if (b < 0) {
+                return -1;
+            }
+            chars[i] = (char) b;
+        }
+        return length;
+    }
+
+    // Returns -1 when the string is not well-formed UTF-8, as defined by the table 3-7 of the Unicode standard,
+    // so that malformed input gets replaced by the decoder exactly like String does.
+    private static int decodeUtf8(@Pointer long string, int length, char[] chars) {
+        int count = 0;
+        int i = 0;
+        while (i < length) {
+            int b0 = Pointers.getChar(string, i);
+            if (b0 >= 0) {
+                chars[count++] = (char) b0;
+                i++;
+                continue;
+            }
+
+            b0 &= 0xFF;
+            if (b0 >= 0xC2 && b0 <= 0xDF) {
+                if (i + 1 >= length) {
+                    return -1;
+                }
+                int b1 = Pointers.getChar(string, i + 1) & 0xFF;
+                if (!isContinuation(b1, 0x80, 0xBF)) {
+                    return -1;
+                }
+                chars[count++] = (char) (((b0 & 0x1F) << 6) | (b1 & 0x3F));
+                i += 2;
+            } else if (b0 >= 0xE0 && b0 <= 0xEF) {
+                if (i + 2 >= length) {
+                    return -1;
+                }
+                int b1 = Pointers.getChar(string, i + 1) & 0xFF;
+                int b2 = Pointers.getChar(string, i + 2) & 0xFF;
+                int min = b0 == 0xE0 ? 0xA0 : 0x80;
+                int max = b0 == 0xED ? 0x9F : 0xBF;
+                if (!isContinuation(b1, min, max) || !isContinuation(b2, 0x80, 0xBF)) {
+                    return -1;
+                }
+                chars[count++] = (char) (((b0 & 0x0F) << 12) | ((b1 & 0x3F) << 6) | (b2 & 0x3F));
+                i += 3;
+            } else if (b0 >= 0xF0 && b0 <= 0xF4) {
+                if (i + 3 >= length) {
+                    return -1;
+                }
+                int b1 = Pointers.getChar(string, i + 1) & 0xFF;
+                int b2 = Pointers.getChar(string, i + 2) & 0xFF;
+                int b3 = Pointers.getChar(string, i + 3) & 0xFF;
+                int min = b0 == 0xF0 ? 0x90 : 0x80;
+                int max = b0 == 0xF4 ? 0x8F : 0xBF;
+                if (!isContinuation(b1, min, max) || !isContinuation(b2, 0x80, 0xBF) ||
+                    !isContinuation(b3, 0x80, 0xBF)) {
+                    return -1;
+                }
+                int codePoint = ((b0 & 0x07) << 18) | ((b1 & 0x3F) << 12) | ((b2 & 0x3F) << 6) | (b3 & 0x3F);
+                chars[count++] = Character.highSurrogate(codePoint);
+                chars[count++] = Character.lowSurrogate(codePoint);
+                i += 4;
+            } else {
+                return -1;
+            }
+        }
+        return count;
+    }
+
+    private static boolean isContinuation(int b, int min, int max) {
+        return b >= min && b <= max;
+    }
+
+    private static int decodeWithDecoder(@Pointer long string, int length, Charset charset, Scratch scratch) {
+        ByteBuffer input = Pointers.asByteBuffer(string, length);
+        CharsetDecoder decoder = scratch.getDecoder(charset);
+        int capacity = (int) Math.min(Integer.MAX_VALUE - 8L, (long) Math.ceil(length * decoder.maxCharsPerByte()));
+        while (true) {
+            CharBuffer output = CharBuffer.wrap(scratch.getChars(capacity));
+            CoderResult result = decoder.reset().decode(input, output, true);
+            if (!result.isOverflow()) {
+                result = decoder.flush(output);
+            }
+            if (!result.isOverflow()) {
+                return output.position();
+            }
+
+            // Stateful decoders may need more room than announced.
+            input.rewind();
+            capacity = (int) Math.min(Integer.MAX_VALUE - 8L, capacity * 2L + 16);
+        }
+    }
+
+    /**
+     * Gets the current position of the pushed strings stack of the current thread, to be given
+     * to {@link #release(long)} once the strings pushed after it are no longer used.
+     *
+     * @return the current position of the stack
+     */
+    public static long mark() {
+        return SCRATCH.get().mark();
+    }
+
+    /**
+     * Pops all the strings pushed by the current thread after the given mark. Their pointers must not be used
+     * anymore.
+     *
+     * @param mark the position of the stack, as given by {@link #mark()} on the current thread
+     */
+    public static void release(long mark) {
+        SCRATCH.get().release(mark);
+    }
+
+    /**
+     * Encodes a Java string as a null-terminated string onto the pushed strings stack of the current thread,
+     * without allocating anything in most cases.
+     * <p>
+     * The string is valid until it is popped by {@link #release(long)}, and must only be read by native code,
+     * as it can be overwritten by the next push once popped. Unmappable characters are replaced like
+     * {@link String#getBytes(Charset)} does. Null characters are copied as-is, which ends the string early.
+     *
+     * @param string  the Java string
+     * @param charset the charset to encode the string with
+     * @return a pointer to the encoded string
+     */
+    public static @Pointer("char*") long push(String string, Charset charset) {
+        Scratch scratch = SCRATCH.get();
+        int length = string.length();
+        boolean asciiCompatible = charset.equals(StandardCharsets.UTF_8) ||
+                                  charset.equals(StandardCharsets.ISO_8859_1) ||
+                                  charset.equals(StandardCharsets.US_ASCII);
+        if (asciiCompatible && isAscii(string)) {
+            ByteBuffer chunk = scratch.reserve(length + 1L);
+            int start = chunk.position();
+            for (int i = 0; i < length; i++) {
+                chunk.put(start + i, (byte) string.charAt(i));
+            }
+            return scratch.commit(length);
+        }
+
+        if (charset.equals(StandardCharsets.UTF_8)) {
+            // A UTF-8 sequence is at most 3 bytes per char, as 4-byte sequences take a surrogate pair.
+            return scratch.commit(encodeUtf8(string, scratch.reserve(length * 3L + 1)));
+        } else if (charset.equals(StandardCharsets.ISO_8859_1)) {
+            return scratch.commit(encodeSingleByte(string, scratch.reserve(length + 1L), 0xFF));
+        } else if (charset.equals(StandardCharsets.US_ASCII)) {
+            return scratch.commit(encodeSingleByte(string, scratch.reserve(length + 1L), 0x7F));
+        }
+        return pushWithEncoder(string, charset, scratch);
+    }
+
+    private static boolean isAscii(String string) {
+        for (int i = 0; i < string.length(); i++) {
+            if (string.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Returns the amount of encoded bytes, written from the position of the chunk.
+    private static int encodeUtf8(String string, ByteBuffer chunk) {
+        int start = chunk.position();
+        int index = start;
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            if (c < 0x80) {
+                chunk.put(index++, (byte) c);
+            } else if (c < 0x800) {
+                chunk.put(index++, (byte) (0xC0 | (c >> 6)));
+                chunk.put(index++, (byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < string.length() &&
+                       Character.isLowSurrogate(string.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, string.charAt(++i));
+                chunk.put(index++, (byte) (0xF0 | (codePoint >> 18)));
+                chunk.put(index++, (byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                chunk.put(index++, (byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                chunk.put(index++, (byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                chunk.put(index++, (byte) '?');
+            } else {
+                chunk.put(index++, (byte) (0xE0 | (c >> 12)));
+                chunk.put(index++, (byte) (0x80 | ((c >> 6) & 0x3F)));
+                chunk.put(index++, (byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        return index - start;
+    }
+
+    // Returns the amount of encoded bytes, written from the position of the chunk.
+    private static int encodeSingleByte(String string, ByteBuffer chunk, int maxChar) {
+        int start = chunk.position();
+        int index = start;
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            if (c <= maxChar) {
+                chunk.put(index++, (byte) c);
+            } else {
+                // A surrogate pair is a single unmappable character.
+                if (Character.isHighSurrogate(c) && i + 1 < string.length() &&
+                    Character.isLowSurrogate(string.charAt(i + 1))) {
+                    i++;
+                }
+                chunk.put(index++, (byte) '?');
+            }
+        }
+        return index - start;
+    }
+
+    private static @Pointer long pushWithEncoder(String string, Charset charset, Scratch scratch) {
+        CharsetEncoder encoder = scratch.getEncoder(charset);
+        long capacity = (long) Math.ceil(string.length() * (double) encoder.maxBytesPerChar()) + 1;
+        while (true) {
+            ByteBuffer output = scratch.reserve(capacity).slice();
+            // Keep room for the null terminator.
+            output.limit(output.capacity() - 1);
+            CoderResult result = encoder.reset().encode(CharBuffer.wrap(string), output, true);
+            if (!result.isOverflow()) {
+                result = encoder.flush(output);
+            }
+            if (!result.isOverflow()) {
+                return scratch.commit(output.position());
+            }
+
+            // Stateful encoders may need more room than announced.
+            capacity = capacity * 2 + 16;
+        }
+    }
+
+    private static final class Scratch {
+        private char[] chars = new char[256];
+        private CharsetDecoder decoder = newDecoder(StandardCharsets.UTF_8);
+        private CharsetEncoder encoder = newEncoder(StandardCharsets.UTF_8);
+
+        // The pushed strings stack, made of direct buffers of which only the first stackChunkCount are used.
+        private ByteBuffer[] stackChunks = new ByteBuffer[1];
+        private @Pointer long[] stackChunkAddresses = new long[1];
+        private int stackChunkCount;
+
+        private static CharsetDecoder newDecoder(Charset charset) {
+            return charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+
+        private static CharsetEncoder newEncoder(Charset charset) {
+            return charset.newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+
+        char[] getChars(int size) {
+            if (chars.length < size) {
+                chars = new char[Math.max(size, chars.length * 2)];
+            }
+            return chars;
+        }
+
+        CharsetDecoder getDecoder(Charset charset) {
+            if (!decoder.charset().equals(charset)) {
+                decoder = newDecoder(charset);
+            }
+            return decoder;
+        }
+
+        CharsetEncoder getEncoder(Charset charset) {
+            if (!encoder.charset().equals(charset)) {
+                encoder = newEncoder(charset);
+            }
+            return encoder;
+        }
+
+        // The mark holds the index of the current chunk in its upper half, and its position in its lower half.
+        long mark() {
+            if (stackChunkCount == 0) {
+                return 0;
+            }
+            int index = stackChunkCount - 1;
+            return ((long) index << 32) | stackChunks[index].position();
+        }
+
+        void release(long mark) {
+            if (stackChunkCount == 0) {
+                return;
+            }
+
+            int index = (int) (mark >>> 32);
+            int position = (int) mark;
+            if (index >= stackChunkCount || position > stackChunks[index].position()) {
+                throw new IllegalArgumentException("The mark is ahead of the current position of the stack.");
+            }
+            for (int i = index + 1; i < stackChunkCount; i++) {
+                // Dedicated chunks are not kept, so that pushing a huge string once does not retain it.
+                if (stackChunks[i].capacity() > STACK_CHUNK_SIZE) {
+                    stackChunks[i] = null;
+                } else {
+                    stackChunks[i].clear();
+                }
+            }
+            stackChunks[index].position(position);
+            stackChunkCount = index + 1;
+        }
+
+        // Gets a chunk with at least the given amount of bytes remaining from its position.
+        ByteBuffer reserve(long size) {
+            if (stackChunkCount > 0 && stackChunks[stackChunkCount - 1].remaining() >= size) {
+                return stackChunks[stackChunkCount - 1];
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("The string is too long to be encoded.");
+            }
+
+            if (stackChunkCount == stackChunks.length) {
+                stackChunks = Arrays.copyOf(stackChunks, stackChunkCount * 2);
+                stackChunkAddresses = Arrays.copyOf(stackChunkAddresses, stackChunkCount * 2);
+            }
+            ByteBuffer chunk = stackChunks[stackChunkCount];
+            if (chunk == null || chunk.capacity() < size) {
+                chunk = ByteBuffer.allocateDirect((int) Math.max(size, STACK_CHUNK_SIZE));
+                stackChunks[stackChunkCount] = chunk;
+                stackChunkAddresses[stackChunkCount] = Pointers.getByteBufferLocation(chunk);
+            }
+            stackChunkCount++;
+            return chunk;
+        }
+
+        // Null-terminates the bytes written from the position of the current chunk, and moves past them.
+        @Pointer long commit(int length) {
+            ByteBuffer chunk = stackChunks[stackChunkCount - 1];
+            int start = chunk.position();
+            chunk.put(start + length, (byte) 0);
+            chunk.position(start + length + 1);
+            return stackChunkAddresses[stackChunkCount - 1] + start;
+        }
+
+        void release() {
+            if (chars.length > MAX_RETAINED_SCRATCH_SIZE) {
+                chars = new char[256];
+            }
+        }
+    }
+}
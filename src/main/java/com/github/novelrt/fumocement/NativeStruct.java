@@ -46,6 +46,18 @@ public abstract class NativeStruct extends NativeObject {
         super(handle, owned, disposalMethod, handleDeleter);
     }
 
+    /**
+     * Constructs a new {@link NativeStruct} whose memory is allocated from the given {@link NativeArena}.
+     * The struct does not own its native resources, which are released once the arena gets closed.
+     *
+     * @param arena     the arena to allocate the struct from
+     * @param size      the size of the struct, in bytes
+     * @param alignment the alignment of the struct, in bytes
+     */
+    public NativeStruct(NativeArena arena, long size, long alignment) {
+        super(arena.allocate(size, alignment), false, null);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -2,10 +2,21 @@
 
 package com.github.novelrt.fumocement;
 
+import com.github.novelrt.fumocement.internal.ForeignAccess;
+import com.github.novelrt.fumocement.internal.MemoryAccess;
+
 import java.nio.ByteBuffer;
+import java.util.Objects;
 
 /**
  * Contains tools to manipulate pointers, mainly used for going through an array.
+ * <p>
+ * The {@code get} and {@code set} accessors (such as {@link #getInt32(long)} or {@link #setFloat(long, float)})
+ * read and write native memory directly, without any JNI call nor any allocation. They are compiled
+ * down to plain loads and stores by the JIT, whichever {@link NativeBackend} is in use: the
+ * {@link NativeBackend#FOREIGN} backend uses the Foreign Function & Memory API, and the {@link NativeBackend#JNI}
+ * backend falls back to {@code sun.misc.Unsafe}.
+ * As no checks are made, the given pointers must be valid.
  */
 public final class Pointers {
     /**
@@ -21,7 +32,9 @@ public final class Pointers {
     public static final @Pointer long NULLPTR = 0;
 
     static {
-        UINTPTR_T_SIZE = getNativeLongSize();
+        UINTPTR_T_SIZE = ForeignAccess.INSTANCE == null ?
+                getNativeLongSize() :
+                ForeignAccess.INSTANCE.getAddressSize();
     }
 
     private Pointers() {
@@ -107,6 +120,645 @@ public final class Pointers {
         return pointer + UINTPTR_T_SIZE;
     }
 
+    /**
+     * Reads the {@code char} value located at the given pointer.
+     *
+     * @param pointer the pointer, which can be seen as a {@code char*}
+     * @return the value located at the pointer
+     */
+    public static byte getChar(@Pointer("char*") long pointer) {
+        return getChar(pointer, 0);
+    }
+
+    /**
+     * Reads the {@code char} value located at the given pointer, advanced by {@code offset} bytes.
+     *
+     * @param pointer the pointer
+     * @param offset  the offset to add to the pointer, in bytes
+     * @return the value located at the pointer
+     */
+    public static byte getChar(@Pointer long pointer, long offset) {
+        return loadByte(pointer + offset);
+    }
+
+    /**
+     * Writes a {@code char} value at the given pointer.
+     *
+     * @param pointer the pointer, which can be seen as a {@code char*}
+     * @param value   the value to write
+     */
+    public static void setChar(@Pointer("char*") long pointer, byte value) {
+        setChar(pointer, 0, value);
+    }
+
+    /**
+     * Writes a {@code char} value at the given pointer, advanced by {@code offset} bytes.
+     *
+     * @param pointer the pointer
+     * @param offset  the offset to add to the pointer, in bytes
+     * @param value   the value to write
+     */
+    public static void setChar(@Pointer long pointer, long offset, byte value) {
+        storeByte(pointer + offset, value);
+    }
+
+    /**
+     * Reads the {@code int8_t} value located at the given pointer.
+     *
+     * @param pointer the pointer, which can be seen as a {@code int8_t*}
+     * @return the value located at the pointer
+     */
+    public static byte getInt8(@Pointer("int8_t*") long pointer) {
+        return getInt8(pointer, 0);
+    }
+
+    /**
+     * Reads the {@code int8_t} value located at the given pointer, advanced by {@code offset} bytes.
+     *
+     * @param pointer the pointer
+     * @param offset  the offset to add to the pointer, in bytes
+     * @return the value located at the pointer
+     */
+    public static byte getInt8(@Pointer long pointer, long offset) {
+        return loadByte(pointer + offset);
+    }
+
+    /**
+     * Writes a {@code int8_t} value at the given pointer.
+     *
+     * @param pointer the pointer, which can be seen as a {@code int8_t*}
+     * @param value   the value to write
+     */
+    public static void setInt8(@Pointer("int8_t*") long pointer, byte value) {
+        setInt8(pointer, 0, value);
+    }
+
+    /**
+     * Writes a {@code int8_t} value at the given pointer, advanced by {@code offset} bytes.
+     *
+     * @param pointer the pointer
+     * @param offset  the offset to add to the pointer, in bytes
+     * @param value   the value to write
+     */
+    public static void setInt8(@Pointer long pointer, long offset, byte value) {
+        storeByte(pointer + offset, value);
+    }
+
+    /**
+     * Reads the {@code int16_t} value located at the given pointer.
+     *
+     * @param pointer the pointer, which can be seen as a {@code int16_t*}
+     * @return the value located at the pointer
+     */
+    public static short getInt16(@Pointer("int16_t*") long pointer) {
+        return getInt16(pointer, 0);
+    }
+
+    /**
+     * Reads the {@code int16_t} value located at the given pointer, advanced by {@code offset} bytes.
+     *
+     * @param pointer the pointer
+     * @param offset  the offset to add to the pointer, in bytes
+     * @return the value located at the pointer
+     */
+    public static short getInt16(@Pointer long pointer, long offset) {
+        return loadShort(pointer + offset);
+    }
+
+    /**
+     * Writes a {@code int16_t} value at the given pointer.
+     *
+     * @param pointer the pointer, which can be seen as a {@code int16_t*}
+     * @param value   the value to write
+     */
+    public static void setInt16(@Pointer("int16_t*") long pointer, short value) {
+        setInt16(pointer, 0, value);
+    }
+
+    /**
+     * Writes a {@code int16_t} value at the given pointer, advanced by {@code offset} bytes.
+     *
+     * @param pointer the pointer
+     * @param offset  the offset to add to the pointer, in bytes
+     * @param value   the value to write
+     */
+    public static void setInt16(@Pointer long pointer, long offset, short value) {
+        storeShort(pointer + offset, value);
+    }
+
+    /**
+     * Reads the {@code int32_t} value located at the given pointer.
+     *
+     * @param pointer the pointer, which can be seen as a {@code int32_t*}
+     * @return the value located at the pointer
+     */
+    public static int getInt32(@Pointer("int32_t*") long pointer) {
+        return getInt32(pointer, 0);
+    }
+
+    /**
+     * Reads the {@code int32_t} value located at the given pointer, advanced by {@code offset} bytes.
+     *
+     * @param pointer the pointer
+     * @param offset  the offset to add to the pointer, in bytes
+     * @return the value located at the pointer
+     */
+    public static int getInt32(@Pointer long pointer, long offset) {
+        return loadInt(pointer + offset);
+    }
+
+    /**
+     * Writes a {@code int32_t} value at the given pointer.
+     *
+     * @param pointer the pointer, which can be seen as a {@code int32_t*}
+     * @param value   the value to write
+     */
+    public static void setInt32(@Pointer("int32_t*") long pointer, int value) {
+        setInt32(pointer, 0, value);
+    }
+
+    /**
+     * Writes a {@code int32_t} value at the given pointer, advanced by {@code offset} bytes.
+     *
+     * @param pointer the pointer
+     * @param offset  the offset to add to the pointer, in bytes
+     * @param value   the value to write
+     */
+    public static void setInt32(@Pointer long pointer, long offset, int value) {
+        storeInt(pointer + offset, value);
+    }
+
+    /**
+     * Reads the {@code int64_t} value located at the given pointer.
+     *
+     * @param pointer the pointer, which can be seen as a {@code int64_t*}
+     * @return the value located at the pointer
+     */
+    public static long getInt64(@Pointer("int64_t*") long pointer) {
+        return getInt64(pointer, 0);
+    }
+
+    /**
+     * Reads the {@code int64_t} value located at the given pointer, advanced by {@code offset} bytes.
+     *
+     * @param pointer the pointer
+     * @param offset  the offset to add to the pointer, in bytes
+     * @return the value located at the pointer
+     */
+    public static long getInt64(@Pointer long pointer, long offset) {
+        return loadLong(pointer + offset);
+    }
+
+    /**
+     * Writes a {@code int64_t} value at the given pointer.
+     *
+     * @param pointer the pointer, which can be seen as a {@code int64_t*}
+     * @param value   the value to write
+     */
+    public static void setInt64(@Pointer("int64_t*") long pointer, long value) {
+        setInt64(pointer, 0, value);
+    }
+
+    /**
+     * Writes a {@code int64_t} value at the given pointer, advanced by {@code offset} bytes.
+     *
+     * @param pointer the pointer
+     * @param offset  the offset to add to the pointer, in bytes
+     * @param value   the value to write
+     */
+    public static void setInt64(@Pointer long pointer, long offset, long value) {
+        storeLong(pointer + offset, value);
+    }
+
+    /**
+     * Reads the {@code uint8_t} value located at the given pointer.
+     *
+     * @param pointer the pointer, which can be seen as a {@code uint8_t*}
+     * @return the value located at the pointer
+     */
+    public static @Unsigned byte getUInt8(@Pointer("uint8_t*") long pointer) {
+        return getUInt8(pointer, 0);
+    }
+
+    /**
+     * Reads the {@code uint8_t} value located at the given pointer, advanced by {@code offset} bytes.
+     *
+     * @param pointer the pointer
+     * @param offset  the offset to add to the pointer, in bytes
+     * @return the value located at the pointer
+     */
+    public static @Unsigned byte getUInt8(@Pointer long pointer, long offset) {
+        return loadByte(pointer + offset);
+    }
+
+    /**
+     * Writes a {@code uint8_t} value at the given pointer.
+     *
+     * @param pointer the pointer, which can be seen as a {@code uint8_t*}
+     * @param value   the value to write
+     */
+    public static void setUInt8(@Pointer("uint8_t*") long pointer, @Unsigned byte value) {
+        setUInt8(pointer, 0, value);
+    }
+
+    /**
+     * Writes a {@code uint8_t} value at the given pointer, advanced by {@code offset} bytes.
+     *
+     * @param pointer the pointer
+     * @param offset  the offset to add to the pointer, in bytes
+     * @param value   the value to write
+     */
+    public static void setUInt8(@Pointer long pointer, long offset, @Unsigned byte value) {
+        storeByte(pointer + offset, value);
+    }
+
+    /**
+     * Reads the {@code uint16_t} value located at the given pointer.
+     *
+     * @param pointer the pointer, which can be seen as a {@code uint16_t*}
+     * @return the value located at the pointer
+     */
+    public static char getUInt16(@Pointer("uint16_t*") long pointer) {
+        return getUInt16(pointer, 0);
+    }
+
+    /**
+     * Reads the {@code uint16_t} value located at the given pointer, advanced by {@code offset} bytes.
+     *
+     * @param pointer the pointer
+     * @param offset  the offset to add to the pointer, in bytes
+     * @return the value located at the pointer
+     */
+    public static char getUInt16(@Pointer long pointer, long offset) {
+        return loadChar(pointer + offset);
+    }
+
+    /**
+     * Writes a {@code uint16_t} value at the given pointer.
+     *
+     * @param pointer the pointer, which can be seen as a {@code uint16_t*}
+     * @param value   the value to write
+     */
+    public static void setUInt16(@Pointer("uint16_t*") long pointer, char value) {
+        setUInt16(pointer, 0, value);
+    }
+
+    /**
+     * Writes a {@code uint16_t} value at the given pointer, advanced by {@code offset} bytes.
+     *
+     * @param pointer the pointer
+     * @param offset  the offset to add to the pointer, in bytes
+     * @param value   the value to write
+     */
+    public static void setUInt16(@Pointer long pointer, long offset, char value) {
+        storeChar(pointer + offset, value);
+    }
+
+    /**
+     * Reads the {@code uint32_t} value located at the given pointer.
+     *
+     * @param pointer the pointer, which can be seen as a {@code uint32_t*}
+     * @return the value located at the pointer
+     */
+    public static @Unsigned int getUInt32(@Pointer("uint32_t*") long pointer) {
+        return getUInt32(pointer, 0);
+    }
+
+    /**
+     * Reads the {@code uint32_t} value located at the given pointer, advanced by {@code offset} bytes.
+     *
+     * @param pointer the pointer
+     * @param offset  the offset to add to the pointer, in bytes
+     * @return the value located at the pointer
+     */
+    public static @Unsigned int getUInt32(@Pointer long pointer, long offset) {
+        return loadInt(pointer + offset);
+    }
+
+    /**
+     * Writes a {@code uint32_t} value at the given pointer.
+     *
+     * @param pointer the pointer, which can be seen as a {@code uint32_t*}
+     * @param value   the value to write
+     */
+    public static void setUInt32(@Pointer("uint32_t*") long pointer, @Unsigned int value) {
+        setUInt32(pointer, 0, value);
+    }
+
+    /**
+     * Writes a {@code uint32_t} value at the given pointer, advanced by {@code offset} bytes.
+     *
+     * @param pointer the pointer
+     * @param offset  the offset to add to the pointer, in bytes
+     * @param value   the value to write
+     */
+    public static void setUInt32(@Pointer long pointer, long offset, @Unsigned int value) {
+        storeInt(pointer + offset, value);
+    }
+
+    /**
+     * Reads the {@code int64_t} value located at the given pointer, with at least the ordering of
+     * {@code std::memory_order_acquire}. The pointer must be aligned to 8 bytes.
+     *
+     * @param pointer the pointer, which can be seen as a {@code std::atomic<int64_t>*}
+     * @return the value located at the pointer
+     */
+    public static long getInt64Acquire(@Pointer("int64_t*") long pointer) {
+        return MemoryAccess.INSTANCE.getLongAcquire(pointer);
+    }
+
+    /**
+     * Writes a {@code int64_t} value at the given pointer, with at least the ordering of
+     * {@code std::memory_order_release}. The pointer must be aligned to 8 bytes.
+     *
+     * @param pointer the pointer, which can be seen as a {@code std::atomic<int64_t>*}
+     * @param value   the value to write
+     */
+    public static void setInt64Release(@Pointer("int64_t*") long pointer, long value) {
+        MemoryAccess.INSTANCE.setLongRelease(pointer, value);
+    }
+
+    /**
+     * Reads the {@code uint64_t} value located at the given pointer.
+     *
+     * @param pointer the pointer, which can be seen as a {@code uint64_t*}
+     * @return the value located at the pointer
+     */
+    public static @Unsigned long getUInt64(@Pointer("uint64_t*") long pointer) {
+        return getUInt64(pointer, 0);
+    }
+
+    /**
+     * Reads the {@code uint64_t} value located at the given pointer, advanced by {@code offset} bytes.
+     *
+     * @param pointer the pointer
+     * @param offset  the offset to add to the pointer, in bytes
+     * @return the value located at the pointer
+     */
+    public static @Unsigned long getUInt64(@Pointer long pointer, long offset) {
+        return loadLong(pointer + offset);
+    }
+
+    /**
+     * Writes a {@code uint64_t} value at the given pointer.
+     *
+     * @param pointer the pointer, which can be seen as a {@code uint64_t*}
+     * @param value   the value to write
+     */
+    public static void setUInt64(@Pointer("uint64_t*") long pointer, @Unsigned long value) {
+        setUInt64(pointer, 0, value);
+    }
+
+    /**
+     * Writes a {@code uint64_t} value at the given pointer, advanced by {@code offset} bytes.
+     *
+     * @param pointer the pointer
+     * @param offset  the offset to add to the pointer, in bytes
+     * @param value   the value to write
+     */
+    public static void setUInt64(@Pointer long pointer, long offset, @Unsigned long value) {
+        storeLong(pointer + offset, value);
+    }
+
+    /**
+     * Reads the {@code float} value located at the given pointer.
+     *
+     * @param pointer the pointer, which can be seen as a {@code float*}
+     * @return the value located at the pointer
+     */
+    public static float getFloat(@Pointer("float*") long pointer) {
+        return getFloat(pointer, 0);
+    }
+
+    /**
+     * Reads the {@code float} value located at the given pointer, advanced by {@code offset} bytes.
+     *
+     * @param pointer the pointer
+     * @param offset  the offset to add to the pointer, in bytes
+     * @return the value located at the pointer
+     */
+    public static float getFloat(@Pointer long pointer, long offset) {
+        return loadFloat(pointer + offset);
+    }
+
+    /**
+     * Writes a {@code float} value at the given pointer.
+     *
+     * @param pointer the pointer, which can be seen as a {@code float*}
+     * @param value   the value to write
+     */
+    public static void setFloat(@Pointer("float*") long pointer, float value) {
+        setFloat(pointer, 0, value);
+    }
+
+    /**
+     * Writes a {@code float} value at the given pointer, advanced by {@code offset} bytes.
+     *
+     * @param pointer the pointer
+     * @param offset  the offset to add to the pointer, in bytes
+     * @param value   the value to write
+     */
+    public static void setFloat(@Pointer long pointer, long offset, float value) {
+        storeFloat(pointer + offset, value);
+    }
+
+    /**
+     * Reads the {@code double} value located at the given pointer.
+     *
+     * @param pointer the pointer, which can be seen as a {@code double*}
+     * @return the value located at the pointer
+     */
+    public static double getDouble(@Pointer("double*") long pointer) {
+        return getDouble(pointer, 0);
+    }
+
+    /**
+     * Reads the {@code double} value located at the given pointer, advanced by {@code offset} bytes.
+     *
+     * @param pointer the pointer
+     * @param offset  the offset to add to the pointer, in bytes
+     * @return the value located at the pointer
+     */
+    public static double getDouble(@Pointer long pointer, long offset) {
+        return loadDouble(pointer + offset);
+    }
+
+    /**
+     * Writes a {@code double} value at the given pointer.
+     *
+     * @param pointer the pointer, which can be seen as a {@code double*}
+     * @param value   the value to write
+     */
+    public static void setDouble(@Pointer("double*") long pointer, double value) {
+        setDouble(pointer, 0, value);
+    }
+
+    /**
+     * Writes a {@code double} value at the given pointer, advanced by {@code offset} bytes.
+     *
+     * @param pointer the pointer
+     * @param offset  the offset to add to the pointer, in bytes
+     * @param value   the value to write
+     */
+    public static void setDouble(@Pointer long pointer, long offset, double value) {
+        storeDouble(pointer + offset, value);
+    }
+
+    /**
+     * Reads the {@code uintptr_t} value located at the given pointer.
+     *
+     * @param pointer the pointer, which can be seen as a {@code uintptr_t*}
+     * @return the value located at the pointer
+     */
+    public static @Pointer long getUIntPtr(@Pointer("uintptr_t*") long pointer) {
+        return getUIntPtr(pointer, 0);
+    }
+
+    /**
+     * Reads the {@code uintptr_t} value located at the given pointer, advanced by {@code offset} bytes.
+     *
+     * @param pointer the pointer
+     * @param offset  the offset to add to the pointer, in bytes
+     * @return the value located at the pointer
+     */
+    public static @Pointer long getUIntPtr(@Pointer long pointer, long offset) {
+        return UINTPTR_T_SIZE == Long.BYTES ?
+                loadLong(pointer + offset) :
+                Integer.toUnsignedLong(loadInt(pointer + offset));
+    }
+
+    /**
+     * Writes a {@code uintptr_t} value at the given pointer.
+     *
+     * @param pointer the pointer, which can be seen as a {@code uintptr_t*}
+     * @param value   the value to write
+     */
+    public static void setUIntPtr(@Pointer("uintptr_t*") long pointer, @Pointer long value) {
+        setUIntPtr(pointer, 0, value);
+    }
+
+    /**
+     * Writes a {@code uintptr_t} value at the given pointer, advanced by {@code offset} bytes.
+     *
+     * @param pointer the pointer
+     * @param offset  the offset to add to the pointer, in bytes
+     * @param value   the value to write
+     */
+    public static void setUIntPtr(@Pointer long pointer, long offset, @Pointer long value) {
+        if (UINTPTR_T_SIZE == Long.BYTES) {
+            storeLong(pointer + offset, value);
+        } else {
+            storeInt(pointer + offset, (int) value);
+        }
+    }
+
+    /**
+     * Copies bytes from native memory into an array, without any JNI call.
+     *
+     * @param pointer     the pointer to the first byte to copy
+     * @param destination the array to copy the bytes to
+     * @param offset      the index of the array at which the first byte is copied
+     * @param length      the amount of bytes to copy
+     * @throws IndexOutOfBoundsException when the given range is out of the bounds of the array
+     */
+    public static void copyToArray(@Pointer long pointer, byte[] destination, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, destination.length);
+        MemoryAccess.INSTANCE.copyToArray(pointer, destination, offset, length);
+    }
+
+    /**
+     * Copies bytes from an array into native memory, without any JNI call.
+     *
+     * @param source  the array to copy the bytes from
+     * @param offset  the index of the first byte of the array to copy
+     * @param length  the amount of bytes to copy
+     * @param pointer the pointer to the native memory to copy the bytes to
+     * @throws IndexOutOfBoundsException when the given range is out of the bounds of the array
+     */
+    public static void copyFromArray(byte[] source, int offset, int length, @Pointer long pointer) {
+        Objects.checkFromIndexSize(offset, length, source.length);
+        MemoryAccess.INSTANCE.copyFromArray(source, offset, length, pointer);
+    }
+
+    private static native ByteBuffer newDirectByteBuffer(@Pointer long pointer, long capacity);
+
+    /**
+     * Creates a direct {@code ByteBuffer} viewing the native memory located at the given pointer, without copying it.
+     * <p>
+     * Like any new buffer, its byte order is big-endian. The buffer must not be used once the memory has been freed.
+     *
+     * @param pointer  the pointer to the memory to view
+     * @param capacity the size of the memory to view, in bytes
+     * @return a byte buffer viewing the memory
+     * @throws IllegalArgumentException when the capacity is negative
+     */
+    public static ByteBuffer asByteBuffer(@Pointer long pointer, int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("The capacity must not be negative.");
+        }
+
+        ForeignAccess foreignAccess = ForeignAccess.INSTANCE;
+        return foreignAccess == null ?
+                newDirectByteBuffer(pointer, capacity) :
+                foreignAccess.asByteBuffer(pointer, capacity);
+    }
+
+    private static byte loadByte(@Pointer long address) {
+        return MemoryAccess.INSTANCE.getByte(address);
+    }
+
+    private static void storeByte(@Pointer long address, byte value) {
+        MemoryAccess.INSTANCE.setByte(address, value);
+    }
+
+    private static short loadShort(@Pointer long address) {
+        return MemoryAccess.INSTANCE.getShort(address);
+    }
+
+    private static void storeShort(@Pointer long address, short value) {
+        MemoryAccess.INSTANCE.setShort(address, value);
+    }
+
+    private static char loadChar(@Pointer long address) {
+        return (char) MemoryAccess.INSTANCE.getShort(address);
+    }
+
+    private static void storeChar(@Pointer long address, char value) {
+        MemoryAccess.INSTANCE.setShort(address, (short) value);
+    }
+
+    private static int loadInt(@Pointer long address) {
+        return MemoryAccess.INSTANCE.getInt(address);
+    }
+
+    private static void storeInt(@Pointer long address, int value) {
+        MemoryAccess.INSTANCE.setInt(address, value);
+    }
+
+    private static long loadLong(@Pointer long address) {
+        return MemoryAccess.INSTANCE.getLong(address);
+    }
+
+    private static void storeLong(@Pointer long address, long value) {
+        MemoryAccess.INSTANCE.setLong(address, value);
+    }
+
+    private static float loadFloat(@Pointer long address) {
+        return MemoryAccess.INSTANCE.getFloat(address);
+    }
+
+    private static void storeFloat(@Pointer long address, float value) {
+        MemoryAccess.INSTANCE.setFloat(address, value);
+    }
+
+    private static double loadDouble(@Pointer long address) {
+        return MemoryAccess.INSTANCE.getDouble(address);
+    }
+
+    private static void storeDouble(@Pointer long address, double value) {
+        MemoryAccess.INSTANCE.setDouble(address, value);
+    }
+
     private static native @Pointer long getByteBufferLocationRaw(ByteBuffer byteBuffer);
 
     /**
@@ -122,6 +774,9 @@ public final class Pointers {
                     "The given byte buffer does not have any native pointer as is not direct.");
         }
 
-        return getByteBufferLocationRaw(byteBuffer);
+        ForeignAccess foreignAccess = ForeignAccess.INSTANCE;
+        return foreignAccess == null ?
+                getByteBufferLocationRaw(byteBuffer) :
+                foreignAccess.getByteBufferLocation(byteBuffer);
     }
 }
@@ -3,49 +3,83 @@
 
 package com.github.novelrt.fumocement.builtin;
 
+import com.github.novelrt.fumocement.BatchHandleDeleter;
 import com.github.novelrt.fumocement.DisposalMethod;
+import com.github.novelrt.fumocement.HandleDeleter;
+import com.github.novelrt.fumocement.NativeArena;
 import com.github.novelrt.fumocement.NativeObject;
+import com.github.novelrt.fumocement.NativeStrings;
 import com.github.novelrt.fumocement.Pointer;
+import com.github.novelrt.fumocement.Pointers;
 import com.github.novelrt.fumocement.StringDeletionBehaviour;
+import com.github.novelrt.fumocement.internal.ForeignAccess;
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
 
 /**
  * Represents a {@code char*} stored natively.
  */
 public final class CharPointer extends NativeObject {
+    private static final HandleDeleter DELETER = ForeignAccess.INSTANCE == null
+            ? BatchHandleDeleter.of(CharPointer::destroyPointer, CharPointer::destroyPointers)
+            : ForeignAccess.INSTANCE::free;
+
     public CharPointer() {
-        super(allocatePointer(), true, CharPointer::destroyPointer);
+        super(allocate(), true, DELETER);
     }
 
     public CharPointer(DisposalMethod disposalMethod) {
-        super(allocatePointer(), true, disposalMethod, CharPointer::destroyPointer);
+        super(allocate(), true, disposalMethod, DELETER);
+    }
+
+    public CharPointer(NativeArena arena) {
+        super(arena.allocate(Byte.BYTES, Byte.BYTES), false, DELETER);
+    }
+
+    public CharPointer(SlabAllocator allocator) {
+        super(allocator.allocate(Byte.BYTES), true, allocator.getDeleter(Byte.BYTES));
+    }
+
+    public CharPointer(SlabAllocator allocator, DisposalMethod disposalMethod) {
+        super(allocator.allocate(Byte.BYTES), true, disposalMethod, allocator.getDeleter(Byte.BYTES));
     }
 
     public CharPointer(long handle, boolean isOwned) {
-        super(handle, isOwned, CharPointer::destroyPointer);
+        super(handle, isOwned, DELETER);
     }
 
     public CharPointer(long handle, boolean isOwned, DisposalMethod disposalMethod) {
-        super(handle, isOwned, disposalMethod, CharPointer::destroyPointer);
+        super(handle, isOwned, disposalMethod, DELETER);
     }
 
     private static native long allocatePointer();
 
     private static native void destroyPointer(long handle);
 
+    private static native void destroyPointers(long[] handles, int count);
+
     private static native byte getValue(long handle);
 
     private static native void setValue(long handle, byte value);
 
-    private static native byte[] readAsNullTerminatedString(long handle, boolean deleteString);
+    private static @Pointer long allocate() {
+        return ForeignAccess.INSTANCE == null ? allocatePointer() : ForeignAccess.INSTANCE.allocate(Byte.BYTES);
+    }
 
     public byte getValue() {
-        return getValue(getHandle());
+        long handle = getHandle();
+        return ForeignAccess.INSTANCE == null ? getValue(handle) : Pointers.getChar(handle);
     }
 
     public void setValue(byte value) {
-        setValue(getHandle(), value);
+        long handle = getHandle();
+        if (ForeignAccess.INSTANCE == null) {
+            setValue(handle, value);
+        } else {
+            Pointers.setChar(handle, value);
+        }
     }
 
     @Override
@@ -54,12 +88,86 @@ public final class CharPointer extends NativeObject {
     }
 
     public String readAsNullTerminatedString(StringDeletionBehaviour deletionBehaviour) {
-        byte[] bytes = readAsNullTerminatedString(getHandle(), deletionBehaviour.isDeletingString());
-        return new String(bytes);
+        return readAsNullTerminatedString(deletionBehaviour, Charset.defaultCharset());
     }
 
     public String readAsNullTerminatedString(StringDeletionBehaviour deletionBehaviour, Charset charset) {
-        byte[] bytes = readAsNullTerminatedString(getHandle(), deletionBehaviour.isDeletingString());
-        return new String(bytes, charset);
+        long handle = getStringHandle();
+        try {
+            return NativeStrings.toString(handle, charset);
+        } finally {
+            deleteIfNeeded(handle, deletionBehaviour);
+        }
+    }
+
+    /**
+     * Decodes the null-terminated string located at this pointer, and appends it to the given builder,
+     * without allocating anything in most cases.
+     *
+     * @param deletionBehaviour whether or not to delete the string once read
+     * @param charset           the charset of the string
+     * @param destination       the builder to append the characters to
+     * @return the amount of appended characters
+     * @throws NullPointerException when this pointer is null
+     * @see NativeStrings#decode(long, Charset, StringBuilder)
+     */
+    public int readAsNullTerminatedString(StringDeletionBehaviour deletionBehaviour, Charset charset,
+                                          StringBuilder destination) {
+        long handle = getStringHandle();
+        try {
+            return NativeStrings.decode(handle, charset, destination);
+        } finally {
+            deleteIfNeeded(handle, deletionBehaviour);
+        }
+    }
+
+    /**
+     * Decodes the null-terminated string located at this pointer, and puts it into the given buffer,
+     * without allocating anything in most cases.
+     * The string is deleted according to the given behaviour even when the buffer is too small.
+     *
+     * @param deletionBehaviour whether or not to delete the string once read
+     * @param charset           the charset of the string
+     * @param destination       the buffer to put the characters into
+     * @return the amount of characters put into the buffer
+     * @throws NullPointerException             when this pointer is null
+     * @throws java.nio.BufferOverflowException when the buffer does not have enough space remaining
+     * @see NativeStrings#decode(long, Charset, CharBuffer)
+     */
+    public int readAsNullTerminatedString(StringDeletionBehaviour deletionBehaviour, Charset charset,
+                                          CharBuffer destination) {
+        long handle = getStringHandle();
+        try {
+            return NativeStrings.decode(handle, charset, destination);
+        } finally {
+            deleteIfNeeded(handle, deletionBehaviour);
+        }
+    }
+
+    /**
+     * Gets a read-only view of the bytes of the null-terminated string located at this pointer, without copying
+     * them. The view must not be used once the string has been deleted.
+     *
+     * @return a byte buffer viewing the string
+     * @throws NullPointerException when this pointer is null
+     * @see NativeStrings#asByteBuffer(long)
+     */
+    public ByteBuffer asNullTerminatedStringBuffer() {
+        return NativeStrings.asByteBuffer(getStringHandle());
+    }
+
+    // Checked before reading, so that a null string is neither read nor deleted.
+    private @Pointer("char*") long getStringHandle() {
+        long handle = getHandle();
+        if (handle == Pointers.NULLPTR) {
+            throw new NullPointerException("Cannot read a string from a null pointer.");
+        }
+        return handle;
+    }
+
+    private static void deleteIfNeeded(@Pointer("char*") long handle, StringDeletionBehaviour deletionBehaviour) {
+        if (deletionBehaviour.isDeletingString()) {
+            NativeStrings.delete(handle);
+        }
     }
 }
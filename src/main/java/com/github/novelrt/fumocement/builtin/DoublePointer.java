@@ -2,48 +2,81 @@
 
 package com.github.novelrt.fumocement.builtin;
 
+import com.github.novelrt.fumocement.BatchHandleDeleter;
 import com.github.novelrt.fumocement.DisposalMethod;
+import com.github.novelrt.fumocement.HandleDeleter;
+import com.github.novelrt.fumocement.NativeArena;
 import com.github.novelrt.fumocement.NativeObject;
 import com.github.novelrt.fumocement.Pointer;
+import com.github.novelrt.fumocement.Pointers;
+import com.github.novelrt.fumocement.internal.ForeignAccess;
 
 /**
  * Represents a {@code double*} stored natively.
  */
 public final class DoublePointer extends NativeObject {
+    private static final HandleDeleter DELETER = ForeignAccess.INSTANCE == null
+            ? BatchHandleDeleter.of(DoublePointer::destroyPointer, DoublePointer::destroyPointers)
+            : ForeignAccess.INSTANCE::free;
+
     public DoublePointer() {
-        super(allocatePointer(), true, DoublePointer::destroyPointer);
+        super(allocate(), true, DELETER);
     }
 
     public DoublePointer(DisposalMethod disposalMethod) {
-        super(allocatePointer(), true, disposalMethod, DoublePointer::destroyPointer);
+        super(allocate(), true, disposalMethod, DELETER);
+    }
+
+    public DoublePointer(NativeArena arena) {
+        super(arena.allocate(Double.BYTES, Double.BYTES), false, DELETER);
+    }
+
+    public DoublePointer(SlabAllocator allocator) {
+        super(allocator.allocate(Double.BYTES), true, allocator.getDeleter(Double.BYTES));
+    }
+
+    public DoublePointer(SlabAllocator allocator, DisposalMethod disposalMethod) {
+        super(allocator.allocate(Double.BYTES), true, disposalMethod, allocator.getDeleter(Double.BYTES));
     }
 
     public DoublePointer(long handle, boolean isOwned) {
-        super(handle, isOwned, DoublePointer::destroyPointer);
+        super(handle, isOwned, DELETER);
     }
 
     public DoublePointer(long handle, boolean isOwned, DisposalMethod disposalMethod) {
-        super(handle, isOwned, disposalMethod, DoublePointer::destroyPointer);
+        super(handle, isOwned, disposalMethod, DELETER);
     }
 
     private static native long allocatePointer();
 
     private static native void destroyPointer(long handle);
 
+    private static native void destroyPointers(long[] handles, int count);
+
     private static native double getValue(long handle);
 
     private static native void setValue(long handle, double value);
 
+    private static @Pointer long allocate() {
+        return ForeignAccess.INSTANCE == null ? allocatePointer() : ForeignAccess.INSTANCE.allocate(Double.BYTES);
+    }
+
     @Override
     public @Pointer("double*") long getHandle() {
         return super.getHandle();
     }
 
     public double getValue() {
-        return getValue(getHandle());
+        long handle = getHandle();
+        return ForeignAccess.INSTANCE == null ? getValue(handle) : Pointers.getDouble(handle);
     }
 
     public void setValue(double value) {
-        setValue(getHandle(), value);
+        long handle = getHandle();
+        if (ForeignAccess.INSTANCE == null) {
+            setValue(handle, value);
+        } else {
+            Pointers.setDouble(handle, value);
+        }
     }
 }
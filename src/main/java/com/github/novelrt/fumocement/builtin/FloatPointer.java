@@ -2,48 +2,81 @@
 
 package com.github.novelrt.fumocement.builtin;
 
+import com.github.novelrt.fumocement.BatchHandleDeleter;
 import com.github.novelrt.fumocement.DisposalMethod;
+import com.github.novelrt.fumocement.HandleDeleter;
+import com.github.novelrt.fumocement.NativeArena;
 import com.github.novelrt.fumocement.NativeObject;
 import com.github.novelrt.fumocement.Pointer;
+import com.github.novelrt.fumocement.Pointers;
+import com.github.novelrt.fumocement.internal.ForeignAccess;
 
 /**
  * Represents a {@code float*} stored natively.
  */
 public final class FloatPointer extends NativeObject {
+    private static final HandleDeleter DELETER = ForeignAccess.INSTANCE == null
+            ? BatchHandleDeleter.of(FloatPointer::destroyPointer, FloatPointer::destroyPointers)
+            : ForeignAccess.INSTANCE::free;
+
     public FloatPointer() {
-        super(allocatePointer(), true, FloatPointer::destroyPointer);
+        super(allocate(), true, DELETER);
     }
 
     public FloatPointer(DisposalMethod disposalMethod) {
-        super(allocatePointer(), true, disposalMethod, FloatPointer::destroyPointer);
+        super(allocate(), true, disposalMethod, DELETER);
+    }
+
+    public FloatPointer(NativeArena arena) {
+        super(arena.allocate(Float.BYTES, Float.BYTES), false, DELETER);
+    }
+
+    public FloatPointer(SlabAllocator allocator) {
+        super(allocator.allocate(Float.BYTES), true, allocator.getDeleter(Float.BYTES));
+    }
+
+    public FloatPointer(SlabAllocator allocator, DisposalMethod disposalMethod) {
+        super(allocator.allocate(Float.BYTES), true, disposalMethod, allocator.getDeleter(Float.BYTES));
     }
 
     public FloatPointer(long handle, boolean isOwned) {
-        super(handle, isOwned, FloatPointer::destroyPointer);
+        super(handle, isOwned, DELETER);
     }
 
     public FloatPointer(long handle, boolean isOwned, DisposalMethod disposalMethod) {
-        super(handle, isOwned, disposalMethod, FloatPointer::destroyPointer);
+        super(handle, isOwned, disposalMethod, DELETER);
     }
 
     private static native long allocatePointer();
 
     private static native void destroyPointer(long handle);
 
+    private static native void destroyPointers(long[] handles, int count);
+
     private static native float getValue(long handle);
 
     private static native void setValue(long handle, float value);
 
+    private static @Pointer long allocate() {
+        return ForeignAccess.INSTANCE == null ? allocatePointer() : ForeignAccess.INSTANCE.allocate(Float.BYTES);
+    }
+
     @Override
     public @Pointer("float*") long getHandle() {
         return super.getHandle();
     }
 
     public float getValue() {
-        return getValue(getHandle());
+        long handle = getHandle();
+        return ForeignAccess.INSTANCE == null ? getValue(handle) : Pointers.getFloat(handle);
     }
 
     public void setValue(float value) {
-        setValue(getHandle(), value);
+        long handle = getHandle();
+        if (ForeignAccess.INSTANCE == null) {
+            setValue(handle, value);
+        } else {
+            Pointers.setFloat(handle, value);
+        }
     }
 }
@@ -2,48 +2,81 @@
 
 package com.github.novelrt.fumocement.builtin;
 
+import com.github.novelrt.fumocement.BatchHandleDeleter;
 import com.github.novelrt.fumocement.DisposalMethod;
+import com.github.novelrt.fumocement.HandleDeleter;
+import com.github.novelrt.fumocement.NativeArena;
 import com.github.novelrt.fumocement.NativeObject;
 import com.github.novelrt.fumocement.Pointer;
+import com.github.novelrt.fumocement.Pointers;
+import com.github.novelrt.fumocement.internal.ForeignAccess;
 
 /**
  * Represents a {@code int16_t*} stored natively.
  */
 public final class Int16Pointer extends NativeObject {
+    private static final HandleDeleter DELETER = ForeignAccess.INSTANCE == null
+            ? BatchHandleDeleter.of(Int16Pointer::destroyPointer, Int16Pointer::destroyPointers)
+            : ForeignAccess.INSTANCE::free;
+
     public Int16Pointer() {
-        super(allocatePointer(), true, Int16Pointer::destroyPointer);
+        super(allocate(), true, DELETER);
     }
 
     public Int16Pointer(DisposalMethod disposalMethod) {
-        super(allocatePointer(), true, disposalMethod, Int16Pointer::destroyPointer);
+        super(allocate(), true, disposalMethod, DELETER);
+    }
+
+    public Int16Pointer(NativeArena arena) {
+        super(arena.allocate(Short.BYTES, Short.BYTES), false, DELETER);
+    }
+
+    public Int16Pointer(SlabAllocator allocator) {
+        super(allocator.allocate(Short.BYTES), true, allocator.getDeleter(Short.BYTES));
+    }
+
+    public Int16Pointer(SlabAllocator allocator, DisposalMethod disposalMethod) {
+        super(allocator.allocate(Short.BYTES), true, disposalMethod, allocator.getDeleter(Short.BYTES));
     }
 
     public Int16Pointer(long handle, boolean isOwned) {
-        super(handle, isOwned, Int16Pointer::destroyPointer);
+        super(handle, isOwned, DELETER);
     }
 
     public Int16Pointer(long handle, boolean isOwned, DisposalMethod disposalMethod) {
-        super(handle, isOwned, disposalMethod, Int16Pointer::destroyPointer);
+        super(handle, isOwned, disposalMethod, DELETER);
     }
 
     private static native long allocatePointer();
 
     private static native void destroyPointer(long handle);
 
+    private static native void destroyPointers(long[] handles, int count);
+
     private static native short getValue(long handle);
 
     private static native void setValue(long handle, short value);
 
+    private static @Pointer long allocate() {
+        return ForeignAccess.INSTANCE == null ? allocatePointer() : ForeignAccess.INSTANCE.allocate(Short.BYTES);
+    }
+
     @Override
     public @Pointer("int16_t*") long getHandle() {
         return super.getHandle();
     }
 
     public short getValue() {
-        return getValue(getHandle());
+        long handle = getHandle();
+        return ForeignAccess.INSTANCE == null ? getValue(handle) : Pointers.getInt16(handle);
     }
 
     public void setValue(short value) {
-        setValue(getHandle(), value);
+        long handle = getHandle();
+        if (ForeignAccess.INSTANCE == null) {
+            setValue(handle, value);
+        } else {
+            Pointers.setInt16(handle, value);
+        }
     }
 }
@@ -0,0 +1,204 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement.builtin;
+
+import com.github.novelrt.fumocement.DisposalMethod;
+import com.github.novelrt.fumocement.NativeArena;
+import com.github.novelrt.fumocement.NativeObject;
+import com.github.novelrt.fumocement.Pointer;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * Represents a {@code int32_t[]} stored natively, with a fixed length. Allocated arrays are zero-initialized.
+ * <p>
+ * Bulk operations such as {@link #copyFrom(int[], int, int, int)}, {@link #copyTo(int, int[], int, int)}
+ * and {@link #fill(int, int, int)} only cost a single JNI call, regardless of the amount of elements.
+ */
+public final class Int32Array extends NativeObject {
+    private final int length;
+    // The array this one is a view of, kept reachable so that its memory is not freed while the view is in use.
+    private final @Nullable Int32Array parent;
+
+    public Int32Array(int length) {
+        super(allocateArray(checkLength(length)), true, Int32Array::destroyArray);
+        this.length = length;
+        this.parent = null;
+    }
+
+    public Int32Array(int length, DisposalMethod disposalMethod) {
+        super(allocateArray(checkLength(length)), true, disposalMethod, Int32Array::destroyArray);
+        this.length = length;
+        this.parent = null;
+    }
+
+    public Int32Array(NativeArena arena, int length) {
+        super(arena.allocate((long) checkLength(length) * Integer.BYTES, Integer.BYTES), false, Int32Array::destroyArray);
+        this.length = length;
+        this.parent = null;
+    }
+
+    public Int32Array(long handle, int length, boolean isOwned) {
+        super(handle, isOwned, Int32Array::destroyArray);
+        this.length = checkLength(length);
+        this.parent = null;
+    }
+
+    public Int32Array(long handle, int length, boolean isOwned, DisposalMethod disposalMethod) {
+        super(handle, isOwned, disposalMethod, Int32Array::destroyArray);
+        this.length = checkLength(length);
+        this.parent = null;
+    }
+
+    private Int32Array(Int32Array parent, @Pointer long handle, int length) {
+        super(handle, false, Int32Array::destroyArray);
+        this.length = length;
+        this.parent = parent;
+    }
+
+    private static int checkLength(int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("The length of a native array cannot be negative.");
+        }
+        return length;
+    }
+
+    private static native long allocateArray(int length);
+
+    private static native void destroyArray(long handle);
+
+    private static native int getValue(long handle, int index);
+
+    private static native void setValue(long handle, int index, int value);
+
+    private static native void copyFrom(long handle, int index, int[] source, int offset, int length);
+
+    private static native void copyTo(long handle, int index, int[] destination, int offset, int length);
+
+    private static native void fill(long handle, int index, int length, int value);
+
+    @Override
+    public @Pointer("int32_t*") long getHandle() {
+        return super.getHandle();
+    }
+
+    /**
+     * Gets the amount of elements in this array.
+     *
+     * @return the length of this array
+     */
+    public int getLength() {
+        return length;
+    }
+
+    public int getValue(int index) {
+        return getValue(getHandle(), Objects.checkIndex(index, length));
+    }
+
+    public void setValue(int index, int value) {
+        setValue(getHandle(), Objects.checkIndex(index, length), value);
+    }
+
+    /**
+     * Copies the whole {@code source} array at the beginning of this native array.
+     *
+     * @param source the array to copy from
+     * @throws IndexOutOfBoundsException when {@code source} is longer than this array
+     */
+    public void copyFrom(int[] source) {
+        copyFrom(0, source, 0, source.length);
+    }
+
+    /**
+     * Copies {@code length} elements of {@code source}, starting at {@code offset}, into this native array
+     * starting at {@code index}.
+     *
+     * @param index  the index of the first element to write in this array
+     * @param source the array to copy from
+     * @param offset the index of the first element to read in {@code source}
+     * @param length the amount of elements to copy
+     * @throws IndexOutOfBoundsException when one of the ranges is out of bounds
+     */
+    public void copyFrom(int index, int[] source, int offset, int length) {
+        Objects.checkFromIndexSize(index, length, this.length);
+        Objects.checkFromIndexSize(offset, length, source.length);
+        copyFrom(getHandle(), index, source, offset, length);
+    }
+
+    /**
+     * Copies the beginning of this native array into the whole {@code destination} array.
+     *
+     * @param destination the array to copy into
+     * @throws IndexOutOfBoundsException when {@code destination} is longer than this array
+     */
+    public void copyTo(int[] destination) {
+        copyTo(0, destination, 0, destination.length);
+    }
+
+    /**
+     * Copies {@code length} elements of this native array, starting at {@code index}, into {@code destination}
+     * starting at {@code offset}.
+     *
+     * @param index       the index of the first element to read in this array
+     * @param destination the array to copy into
+     * @param offset      the index of the first element to write in {@code destination}
+     * @param length      the amount of elements to copy
+     * @throws IndexOutOfBoundsException when one of the ranges is out of bounds
+     */
+    public void copyTo(int index, int[] destination, int offset, int length) {
+        Objects.checkFromIndexSize(index, length, this.length);
+        Objects.checkFromIndexSize(offset, length, destination.length);
+        copyTo(getHandle(), index, destination, offset, length);
+    }
+
+    /**
+     * Copies all elements of this native array into a new Java array.
+     *
+     * @return a new array containing all elements of this native array
+     */
+    public int[] toArray() {
+        int[] array = new int[length];
+        copyTo(getHandle(), 0, array, 0, length);
+        return array;
+    }
+
+    /**
+     * Sets all elements of this native array to the given value.
+     *
+     * @param value the value to set
+     */
+    public void fill(int value) {
+        fill(getHandle(), 0, length, value);
+    }
+
+    /**
+     * Sets {@code length} elements of this native array, starting at {@code index}, to the given value.
+     *
+     * @param index  the index of the first element to set
+     * @param length the amount of elements to set
+     * @param value  the value to set
+     * @throws IndexOutOfBoundsException when the range is out of bounds
+     */
+    public void fill(int index, int length, int value) {
+        Objects.checkFromIndexSize(index, length, this.length);
+        fill(getHandle(), index, length, value);
+    }
+
+    /**
+     * Creates an unowned view over {@code length} elements of this array, starting at {@code index}.
+     * <p>
+     * The returned array does not own any native resources, and keeps this array reachable, so that
+     * it does not get garbage collected while the view is in use. It must not be used once this array
+     * has been closed.
+     *
+     * @param index  the index of the first element of the view
+     * @param length the amount of elements in the view
+     * @return an unowned {@link Int32Array} sharing the memory of this array
+     * @throws IndexOutOfBoundsException when the range is out of bounds
+     */
+    public Int32Array slice(int index, int length) {
+        Objects.checkFromIndexSize(index, length, this.length);
+        return new Int32Array(this, getHandle() + (long) index * Integer.BYTES, length);
+    }
+}
@@ -2,48 +2,81 @@
 
 package com.github.novelrt.fumocement.builtin;
 
+import com.github.novelrt.fumocement.BatchHandleDeleter;
 import com.github.novelrt.fumocement.DisposalMethod;
+import com.github.novelrt.fumocement.HandleDeleter;
+import com.github.novelrt.fumocement.NativeArena;
 import com.github.novelrt.fumocement.NativeObject;
 import com.github.novelrt.fumocement.Pointer;
+import com.github.novelrt.fumocement.Pointers;
+import com.github.novelrt.fumocement.internal.ForeignAccess;
 
 /**
  * Represents a {@code int32_t*} stored natively.
  */
 public final class Int32Pointer extends NativeObject {
+    private static final HandleDeleter DELETER = ForeignAccess.INSTANCE == null
+            ? BatchHandleDeleter.of(Int32Pointer::destroyPointer, Int32Pointer::destroyPointers)
+            : ForeignAccess.INSTANCE::free;
+
     public Int32Pointer() {
-        super(allocatePointer(), true, Int32Pointer::destroyPointer);
+        super(allocate(), true, DELETER);
     }
 
     public Int32Pointer(DisposalMethod disposalMethod) {
-        super(allocatePointer(), true, disposalMethod, Int32Pointer::destroyPointer);
+        super(allocate(), true, disposalMethod, DELETER);
+    }
+
+    public Int32Pointer(NativeArena arena) {
+        super(arena.allocate(Integer.BYTES, Integer.BYTES), false, DELETER);
+    }
+
+    public Int32Pointer(SlabAllocator allocator) {
+        super(allocator.allocate(Integer.BYTES), true, allocator.getDeleter(Integer.BYTES));
+    }
+
+    public Int32Pointer(SlabAllocator allocator, DisposalMethod disposalMethod) {
+        super(allocator.allocate(Integer.BYTES), true, disposalMethod, allocator.getDeleter(Integer.BYTES));
     }
 
     public Int32Pointer(long handle, boolean isOwned) {
-        super(handle, isOwned, Int32Pointer::destroyPointer);
+        super(handle, isOwned, DELETER);
     }
 
     public Int32Pointer(long handle, boolean isOwned, DisposalMethod disposalMethod) {
-        super(handle, isOwned, disposalMethod, Int32Pointer::destroyPointer);
+        super(handle, isOwned, disposalMethod, DELETER);
     }
 
     private static native long allocatePointer();
 
     private static native void destroyPointer(long handle);
 
+    private static native void destroyPointers(long[] handles, int count);
+
     private static native int getValue(long handle);
 
     private static native void setValue(long handle, int value);
 
+    private static @Pointer long allocate() {
+        return ForeignAccess.INSTANCE == null ? allocatePointer() : ForeignAccess.INSTANCE.allocate(Integer.BYTES);
+    }
+
     @Override
     public @Pointer("int32_t*") long getHandle() {
         return super.getHandle();
     }
 
     public int getValue() {
-        return getValue(getHandle());
+        long handle = getHandle();
+        return ForeignAccess.INSTANCE == null ? getValue(handle) : Pointers.getInt32(handle);
     }
 
     public void setValue(int value) {
-        setValue(getHandle(), value);
+        long handle = getHandle();
+        if (ForeignAccess.INSTANCE == null) {
+            setValue(handle, value);
+        } else {
+            Pointers.setInt32(handle, value);
+        }
     }
 }
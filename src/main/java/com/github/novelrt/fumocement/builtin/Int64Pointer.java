@@ -2,48 +2,81 @@
 
 package com.github.novelrt.fumocement.builtin;
 
+import com.github.novelrt.fumocement.BatchHandleDeleter;
 import com.github.novelrt.fumocement.DisposalMethod;
+import com.github.novelrt.fumocement.HandleDeleter;
+import com.github.novelrt.fumocement.NativeArena;
 import com.github.novelrt.fumocement.NativeObject;
 import com.github.novelrt.fumocement.Pointer;
+import com.github.novelrt.fumocement.Pointers;
+import com.github.novelrt.fumocement.internal.ForeignAccess;
 
 /**
  * Represents a {@code int64_t*} stored natively.
  */
 public final class Int64Pointer extends NativeObject {
+    private static final HandleDeleter DELETER = ForeignAccess.INSTANCE == null
+            ? BatchHandleDeleter.of(Int64Pointer::destroyPointer, Int64Pointer::destroyPointers)
+            : ForeignAccess.INSTANCE::free;
+
     public Int64Pointer() {
-        super(allocatePointer(), true, Int64Pointer::destroyPointer);
+        super(allocate(), true, DELETER);
     }
 
     public Int64Pointer(DisposalMethod disposalMethod) {
-        super(allocatePointer(), true, disposalMethod, Int64Pointer::destroyPointer);
+        super(allocate(), true, disposalMethod, DELETER);
+    }
+
+    public Int64Pointer(NativeArena arena) {
+        super(arena.allocate(Long.BYTES, Long.BYTES), false, DELETER);
+    }
+
+    public Int64Pointer(SlabAllocator allocator) {
+        super(allocator.allocate(Long.BYTES), true, allocator.getDeleter(Long.BYTES));
+    }
+
+    public Int64Pointer(SlabAllocator allocator, DisposalMethod disposalMethod) {
+        super(allocator.allocate(Long.BYTES), true, disposalMethod, allocator.getDeleter(Long.BYTES));
     }
 
     public Int64Pointer(long handle, boolean isOwned) {
-        super(handle, isOwned, Int64Pointer::destroyPointer);
+        super(handle, isOwned, DELETER);
     }
 
     public Int64Pointer(long handle, boolean isOwned, DisposalMethod disposalMethod) {
-        super(handle, isOwned, disposalMethod, Int64Pointer::destroyPointer);
+        super(handle, isOwned, disposalMethod, DELETER);
     }
 
     private static native long allocatePointer();
 
     private static native void destroyPointer(long handle);
 
+    private static native void destroyPointers(long[] handles, int count);
+
     private static native long getValue(long handle);
 
     private static native void setValue(long handle, long value);
 
+    private static @Pointer long allocate() {
+        return ForeignAccess.INSTANCE == null ? allocatePointer() : ForeignAccess.INSTANCE.allocate(Long.BYTES);
+    }
+
     @Override
     public @Pointer("int_64t*") long getHandle() {
         return super.getHandle();
     }
 
     public long getValue() {
-        return getValue(getHandle());
+        long handle = getHandle();
+        return ForeignAccess.INSTANCE == null ? getValue(handle) : Pointers.getInt64(handle);
     }
 
     public void setValue(long value) {
-        setValue(getHandle(), value);
+        long handle = getHandle();
+        if (ForeignAccess.INSTANCE == null) {
+            setValue(handle, value);
+        } else {
+            Pointers.setInt64(handle, value);
+        }
     }
 }
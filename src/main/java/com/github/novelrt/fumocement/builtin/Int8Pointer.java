@@ -3,48 +3,81 @@
 
 package com.github.novelrt.fumocement.builtin;
 
+import com.github.novelrt.fumocement.BatchHandleDeleter;
 import com.github.novelrt.fumocement.DisposalMethod;
+import com.github.novelrt.fumocement.HandleDeleter;
+import com.github.novelrt.fumocement.NativeArena;
 import com.github.novelrt.fumocement.NativeObject;
 import com.github.novelrt.fumocement.Pointer;
+import com.github.novelrt.fumocement.Pointers;
+import com.github.novelrt.fumocement.internal.ForeignAccess;
 
 /**
  * Represents a {@code int8_t*} stored natively.
  */
 public final class Int8Pointer extends NativeObject {
+    private static final HandleDeleter DELETER = ForeignAccess.INSTANCE == null
+            ? BatchHandleDeleter.of(Int8Pointer::destroyPointer, Int8Pointer::destroyPointers)
+            : ForeignAccess.INSTANCE::free;
+
     public Int8Pointer() {
-        super(allocatePointer(), true, Int8Pointer::destroyPointer);
+        super(allocate(), true, DELETER);
     }
 
     public Int8Pointer(DisposalMethod disposalMethod) {
-        super(allocatePointer(), true, disposalMethod, Int8Pointer::destroyPointer);
+        super(allocate(), true, disposalMethod, DELETER);
+    }
+
+    public Int8Pointer(NativeArena arena) {
+        super(arena.allocate(Byte.BYTES, Byte.BYTES), false, DELETER);
+    }
+
+    public Int8Pointer(SlabAllocator allocator) {
+        super(allocator.allocate(Byte.BYTES), true, allocator.getDeleter(Byte.BYTES));
+    }
+
+    public Int8Pointer(SlabAllocator allocator, DisposalMethod disposalMethod) {
+        super(allocator.allocate(Byte.BYTES), true, disposalMethod, allocator.getDeleter(Byte.BYTES));
     }
 
     public Int8Pointer(long handle, boolean isOwned) {
-        super(handle, isOwned, Int8Pointer::destroyPointer);
+        super(handle, isOwned, DELETER);
     }
 
     public Int8Pointer(long handle, boolean isOwned, DisposalMethod disposalMethod) {
-        super(handle, isOwned, disposalMethod, Int8Pointer::destroyPointer);
+        super(handle, isOwned, disposalMethod, DELETER);
     }
 
     private static native long allocatePointer();
 
     private static native void destroyPointer(long handle);
 
+    private static native void destroyPointers(long[] handles, int count);
+
     private static native byte getValue(long handle);
 
     private static native void setValue(long handle, byte value);
 
+    private static @Pointer long allocate() {
+        return ForeignAccess.INSTANCE == null ? allocatePointer() : ForeignAccess.INSTANCE.allocate(Byte.BYTES);
+    }
+
     @Override
     public @Pointer("int8_t*") long getHandle() {
         return super.getHandle();
     }
 
     public byte getValue() {
-        return getValue(getHandle());
+        long handle = getHandle();
+        return ForeignAccess.INSTANCE == null ? getValue(handle) : Pointers.getInt8(handle);
     }
 
     public void setValue(byte value) {
-        setValue(getHandle(), value);
+        long handle = getHandle();
+        if (ForeignAccess.INSTANCE == null) {
+            setValue(handle, value);
+        } else {
+            Pointers.setInt8(handle, value);
+        }
     }
 }
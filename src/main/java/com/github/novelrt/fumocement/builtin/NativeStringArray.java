@@ -0,0 +1,195 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement.builtin;
+
+import com.github.novelrt.fumocement.DisposalMethod;
+import com.github.novelrt.fumocement.NativeArena;
+import com.github.novelrt.fumocement.NativeObject;
+import com.github.novelrt.fumocement.NativeStrings;
+import com.github.novelrt.fumocement.Pointer;
+import com.github.novelrt.fumocement.Pointers;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Represents a {@code const char**} stored natively, pointing to a fixed amount of null-terminated strings.
+ * <p>
+ * All the strings are packed into a single native block, made of the pointer table followed by the encoded strings.
+ * The pointer table ends with a null pointer, so that it can also be given to functions expecting a
+ * null-terminated array. Creating an owned array only costs a single JNI call, and creating an array from
+ * a {@link NativeArena} costs none most of the time.
+ * <p>
+ * <b>Example:</b>
+ * <pre>{@code NativeStringArray extensions = new NativeStringArray(List.of("VK_KHR_surface"), StandardCharsets.UTF_8);
+ * createInstance(extensions.getHandle(), extensions.getLength());
+ * }</pre>
+ */
+public final class NativeStringArray extends NativeObject {
+    private final int length;
+
+    public NativeStringArray(String[] strings, Charset charset) {
+        this(Arrays.asList(strings), charset);
+    }
+
+    public NativeStringArray(List<String> strings, Charset charset) {
+        super(allocateArray(new Packed(strings, charset)), true, NativeStringArray::destroyArray);
+        this.length = strings.size();
+    }
+
+    public NativeStringArray(List<String> strings, Charset charset, DisposalMethod disposalMethod) {
+        super(allocateArray(new Packed(strings, charset)), true, disposalMethod, NativeStringArray::destroyArray);
+        this.length = strings.size();
+    }
+
+    public NativeStringArray(NativeArena arena, List<String> strings, Charset charset) {
+        super(allocateArray(arena, new Packed(strings, charset)), false, NativeStringArray::destroyArray);
+        this.length = strings.size();
+    }
+
+    public NativeStringArray(long handle, int length, boolean isOwned) {
+        super(handle, isOwned, NativeStringArray::destroyArray);
+        this.length = checkLength(length);
+    }
+
+    private static int checkLength(int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("The length of a native array cannot be negative.");
+        }
+        return length;
+    }
+
+    private static native @Pointer("const char**") long allocateArray(byte[] data, int dataLength,
+                                                                       int[] offsets, int count);
+
+    private static native void destroyArray(long handle);
+
+    private static @Pointer("const char**") long allocateArray(Packed packed) {
+        long handle = allocateArray(packed.data, packed.dataLength, packed.offsets, packed.offsets.length);
+        if (handle == Pointers.NULLPTR) {
+            throw new OutOfMemoryError("Could not allocate a native string array.");
+        }
+        return handle;
+    }
+
+    private static @Pointer("const char**") long allocateArray(NativeArena arena, Packed packed) {
+        int count = packed.offsets.length;
+        long tableSize = (count + 1L) * Pointers.UINTPTR_T_SIZE;
+        long handle = arena.allocate(tableSize + packed.dataLength, Pointers.UINTPTR_T_SIZE);
+        long data = handle + tableSize;
+        for (int i = 0; i < count; i++) {
+            Pointers.setUIntPtr(handle, (long) i * Pointers.UINTPTR_T_SIZE, data + packed.offsets[i]);
+        }
+        // The arena zero-fills its memory, so the table is already null-terminated.
+        Pointers.copyFromArray(packed.data, 0, packed.dataLength, data);
+        return handle;
+    }
+
+    @Override
+    public @Pointer("const char**") long getHandle() {
+        return super.getHandle();
+    }
+
+    /**
+     * Gets the amount of strings in this array, excluding the null pointer ending it.
+     *
+     * @return the length of this array
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Gets the pointer to the string at the given index.
+     *
+     * @param index the index of the string
+     * @return a pointer to the null-terminated string
+     * @throws IndexOutOfBoundsException when the index is out of bounds
+     */
+    public @Pointer("const char*") long getStringPointer(int index) {
+        Objects.checkIndex(index, length);
+        return Pointers.getUIntPtr(getHandle(), (long) index * Pointers.UINTPTR_T_SIZE);
+    }
+
+    /**
+     * Reads the string at the given index as a Java string.
+     *
+     * @param index   the index of the string
+     * @param charset the charset of the string
+     * @return the Java string
+     * @throws IndexOutOfBoundsException when the index is out of bounds
+     */
+    public String getString(int index, Charset charset) {
+        return NativeStrings.toString(getStringPointer(index), charset);
+    }
+
+    /**
+     * Reads all the strings of this array into a new Java array.
+     *
+     * @param charset the charset of the strings
+     * @return a new array containing all the strings of this array
+     */
+    public String[] toArray(Charset charset) {
+        String[] strings = new String[length];
+        for (int i = 0; i < length; i++) {
+            strings[i] = getString(i, charset);
+        }
+        return strings;
+    }
+
+    // The strings encoded one after the other with their null terminators, and the offset of each of them.
+    private static final class Packed {
+        final int[] offsets;
+        byte[] data;
+        int dataLength;
+
+        Packed(List<String> strings, Charset charset) {
+            offsets = new int[strings.size()];
+            int capacity = 0;
+            for (String string : strings) {
+                capacity += string.length() + 1;
+            }
+            data = new byte[capacity];
+            boolean asciiCompatible = charset.equals(StandardCharsets.UTF_8) ||
+                                      charset.equals(StandardCharsets.ISO_8859_1) ||
+                                      charset.equals(StandardCharsets.US_ASCII);
+            for (int i = 0; i < offsets.length; i++) {
+                String string = strings.get(i);
+                if (asciiCompatible && copyAscii(string, i)) {
+                    continue;
+                }
+
+                byte[] bytes = string.getBytes(charset);
+                if (dataLength + bytes.length + 1 > data.length) {
+                    data = Arrays.copyOf(data, Math.max(data.length * 2, dataLength + bytes.length + 1));
+                }
+                offsets[i] = dataLength;
+                System.arraycopy(bytes, 0, data, dataLength, bytes.length);
+                dataLength += bytes.length + 1;
+            }
+        }
+
+        // Copies the string as-is when it is made of ASCII characters only, which needs no encoding.
+        private boolean copyAscii(String string, int index) {
+            int length = string.length();
+            for (int i = 0; i < length; i++) {
+                if (string.charAt(i) >= 0x80) {
+                    return false;
+                }
+            }
+
+            if (dataLength + length + 1 > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, dataLength + length + 1));
+            }
+            offsets[index] = dataLength;
+            for (int i = 0; i < length; i++) {
+                data[dataLength + i] = (byte) string.charAt(i);
+            }
+            dataLength += length + 1;
+            return true;
+        }
+    }
+}
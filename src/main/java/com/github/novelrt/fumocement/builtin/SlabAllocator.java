@@ -0,0 +1,192 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement.builtin;
+
+import com.github.novelrt.fumocement.HandleDeleter;
+import com.github.novelrt.fumocement.Pointer;
+
+import java.util.Arrays;
+
+/**
+ * An allocator packing small builtin values into shared native slabs, as an alternative
+ * to allocating each value separately using {@code new}.
+ * <p>
+ * Values are grouped by size class (1, 2, 4 and 8 bytes). Each size class hands out slots from its
+ * slabs, and recycles them through a free list once the owning pointer gets deleted. Therefore, allocating
+ * and deleting a slot is a pure Java operation; a native call only happens when a new slab is needed.
+ * <p>
+ * Builtin pointers created using a slab allocator still own their slot, and follow their
+ * {@link com.github.novelrt.fumocement.DisposalMethod} as usual. Slots are not initialized.
+ * <p>
+ * Slabs are never given back to the native allocator until {@link #close()} is called,
+ * which must only happen once every pointer allocated from it is no longer in use.
+ * This class is thread-safe.
+ * <p>
+ * <b>Example:</b>
+ * <pre>{@code SlabAllocator allocator = SlabAllocator.getShared();
+ * Int32Pointer value = new Int32Pointer(allocator);
+ * }</pre>
+ */
+public final class SlabAllocator implements AutoCloseable {
+    /**
+     * The default amount of slots in a slab.
+     */
+    public static final int DEFAULT_SLOTS_PER_SLAB = 1024;
+
+    private static final int SIZE_CLASS_COUNT = 4;
+
+    private final SizeClass[] sizeClasses = new SizeClass[SIZE_CLASS_COUNT];
+    private final int slotsPerSlab;
+
+    private @Pointer long[] slabs = new long[4];
+    private int slabCount;
+    private boolean closed;
+
+    /**
+     * Creates a new {@link SlabAllocator} using slabs of {@link #DEFAULT_SLOTS_PER_SLAB} slots.
+     */
+    public SlabAllocator() {
+        this(DEFAULT_SLOTS_PER_SLAB);
+    }
+
+    /**
+     * Creates a new {@link SlabAllocator} using slabs of the given amount of slots.
+     *
+     * @param slotsPerSlab the amount of slots in a slab
+     * @throws IllegalArgumentException when {@code slotsPerSlab} is not positive
+     */
+    public SlabAllocator(int slotsPerSlab) {
+        if (slotsPerSlab <= 0) {
+            throw new IllegalArgumentException("The amount of slots per slab must be positive.");
+        }
+        this.slotsPerSlab = slotsPerSlab;
+        for (int i = 0; i < SIZE_CLASS_COUNT; i++) {
+            sizeClasses[i] = new SizeClass(1 << i);
+        }
+    }
+
+    /**
+     * Gets the slab allocator shared by the whole application, which is never closed.
+     *
+     * @return the shared slab allocator
+     */
+    public static SlabAllocator getShared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    private static native @Pointer long allocateSlab(long size);
+
+    private static native void destroySlabs(@Pointer long[] slabs, int count);
+
+    /**
+     * Gets the amount of slabs allocated natively by this allocator.
+     *
+     * @return the amount of slabs
+     */
+    public synchronized int getSlabCount() {
+        return slabCount;
+    }
+
+    /**
+     * Releases all the slabs of this allocator, using a single native call.
+     * <p>
+     * Any pointer allocated from this allocator must not be used afterwards, and deleting them
+     * does not have any effect. This does not have any effect when the allocator is already closed.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (slabCount != 0) {
+            destroySlabs(slabs, slabCount);
+        }
+        slabs = null;
+        slabCount = 0;
+    }
+
+    @Pointer long allocate(int size) {
+        return getSizeClass(size).allocate();
+    }
+
+    HandleDeleter getDeleter(int size) {
+        return getSizeClass(size);
+    }
+
+    private SizeClass getSizeClass(int size) {
+        int index = Integer.numberOfTrailingZeros(size);
+        if (Integer.bitCount(size) != 1 || index >= SIZE_CLASS_COUNT) {
+            throw new IllegalArgumentException("There is no size class for values of " + size + " bytes.");
+        }
+        return sizeClasses[index];
+    }
+
+    // Called with the lock of this allocator held.
+    private @Pointer long addSlab(long size) {
+        if (closed) {
+            throw new IllegalStateException("Cannot allocate memory from a closed slab allocator.");
+        }
+
+        long slab = allocateSlab(size);
+        if (slab == 0) {
+            throw new OutOfMemoryError("Failed to allocate a native slab of " + size + " bytes.");
+        }
+
+        if (slabCount == slabs.length) {
+            slabs = Arrays.copyOf(slabs, slabCount * 2);
+        }
+        slabs[slabCount++] = slab;
+        return slab;
+    }
+
+    private final class SizeClass implements HandleDeleter {
+        private final int slotSize;
+
+        private @Pointer long[] freeSlots = new long[0];
+        private int freeSlotCount;
+
+        private SizeClass(int slotSize) {
+            this.slotSize = slotSize;
+        }
+
+        @Pointer long allocate() {
+            synchronized (SlabAllocator.this) {
+                if (freeSlotCount == 0) {
+                    refill();
+                }
+                return freeSlots[--freeSlotCount];
+            }
+        }
+
+        @Override
+        public void deleteHandle(@Pointer long handle) {
+            synchronized (SlabAllocator.this) {
+                if (closed) {
+                    return;
+                }
+                if (freeSlotCount == freeSlots.length) {
+                    freeSlots = Arrays.copyOf(freeSlots, Math.max(freeSlotCount * 2, slotsPerSlab));
+                }
+                freeSlots[freeSlotCount++] = handle;
+            }
+        }
+
+        private void refill() {
+            long slab = addSlab((long) slotSize * slotsPerSlab);
+            if (freeSlots.length < slotsPerSlab) {
+                freeSlots = new long[slotsPerSlab];
+            }
+
+            // Push the slots in reverse order, so they get handed out by increasing address.
+            for (int i = 0; i < slotsPerSlab; i++) {
+                freeSlots[i] = slab + (long) (slotsPerSlab - 1 - i) * slotSize;
+            }
+            freeSlotCount = slotsPerSlab;
+        }
+    }
+
+    private static final class SharedHolder {
+        private static final SlabAllocator INSTANCE = new SlabAllocator();
+    }
+}
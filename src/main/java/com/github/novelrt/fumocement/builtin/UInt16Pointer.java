@@ -2,48 +2,81 @@
 
 package com.github.novelrt.fumocement.builtin;
 
+import com.github.novelrt.fumocement.BatchHandleDeleter;
 import com.github.novelrt.fumocement.DisposalMethod;
+import com.github.novelrt.fumocement.HandleDeleter;
+import com.github.novelrt.fumocement.NativeArena;
 import com.github.novelrt.fumocement.NativeObject;
 import com.github.novelrt.fumocement.Pointer;
+import com.github.novelrt.fumocement.Pointers;
+import com.github.novelrt.fumocement.internal.ForeignAccess;
 
 /**
  * Represents a {@code uint16_t*} stored natively.
  */
 public final class UInt16Pointer extends NativeObject {
+    private static final HandleDeleter DELETER = ForeignAccess.INSTANCE == null
+            ? BatchHandleDeleter.of(UInt16Pointer::destroyPointer, UInt16Pointer::destroyPointers)
+            : ForeignAccess.INSTANCE::free;
+
     public UInt16Pointer() {
-        super(allocatePointer(), true, UInt16Pointer::destroyPointer);
+        super(allocate(), true, DELETER);
     }
 
     public UInt16Pointer(DisposalMethod disposalMethod) {
-        super(allocatePointer(), true, disposalMethod, UInt16Pointer::destroyPointer);
+        super(allocate(), true, disposalMethod, DELETER);
+    }
+
+    public UInt16Pointer(NativeArena arena) {
+        super(arena.allocate(Short.BYTES, Short.BYTES), false, DELETER);
+    }
+
+    public UInt16Pointer(SlabAllocator allocator) {
+        super(allocator.allocate(Short.BYTES), true, allocator.getDeleter(Short.BYTES));
+    }
+
+    public UInt16Pointer(SlabAllocator allocator, DisposalMethod disposalMethod) {
+        super(allocator.allocate(Short.BYTES), true, disposalMethod, allocator.getDeleter(Short.BYTES));
     }
 
     public UInt16Pointer(long handle, boolean isOwned) {
-        super(handle, isOwned, UInt16Pointer::destroyPointer);
+        super(handle, isOwned, DELETER);
     }
 
     public UInt16Pointer(long handle, boolean isOwned, DisposalMethod disposalMethod) {
-        super(handle, isOwned, disposalMethod, UInt16Pointer::destroyPointer);
+        super(handle, isOwned, disposalMethod, DELETER);
     }
 
     private static native long allocatePointer();
 
     private static native void destroyPointer(long handle);
 
+    private static native void destroyPointers(long[] handles, int count);
+
     private static native char getUnsignedValue(long handle);
 
     private static native void setUnsignedValue(long handle, char value);
 
+    private static @Pointer long allocate() {
+        return ForeignAccess.INSTANCE == null ? allocatePointer() : ForeignAccess.INSTANCE.allocate(Short.BYTES);
+    }
+
     @Override
     public @Pointer("uint16_t*") long getHandle() {
         return super.getHandle();
     }
 
     public char getUnsignedValue() {
-        return getUnsignedValue(getHandle());
+        long handle = getHandle();
+        return ForeignAccess.INSTANCE == null ? getUnsignedValue(handle) : Pointers.getUInt16(handle);
     }
 
     public void setUnsignedValue(char value) {
-        setUnsignedValue(getHandle(), value);
+        long handle = getHandle();
+        if (ForeignAccess.INSTANCE == null) {
+            setUnsignedValue(handle, value);
+        } else {
+            Pointers.setUInt16(handle, value);
+        }
     }
 }
@@ -2,46 +2,79 @@
 
 package com.github.novelrt.fumocement.builtin;
 
+import com.github.novelrt.fumocement.BatchHandleDeleter;
 import com.github.novelrt.fumocement.DisposalMethod;
+import com.github.novelrt.fumocement.HandleDeleter;
+import com.github.novelrt.fumocement.NativeArena;
 import com.github.novelrt.fumocement.NativeObject;
 import com.github.novelrt.fumocement.Pointer;
+import com.github.novelrt.fumocement.Pointers;
 import com.github.novelrt.fumocement.Unsigned;
+import com.github.novelrt.fumocement.internal.ForeignAccess;
 
 /**
  * Represents a {@code uint32_t*} stored natively.
  */
 public final class UInt32Pointer extends NativeObject {
+    private static final HandleDeleter DELETER = ForeignAccess.INSTANCE == null
+            ? BatchHandleDeleter.of(UInt32Pointer::destroyPointer, UInt32Pointer::destroyPointers)
+            : ForeignAccess.INSTANCE::free;
+
     public UInt32Pointer() {
-        super(allocatePointer(), true, UInt32Pointer::destroyPointer);
+        super(allocate(), true, DELETER);
     }
 
     public UInt32Pointer(DisposalMethod disposalMethod) {
-        super(allocatePointer(), true, disposalMethod, UInt32Pointer::destroyPointer);
+        super(allocate(), true, disposalMethod, DELETER);
+    }
+
+    public UInt32Pointer(NativeArena arena) {
+        super(arena.allocate(Integer.BYTES, Integer.BYTES), false, DELETER);
+    }
+
+    public UInt32Pointer(SlabAllocator allocator) {
+        super(allocator.allocate(Integer.BYTES), true, allocator.getDeleter(Integer.BYTES));
+    }
+
+    public UInt32Pointer(SlabAllocator allocator, DisposalMethod disposalMethod) {
+        super(allocator.allocate(Integer.BYTES), true, disposalMethod, allocator.getDeleter(Integer.BYTES));
     }
 
     public UInt32Pointer(long handle, boolean isOwned, DisposalMethod disposalMethod) {
-        super(handle, isOwned, disposalMethod, UInt32Pointer::destroyPointer);
+        super(handle, isOwned, disposalMethod, DELETER);
     }
 
     private static native long allocatePointer();
 
     private static native void destroyPointer(long handle);
 
+    private static native void destroyPointers(long[] handles, int count);
+
     private static native @Unsigned int getUnsignedValue(long handle);
 
     private static native void setUnsignedValue(long handle, @Unsigned int value);
 
+    private static @Pointer long allocate() {
+        return ForeignAccess.INSTANCE == null ? allocatePointer() : ForeignAccess.INSTANCE.allocate(Integer.BYTES);
+    }
+
     @Override
     public @Pointer("uint32_t*") long getHandle() {
         return super.getHandle();
     }
 
     public @Unsigned int getUnsignedValue() {
-        return getUnsignedValue(getHandle());
+        long handle = getHandle();
+        return ForeignAccess.INSTANCE == null ? getUnsignedValue(handle) : Pointers.getUInt32(handle);
     }
 
     public void setUnsignedValue(@Unsigned int value) {
-        setUnsignedValue(getHandle(), value);
+        long handle = getHandle();
+        if (ForeignAccess.INSTANCE == null) {
+            setUnsignedValue(handle, value);
+        } else {
+            Pointers.setUInt32(handle, value);
+        }
     }
 
     public @Unsigned long getUnsignedLongValue() {
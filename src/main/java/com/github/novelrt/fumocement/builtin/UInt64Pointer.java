@@ -2,40 +2,69 @@
 
 package com.github.novelrt.fumocement.builtin;
 
+import com.github.novelrt.fumocement.BatchHandleDeleter;
+import com.github.novelrt.fumocement.HandleDeleter;
+import com.github.novelrt.fumocement.NativeArena;
 import com.github.novelrt.fumocement.NativeObject;
 import com.github.novelrt.fumocement.Pointer;
+import com.github.novelrt.fumocement.Pointers;
 import com.github.novelrt.fumocement.Unsigned;
+import com.github.novelrt.fumocement.internal.ForeignAccess;
 
 /**
  * Represents a {@code uint64_t*} stored natively.
  */
 public final class UInt64Pointer extends NativeObject {
+    private static final HandleDeleter DELETER = ForeignAccess.INSTANCE == null
+            ? BatchHandleDeleter.of(UInt64Pointer::destroyPointer, UInt64Pointer::destroyPointers)
+            : ForeignAccess.INSTANCE::free;
+
     public UInt64Pointer() {
-        super(allocatePointer(), true, UInt64Pointer::destroyPointer);
+        super(allocate(), true, DELETER);
+    }
+
+    public UInt64Pointer(NativeArena arena) {
+        super(arena.allocate(Long.BYTES, Long.BYTES), false, DELETER);
+    }
+
+    public UInt64Pointer(SlabAllocator allocator) {
+        super(allocator.allocate(Long.BYTES), true, allocator.getDeleter(Long.BYTES));
     }
 
     public UInt64Pointer(long handle, boolean isOwned) {
-        super(handle, isOwned, UInt64Pointer::destroyPointer);
+        super(handle, isOwned, DELETER);
     }
 
     private static native long allocatePointer();
 
     private static native void destroyPointer(long handle);
 
+    private static native void destroyPointers(long[] handles, int count);
+
     private static native @Unsigned long getUnsignedValue(long handle);
 
     private static native void setUnsignedValue(long handle, @Unsigned long value);
 
+    private static @Pointer long allocate() {
+        return ForeignAccess.INSTANCE == null ? allocatePointer() : ForeignAccess.INSTANCE.allocate(Long.BYTES);
+    }
+
     @Override
     public @Pointer("uint64_t*") long getHandle() {
         return super.getHandle();
     }
 
     public @Unsigned long getUnsignedValue() {
-        return getUnsignedValue(getHandle());
+        long handle = getHandle();
+        return ForeignAccess.INSTANCE == null ? getUnsignedValue(handle) : Pointers.getUInt64(handle);
     }
 
     public void setUnsignedValue(@Unsigned long value) {
-        setUnsignedValue(getHandle(), value);
+        long handle = getHandle();
+        if (ForeignAccess.INSTANCE == null) {
+            setUnsignedValue(handle, value);
+        } else {
+            Pointers.setUInt64(handle, value);
+        }
     }
 }
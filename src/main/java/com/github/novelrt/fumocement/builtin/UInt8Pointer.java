@@ -2,50 +2,83 @@
 
 package com.github.novelrt.fumocement.builtin;
 
+import com.github.novelrt.fumocement.BatchHandleDeleter;
 import com.github.novelrt.fumocement.DisposalMethod;
+import com.github.novelrt.fumocement.HandleDeleter;
+import com.github.novelrt.fumocement.NativeArena;
 import com.github.novelrt.fumocement.NativeObject;
 import com.github.novelrt.fumocement.Pointer;
+import com.github.novelrt.fumocement.Pointers;
 import com.github.novelrt.fumocement.Unsigned;
+import com.github.novelrt.fumocement.internal.ForeignAccess;
 
 /**
  * Represents a {@code uint8_t*} stored natively.
  */
 public final class UInt8Pointer extends NativeObject {
+    private static final HandleDeleter DELETER = ForeignAccess.INSTANCE == null
+            ? BatchHandleDeleter.of(UInt8Pointer::destroyPointer, UInt8Pointer::destroyPointers)
+            : ForeignAccess.INSTANCE::free;
+
     public UInt8Pointer() {
-        super(allocatePointer(), true, UInt8Pointer::destroyPointer);
+        super(allocate(), true, DELETER);
     }
 
     public UInt8Pointer(DisposalMethod disposalMethod) {
-        super(allocatePointer(), true, disposalMethod, UInt8Pointer::destroyPointer);
+        super(allocate(), true, disposalMethod, DELETER);
+    }
+
+    public UInt8Pointer(NativeArena arena) {
+        super(arena.allocate(Byte.BYTES, Byte.BYTES), false, DELETER);
+    }
+
+    public UInt8Pointer(SlabAllocator allocator) {
+        super(allocator.allocate(Byte.BYTES), true, allocator.getDeleter(Byte.BYTES));
+    }
+
+    public UInt8Pointer(SlabAllocator allocator, DisposalMethod disposalMethod) {
+        super(allocator.allocate(Byte.BYTES), true, disposalMethod, allocator.getDeleter(Byte.BYTES));
     }
 
     public UInt8Pointer(long handle, boolean isOwned) {
-        super(handle, isOwned, UInt8Pointer::destroyPointer);
+        super(handle, isOwned, DELETER);
     }
 
     public UInt8Pointer(long handle, boolean isOwned, DisposalMethod disposalMethod) {
-        super(handle, isOwned, disposalMethod, UInt8Pointer::destroyPointer);
+        super(handle, isOwned, disposalMethod, DELETER);
     }
 
     private static native long allocatePointer();
 
     private static native void destroyPointer(long handle);
 
+    private static native void destroyPointers(long[] handles, int count);
+
     private static native byte getUnsignedValue(long handle);
 
     private static native void setUnsignedValue(long handle, @Unsigned byte value);
 
+    private static @Pointer long allocate() {
+        return ForeignAccess.INSTANCE == null ? allocatePointer() : ForeignAccess.INSTANCE.allocate(Byte.BYTES);
+    }
+
     @Override
     public @Pointer("uint8_t*") long getHandle() {
         return super.getHandle();
     }
 
     public @Unsigned byte getUnsignedValue() {
-        return getUnsignedValue(getHandle());
+        long handle = getHandle();
+        return ForeignAccess.INSTANCE == null ? getUnsignedValue(handle) : Pointers.getUInt8(handle);
     }
 
     public void setUnsignedValue(@Unsigned byte value) {
-        setUnsignedValue(getHandle(), value);
+        long handle = getHandle();
+        if (ForeignAccess.INSTANCE == null) {
+            setUnsignedValue(handle, value);
+        } else {
+            Pointers.setUInt8(handle, value);
+        }
     }
 
     public @Unsigned int getUnsignedIntValue() {
@@ -2,39 +2,68 @@
 
 package com.github.novelrt.fumocement.builtin;
 
+import com.github.novelrt.fumocement.BatchHandleDeleter;
+import com.github.novelrt.fumocement.HandleDeleter;
+import com.github.novelrt.fumocement.NativeArena;
 import com.github.novelrt.fumocement.NativeObject;
 import com.github.novelrt.fumocement.Pointer;
+import com.github.novelrt.fumocement.Pointers;
+import com.github.novelrt.fumocement.internal.ForeignAccess;
 
 /**
  * Represents a {@code uintptr_t*} stored natively.
  */
 public final class UIntPtrPointer extends NativeObject {
+    private static final HandleDeleter DELETER = ForeignAccess.INSTANCE == null
+            ? BatchHandleDeleter.of(UIntPtrPointer::destroyPointer, UIntPtrPointer::destroyPointers)
+            : ForeignAccess.INSTANCE::free;
+
     public UIntPtrPointer() {
-        super(allocatePointer(), true, UIntPtrPointer::destroyPointer);
+        super(allocate(), true, DELETER);
+    }
+
+    public UIntPtrPointer(NativeArena arena) {
+        super(arena.allocate(Pointers.UINTPTR_T_SIZE, Pointers.UINTPTR_T_SIZE), false, DELETER);
+    }
+
+    public UIntPtrPointer(SlabAllocator allocator) {
+        super(allocator.allocate(Pointers.UINTPTR_T_SIZE), true, allocator.getDeleter(Pointers.UINTPTR_T_SIZE));
     }
 
     public UIntPtrPointer(long handle, boolean isOwned) {
-        super(handle, isOwned, UIntPtrPointer::destroyPointer);
+        super(handle, isOwned, DELETER);
     }
 
     private static native long allocatePointer();
 
     private static native void destroyPointer(long handle);
 
+    private static native void destroyPointers(long[] handles, int count);
+
     private static native @Pointer long getValue(long handle);
 
     private static native void setValue(long handle, @Pointer long value);
 
+    private static @Pointer long allocate() {
+        return ForeignAccess.INSTANCE == null ? allocatePointer() : ForeignAccess.INSTANCE.allocate(Pointers.UINTPTR_T_SIZE);
+    }
+
     @Override
     public @Pointer("uintptr_t*") long getHandle() {
         return super.getHandle();
     }
 
     public @Pointer long getValue() {
-        return getValue(getHandle());
+        long handle = getHandle();
+        return ForeignAccess.INSTANCE == null ? getValue(handle) : Pointers.getUIntPtr(handle);
     }
 
     public void setUnsignedValue(@Pointer long value) {
-        setValue(getHandle(), value);
+        long handle = getHandle();
+        if (ForeignAccess.INSTANCE == null) {
+            setValue(handle, value);
+        } else {
+            Pointers.setUIntPtr(handle, value);
+        }
     }
 }
@@ -0,0 +1,65 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement.internal;
+
+import com.github.novelrt.fumocement.NativeBackend;
+import com.github.novelrt.fumocement.Pointer;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Performs native operations using the Foreign Function & Memory API, when
+ * the {@link NativeBackend#FOREIGN} backend is in use. It is also the {@link MemoryAccess} in use in that case.
+ * <p>
+ * The implementation of this interface is only present in the multi-release jar, for Java 22 and later.
+ */
+public interface ForeignAccess extends MemoryAccess {
+    /**
+     * The foreign access in use, or {@code null} when the current backend is {@link NativeBackend#JNI}.
+     * <p>
+     * As this field is constant, checking it in hot paths does not cost anything once compiled.
+     */
+    @Nullable ForeignAccess INSTANCE = ForeignAccessLoader.load();
+
+    /**
+     * Allocates a block of native memory, compatible with the {@code new} and {@code delete} expressions
+     * of builtin types.
+     *
+     * @param size the size of the block, in bytes
+     * @return a pointer to the allocated block
+     * @throws OutOfMemoryError when the allocation fails
+     */
+    @Pointer long allocate(long size);
+
+    /**
+     * Frees a block of native memory allocated using {@link #allocate(long)} or {@code new}.
+     *
+     * @param pointer the pointer to the block
+     */
+    void free(@Pointer long pointer);
+
+    /**
+     * Creates a direct {@code ByteBuffer} viewing native memory, without copying it.
+     *
+     * @param address  the address of the memory to view
+     * @param capacity the size of the memory to view, in bytes
+     * @return a byte buffer viewing the memory
+     */
+    ByteBuffer asByteBuffer(@Pointer long address, int capacity);
+
+    /**
+     * Gets the size of a native pointer, in bytes.
+     *
+     * @return the size of a pointer
+     */
+    int getAddressSize();
+
+    /**
+     * Gets the memory address of the given direct {@code ByteBuffer}.
+     *
+     * @param byteBuffer the byte buffer, which must be direct
+     * @return the memory address of the byte buffer
+     */
+    @Pointer long getByteBufferLocation(ByteBuffer byteBuffer);
+}
@@ -0,0 +1,28 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement.internal;
+
+import com.github.novelrt.fumocement.NativeBackend;
+import org.jetbrains.annotations.Nullable;
+
+final class ForeignAccessLoader {
+    // Only present in the Java 22 version of the multi-release jar.
+    private static final String IMPLEMENTATION_NAME = "com.github.novelrt.fumocement.internal.ForeignAccessImpl";
+
+    private ForeignAccessLoader() {
+    }
+
+    static @Nullable ForeignAccess load() {
+        if (NativeBackend.getCurrent() != NativeBackend.FOREIGN) {
+            return null;
+        }
+
+        try {
+            return (ForeignAccess) Class.forName(IMPLEMENTATION_NAME).getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            throw new UnsupportedOperationException("The foreign backend requires Java 22 or later.", e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to initialize the foreign backend.", e);
+        }
+    }
+}
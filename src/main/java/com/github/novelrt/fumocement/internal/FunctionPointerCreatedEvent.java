@@ -0,0 +1,29 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement.internal;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.MemoryAddress;
+import jdk.jfr.Name;
+
+/**
+ * A JFR event emitted when a {@code FunctionPointer} is created. The duration of the event is the time spent
+ * creating its native context.
+ */
+@Name("com.github.novelrt.fumocement.FunctionPointerCreated")
+@Label("Function Pointer Created")
+@Category("FumoCement")
+@Description("A function pointer has been created")
+public final class FunctionPointerCreatedEvent extends jdk.jfr.Event {
+    @Label("Callback Class")
+    public Class<?> callbackClass;
+
+    @Label("Handle")
+    @MemoryAddress
+    public long handle;
+
+    @Label("Disposal Method")
+    public String disposalMethod;
+}
@@ -0,0 +1,69 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement.internal;
+
+import com.github.novelrt.fumocement.NativeBackend;
+import com.github.novelrt.fumocement.Pointer;
+
+/**
+ * Reads and writes native memory directly, without any JNI call nor any allocation.
+ * <p>
+ * When the {@link NativeBackend#FOREIGN} backend is in use, the {@link ForeignAccess} does it using the
+ * Foreign Function & Memory API. Otherwise, {@link UnsafeMemoryAccess} is used as a fallback.
+ */
+public interface MemoryAccess {
+    /**
+     * The memory access in use, which is never {@code null}.
+     * <p>
+     * As this field is constant, calls to its methods are inlined into plain loads and stores once compiled.
+     */
+    MemoryAccess INSTANCE = ForeignAccess.INSTANCE != null ? ForeignAccess.INSTANCE : new UnsafeMemoryAccess();
+
+    byte getByte(@Pointer long address);
+
+    void setByte(@Pointer long address, byte value);
+
+    short getShort(@Pointer long address);
+
+    void setShort(@Pointer long address, short value);
+
+    int getInt(@Pointer long address);
+
+    void setInt(@Pointer long address, int value);
+
+    long getLong(@Pointer long address);
+
+    void setLong(@Pointer long address, long value);
+
+    long getLongAcquire(@Pointer long address);
+
+    void setLongRelease(@Pointer long address, long value);
+
+    float getFloat(@Pointer long address);
+
+    void setFloat(@Pointer long address, float value);
+
+    double getDouble(@Pointer long address);
+
+    void setDouble(@Pointer long address, double value);
+
+    /**
+     * Copies bytes from native memory into an array.
+     *
+     * @param address     the address of the first byte to copy
+     * @param destination the array to copy the bytes to
+     * @param offset      the index of the array at which the first byte is copied
+     * @param length      the amount of bytes to copy
+     */
+    void copyToArray(@Pointer long address, byte[] destination, int offset, int length);
+
+    /**
+     * Copies bytes from an array into native memory.
+     *
+     * @param source  the array to copy the bytes from
+     * @param offset  the index of the first byte of the array to copy
+     * @param length  the amount of bytes to copy
+     * @param address the address of the native memory to copy the bytes to
+     */
+    void copyFromArray(byte[] source, int offset, int length, @Pointer long address);
+}
@@ -0,0 +1,34 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement.internal;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.MemoryAddress;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JFR event emitted when a {@code NativeObject} is constructed.
+ */
+@Name("com.github.novelrt.fumocement.NativeObjectCreated")
+@Label("Native Object Created")
+@Category("FumoCement")
+@Description("A native object has been constructed")
+@StackTrace(false)
+public final class NativeObjectCreatedEvent extends jdk.jfr.Event {
+    @Label("Object Class")
+    public Class<?> objectClass;
+
+    @Label("Handle")
+    @MemoryAddress
+    public long handle;
+
+    @Label("Owned")
+    @Description("Whether or not the object owns its native resources")
+    public boolean owned;
+
+    @Label("Disposal Method")
+    public String disposalMethod;
+}
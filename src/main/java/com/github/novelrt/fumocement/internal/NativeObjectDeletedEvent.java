@@ -0,0 +1,42 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement.internal;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.MemoryAddress;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A JFR event emitted when the native resources of a {@code NativeObject} are deleted, either by closing it
+ * or once it has been garbage collected. The duration of the event is the time spent deleting the resources.
+ */
+@Name("com.github.novelrt.fumocement.NativeObjectDeleted")
+@Label("Native Object Deleted")
+@Category("FumoCement")
+@Description("The native resources of a native object have been deleted")
+@StackTrace(false)
+public final class NativeObjectDeletedEvent extends jdk.jfr.Event {
+    @Label("Object Class")
+    public Class<?> objectClass;
+
+    @Label("Handle")
+    @MemoryAddress
+    public long handle;
+
+    @Label("Disposal Method")
+    public String disposalMethod;
+
+    @Label("Garbage Collected")
+    @Description("Whether the object has been deleted after being garbage collected, rather than closed")
+    public boolean garbageCollected;
+
+    @Label("Cleanup Delay")
+    @Description("The time between the cleaner thread finding the object unreachable and the deletion of its "
+                 + "resources, including the time spent waiting for a disposal queue to be drained")
+    @Timespan(Timespan.NANOSECONDS)
+    public long cleanupDelay;
+}
@@ -0,0 +1,33 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement.internal;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.MemoryAddress;
+import jdk.jfr.Name;
+
+/**
+ * A JFR event emitted when a {@code NativeObjectTracker} does not find a live object for a handle.
+ * The duration of the event includes waiting for the lock and creating the object.
+ */
+@Name("com.github.novelrt.fumocement.TrackerMiss")
+@Label("Tracker Miss")
+@Category("FumoCement")
+@Description("A native object tracker did not find a live object for a handle")
+public final class TrackerMissEvent extends jdk.jfr.Event {
+    @Label("Object Class")
+    public Class<?> objectClass;
+
+    @Label("Handle")
+    @MemoryAddress
+    public long handle;
+
+    @Label("Target")
+    public String target;
+
+    @Label("Created")
+    @Description("Whether the object has been created, rather than concurrently created by another thread")
+    public boolean created;
+}
@@ -0,0 +1,242 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement.internal;
+
+import com.github.novelrt.fumocement.Pointer;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * Implements {@link MemoryAccess} using {@code sun.misc.Unsafe}, when the Foreign Function & Memory API is not
+ * in use.
+ * <p>
+ * The JNI backend supports Java versions without the Foreign Function & Memory API, where {@code Unsafe} is the only
+ * way to access native memory without a JNI call. Its methods are looked up as method handles, rather than called
+ * directly: javac warns about any use of {@code Unsafe} in a way which cannot be suppressed, while constant method
+ * handles still compile down to plain loads and stores.
+ * <p>
+ * Neither var handles nor byte buffers can address any native memory before Java 22, so these methods are used until
+ * the Foreign Function & Memory API is available, even though the JVM warns about them from Java 24 on.
+ */
+final class UnsafeMemoryAccess implements MemoryAccess {
+    private static final String UNSAFE_NAME = "sun.misc.Unsafe";
+
+    private static final MethodHandle GET_BYTE;
+    private static final MethodHandle PUT_BYTE;
+    private static final MethodHandle GET_SHORT;
+    private static final MethodHandle PUT_SHORT;
+    private static final MethodHandle GET_INT;
+    private static final MethodHandle PUT_INT;
+    private static final MethodHandle GET_LONG;
+    private static final MethodHandle PUT_LONG;
+    private static final MethodHandle GET_LONG_VOLATILE;
+    private static final MethodHandle PUT_ORDERED_LONG;
+    private static final MethodHandle GET_FLOAT;
+    private static final MethodHandle PUT_FLOAT;
+    private static final MethodHandle GET_DOUBLE;
+    private static final MethodHandle PUT_DOUBLE;
+    private static final MethodHandle COPY_MEMORY;
+    private static final long BYTE_ARRAY_BASE_OFFSET;
+
+    static {
+        try {
+            Class<?> unsafeClass = Class.forName(UNSAFE_NAME);
+            Field unsafeField = unsafeClass.getDeclaredField("theUnsafe");
+            unsafeField.setAccessible(true);
+            Object unsafe = unsafeField.get(null);
+
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            GET_BYTE = find(lookup, unsafeClass, unsafe, "getByte", byte.class, long.class);
+            PUT_BYTE = find(lookup, unsafeClass, unsafe, "putByte", void.class, long.class, byte.class);
+            GET_SHORT = find(lookup, unsafeClass, unsafe, "getShort", short.class, long.class);
+            PUT_SHORT = find(lookup, unsafeClass, unsafe, "putShort", void.class, long.class, short.class);
+            GET_INT = find(lookup, unsafeClass, unsafe, "getInt", int.class, long.class);
+            PUT_INT = find(lookup, unsafeClass, unsafe, "putInt", void.class, long.class, int.class);
+            GET_LONG = find(lookup, unsafeClass, unsafe, "getLong", long.class, long.class);
+            PUT_LONG = find(lookup, unsafeClass, unsafe, "putLong", void.class, long.class, long.class);
+            GET_LONG_VOLATILE = find(lookup, unsafeClass, unsafe, "getLongVolatile",
+                    long.class, Object.class, long.class);
+            PUT_ORDERED_LONG = find(lookup, unsafeClass, unsafe, "putOrderedLong",
+                    void.class, Object.class, long.class, long.class);
+            GET_FLOAT = find(lookup, unsafeClass, unsafe, "getFloat", float.class, long.class);
+            PUT_FLOAT = find(lookup, unsafeClass, unsafe, "putFloat", void.class, long.class, float.class);
+            GET_DOUBLE = find(lookup, unsafeClass, unsafe, "getDouble", double.class, long.class);
+            PUT_DOUBLE = find(lookup, unsafeClass, unsafe, "putDouble", void.class, long.class, double.class);
+            COPY_MEMORY = find(lookup, unsafeClass, unsafe, "copyMemory",
+                    void.class, Object.class, long.class, Object.class, long.class, long.class);
+            BYTE_ARRAY_BASE_OFFSET = (int) find(lookup, unsafeClass, unsafe, "arrayBaseOffset", int.class, Class.class)
+                    .invokeExact((Class<?>) byte[].class);
+        } catch (Throwable e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    UnsafeMemoryAccess() {
+    }
+
+    private static MethodHandle find(MethodHandles.Lookup lookup, Class<?> unsafeClass, Object unsafe, String name,
+                                     Class<?> returnType, Class<?>... parameterTypes)
+            throws ReflectiveOperationException {
+        return lookup.findVirtual(unsafeClass, name, MethodType.methodType(returnType, parameterTypes)).bindTo(unsafe);
+    }
+
+    // Unsafe does not throw any checked exception.
+    private static RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return new IllegalStateException(e);
+    }
+
+    @Override
+    public byte getByte(@Pointer long address) {
+        try {
+            return (byte) GET_BYTE.invokeExact(address);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void setByte(@Pointer long address, byte value) {
+        try {
+            PUT_BYTE.invokeExact(address, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public short getShort(@Pointer long address) {
+        try {
+            return (short) GET_SHORT.invokeExact(address);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void setShort(@Pointer long address, short value) {
+        try {
+            PUT_SHORT.invokeExact(address, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public int getInt(@Pointer long address) {
+        try {
+            return (int) GET_INT.invokeExact(address);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void setInt(@Pointer long address, int value) {
+        try {
+            PUT_INT.invokeExact(address, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public long getLong(@Pointer long address) {
+        try {
+            return (long) GET_LONG.invokeExact(address);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void setLong(@Pointer long address, long value) {
+        try {
+            PUT_LONG.invokeExact(address, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public long getLongAcquire(@Pointer long address) {
+        try {
+            return (long) GET_LONG_VOLATILE.invokeExact((Object) null, address);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void setLongRelease(@Pointer long address, long value) {
+        try {
+            PUT_ORDERED_LONG.invokeExact((Object) null, address, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public float getFloat(@Pointer long address) {
+        try {
+            return (float) GET_FLOAT.invokeExact(address);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void setFloat(@Pointer long address, float value) {
+        try {
+            PUT_FLOAT.invokeExact(address, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public double getDouble(@Pointer long address) {
+        try {
+            return (double) GET_DOUBLE.invokeExact(address);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void setDouble(@Pointer long address, double value) {
+        try {
+            PUT_DOUBLE.invokeExact(address, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void copyToArray(@Pointer long address, byte[] destination, int offset, int length) {
+        try {
+            COPY_MEMORY.invokeExact((Object) null, address, (Object) destination, BYTE_ARRAY_BASE_OFFSET + offset,
+                    (long) length);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void copyFromArray(byte[] source, int offset, int length, @Pointer long address) {
+        try {
+            COPY_MEMORY.invokeExact((Object) source, BYTE_ARRAY_BASE_OFFSET + offset, (Object) null, address,
+                    (long) length);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+}
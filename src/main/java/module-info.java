@@ -5,6 +5,10 @@
  */
 module novelrt.fumocement {
     requires static org.jetbrains.annotations;
+    requires java.management;
+    requires jdk.jfr;
+    // Only used reflectively, by the memory access of the JNI backend.
+    requires jdk.unsupported;
 
     exports com.github.novelrt.fumocement;
     exports com.github.novelrt.fumocement.builtin;
@@ -0,0 +1,170 @@
+// Copyright © Matt Jones and Contributors. Licensed under the MIT License (MIT). See LICENCE.md in the repository root for more information.
+
+package com.github.novelrt.fumocement.internal;
+
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.Linker;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SymbolLookup;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+
+/**
+ * Implements {@link ForeignAccess} using the Foreign Function & Memory API.
+ * <p>
+ * Memory accesses go through a single segment spanning the whole address space, so that
+ * the JIT can turn them into plain loads and stores. Allocations are downcalls to the plain C
+ * functions exported by {@code FumoCement.h}, which must have been loaded beforehand.
+ */
+final class ForeignAccessImpl implements ForeignAccess {
+    private static final MemorySegment EVERYTHING = MemorySegment.NULL.reinterpret(Long.MAX_VALUE);
+
+    private static final ValueLayout.OfByte BYTE = ValueLayout.JAVA_BYTE;
+    private static final ValueLayout.OfShort SHORT = ValueLayout.JAVA_SHORT_UNALIGNED;
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED;
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED;
+    private static final ValueLayout.OfFloat FLOAT = ValueLayout.JAVA_FLOAT_UNALIGNED;
+    private static final ValueLayout.OfDouble DOUBLE = ValueLayout.JAVA_DOUBLE_UNALIGNED;
+    // Memory ordering access modes need aligned accesses.
+    private static final VarHandle ALIGNED_LONG = ValueLayout.JAVA_LONG.varHandle();
+
+    private final MethodHandle allocateHandle;
+    private final MethodHandle freeHandle;
+
+    ForeignAccessImpl() {
+        Linker linker = Linker.nativeLinker();
+        SymbolLookup lookup = SymbolLookup.loaderLookup();
+
+        allocateHandle = linker.downcallHandle(findSymbol(lookup, "FumoCement_allocate"),
+                FunctionDescriptor.of(ValueLayout.JAVA_LONG, ValueLayout.JAVA_LONG));
+        freeHandle = linker.downcallHandle(findSymbol(lookup, "FumoCement_free"),
+                FunctionDescriptor.ofVoid(ValueLayout.JAVA_LONG));
+    }
+
+    private static MemorySegment findSymbol(SymbolLookup lookup, String name) {
+        return lookup.find(name).orElseThrow(() -> new IllegalStateException(
+                "Cannot find the " + name + " function. Make sure that the FumoCement native library is loaded."));
+    }
+
+    @Override
+    public long allocate(long size) {
+        long pointer;
+        try {
+            pointer = (long) allocateHandle.invokeExact(size);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to call FumoCement_allocate.", e);
+        }
+
+        if (pointer == 0) {
+            throw new OutOfMemoryError("Failed to allocate " + size + " bytes of native memory.");
+        }
+        return pointer;
+    }
+
+    @Override
+    public void free(long pointer) {
+        try {
+            freeHandle.invokeExact(pointer);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to call FumoCement_free.", e);
+        }
+    }
+
+    @Override
+    public byte getByte(long address) {
+        return EVERYTHING.get(BYTE, address);
+    }
+
+    @Override
+    public void setByte(long address, byte value) {
+        EVERYTHING.set(BYTE, address, value);
+    }
+
+    @Override
+    public short getShort(long address) {
+        return EVERYTHING.get(SHORT, address);
+    }
+
+    @Override
+    public void setShort(long address, short value) {
+        EVERYTHING.set(SHORT, address, value);
+    }
+
+    @Override
+    public int getInt(long address) {
+        return EVERYTHING.get(INT, address);
+    }
+
+    @Override
+    public void setInt(long address, int value) {
+        EVERYTHING.set(INT, address, value);
+    }
+
+    @Override
+    public long getLong(long address) {
+        return EVERYTHING.get(LONG, address);
+    }
+
+    @Override
+    public void setLong(long address, long value) {
+        EVERYTHING.set(LONG, address, value);
+    }
+
+    @Override
+    public long getLongAcquire(long address) {
+        return (long) ALIGNED_LONG.getAcquire(EVERYTHING, address);
+    }
+
+    @Override
+    public void setLongRelease(long address, long value) {
+        ALIGNED_LONG.setRelease(EVERYTHING, address, value);
+    }
+
+    @Override
+    public float getFloat(long address) {
+        return EVERYTHING.get(FLOAT, address);
+    }
+
+    @Override
+    public void setFloat(long address, float value) {
+        EVERYTHING.set(FLOAT, address, value);
+    }
+
+    @Override
+    public double getDouble(long address) {
+        return EVERYTHING.get(DOUBLE, address);
+    }
+
+    @Override
+    public void setDouble(long address, double value) {
+        EVERYTHING.set(DOUBLE, address, value);
+    }
+
+    @Override
+    public void copyToArray(long address, byte[] destination, int offset, int length) {
+        MemorySegment.copy(EVERYTHING, BYTE, address, destination, offset, length);
+    }
+
+    @Override
+    public void copyFromArray(byte[] source, int offset, int length, long address) {
+        MemorySegment.copy(source, offset, EVERYTHING, BYTE, address, length);
+    }
+
+    @Override
+    public ByteBuffer asByteBuffer(long address, int capacity) {
+        return EVERYTHING.asSlice(address, capacity).asByteBuffer();
+    }
+
+    @Override
+    public int getAddressSize() {
+        return (int) ValueLayout.ADDRESS.byteSize();
+    }
+
+    @Override
+    public long getByteBufferLocation(ByteBuffer byteBuffer) {
+        // Like GetDirectBufferAddress, give the address of the buffer itself, regardless of its position.
+        return MemorySegment.ofBuffer(byteBuffer).address() - byteBuffer.position();
+    }
+}